@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of target/benchmarks.jar. Accepts the usual JMH command line (e.g. a benchmark regex, -f, -wi, -i), and
+ * always adds the GC profiler so that allocation rates (gc.alloc.rate.norm, in bytes per invocation) are reported next
+ * to the timings. Unless -rf/-rff are given, results are written as JSON to jmh-result.json, so a run can be kept as
+ * the baseline for the next one:
+ *
+ * <pre>
+ * mvn -pl benchmarks -am package
+ * java -jar benchmarks/target/benchmarks.jar -rff benchmarks/baseline/atlas-&lt;version&gt;.json
+ * </pre>
+ */
+public final class BenchmarkRunner
+{
+    public static void main( final String[] args )
+            throws Exception
+    {
+        final CommandLineOptions cli = new CommandLineOptions( args );
+        final ChainedOptionsBuilder builder = new OptionsBuilder().parent( cli ).addProfiler( GCProfiler.class );
+        if ( !cli.getResultFormat().hasValue() )
+        {
+            builder.resultFormat( ResultFormatType.JSON );
+        }
+
+        new Runner( builder.build() ).run();
+    }
+
+    private BenchmarkRunner()
+    {
+    }
+}
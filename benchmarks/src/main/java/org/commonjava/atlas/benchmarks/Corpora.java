@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.benchmarks;
+
+/**
+ * Realistic inputs shared by the benchmarks, taken from the shapes seen in Maven Central and in product repositories
+ * (rebuilt "redhat-NNNNN" versions, remote snapshots, classifiers with dots, checksums, etc.)
+ */
+public final class Corpora
+{
+    public static final String[] VERSIONS = { "1.0", "1.0.0", "1.2.3", "2.0-alpha-1", "2.0-beta-2", "2.0-rc1", "2.0",
+            "3.0.0.GA", "1.5.0.Final", "1.5.0.Final-redhat-00001", "1.5.0.Final-temporary-redhat-00033",
+            "7.33.0.Final-redhat-00003", "2.13.7.Final-redhat-00001", "0.12.0.RELEASE-redhat-00002",
+            "3.2.7.fuse-750011-redhat-00001", "1.0.1.redhat-00010", "1.26.0.temporary-redhat-00002", "32.1.2-jre",
+            "4.1.100.Final", "5.3.30", "2.15.2", "1.0-SNAPSHOT", "0.10.4-SNAPSHOT", "0.10.4-20160229.212037-2",
+            "1.1.5-20230101.101010-15", "20040616", "1.0-M1", "1.0-milestone-3", "2.0.0-CR2", "1.0.0.Beta1",
+            "6.2.2.Final", "26.1.3.Final", "3.11.0", "1.13.2", "4.13.2", "2.0.9", "11.0.0-M4", "9.4.51.v20230217",
+            "1.7.36", "1.2.0-b01" };
+
+    public static final String[] RANGES = { "[1.0,2.0)", "[1.0,)", "(,1.0]", "[1.5.0.Final,1.5.0.Final-redhat-99999]",
+            "[2.0-alpha-1,2.0]", "(1.0,2.0),(3.0,4.0]" };
+
+    public static final String[] GAVS = { "org.apache.commons:commons-lang3:3.12.0",
+            "org.jboss.modules:jboss-modules:1.5.0.Final-temporary-redhat-00033",
+            "com.webauthn4j:webauthn4j-test:0.12.0.RELEASE-redhat-00002",
+            "org.commonjava.maven.galley:galley-transport-httpclient:0.10.4-SNAPSHOT",
+            "io.quarkus:quarkus-core:2.13.7.Final-redhat-00001", "junit:junit:4.13.2",
+            "com.fasterxml.jackson.core:jackson-databind:2.15.2",
+            "org.apache.maven.plugins:maven-compiler-plugin:3.11.0", "com.google.guava:guava:32.1.2-jre",
+            "org.eclipse.jetty:jetty-server:9.4.51.v20230217" };
+
+    public static final String[] PROJECT_PATTERNS = { "org.apache.*:*", "org.jboss.*:jboss-*", "*:junit",
+            "com.fasterxml.jackson.core:jackson-databind", "io.quarkus:quarkus-*", "*:*-plugin" };
+
+    public static final String[] ARTIFACT_PATHS = {
+            "/org/apache/commons/commons-lang3/3.12.0/commons-lang3-3.12.0.jar",
+            "/org/apache/commons/commons-lang3/3.12.0/commons-lang3-3.12.0.jar.sha1",
+            "/org/apache/commons/commons-lang3/3.12.0/commons-lang3-3.12.0.pom",
+            "/org/apache/commons/commons-lang3/3.12.0/commons-lang3-3.12.0-sources.jar",
+            "/org/jboss/modules/jboss-modules/1.5.0.Final-temporary-redhat-00033/jboss-modules-1.5.0.Final-temporary-redhat-00033-project-sources.tar.gz",
+            "/org/uberfire/showcase-distribution-wars/7.33.0.Final-redhat-00003/showcase-distribution-wars-7.33.0.Final-redhat-00003-wildfly8.1.war",
+            "/org/commonjava/maven/galley/galley-transport-httpclient/0.10.4-SNAPSHOT/galley-transport-httpclient-0.10.4-20160229.212037-2.pom",
+            "/com/webauthn4j/webauthn4j-test/0.12.0.RELEASE-redhat-00002/webauthn4j-test-0.12.0.RELEASE-redhat-00002-sources.jar.md5",
+            "/org/apache/cxf/cxf-repository/3.2.7.fuse-750011-redhat-00001/cxf-repository-3.2.7.fuse-750011-redhat-00001.xml.gz",
+            "/org/apache/commons/commons-compress/1.26.0.temporary-redhat-00002/commons-compress-1.26.0.temporary-redhat-00002.spdx.rdf.xml",
+            "/org/apache/commons/commons-lang3/maven-metadata.xml",
+            "/org/jboss/pnc/rpm/org/hibernate/search/hibernate-search-integrationtest-jakarta-jb-eap-8.0-rhel-9/6.2.2.Final/eap8-hibernate-search-6.2.2-1.Final.1.el8.src.rpm" };
+
+    public static final String[] NPM_PATHS = { "/keycloak-connect/-/keycloak-connect-3.4.1.tgz",
+            "/@hawtio/core-dts/-/core-dts-3.3.2.tgz", "/@babel/core/-/core-7.22.10.tgz",
+            "/lodash/-/lodash-4.17.21.tgz", "/@types/node/-/node-20.5.0.tgz", "/keycloak-connect" };
+
+    public static final String[] SNAPSHOT_VERSIONS = { "0.10.4-20160229.212037-2", "1.1.5-20230101.101010-15",
+            "1.0-SNAPSHOT", "2.0.0-20191231.235959-123", "1.5.0.Final", "3.12.0" };
+
+    private Corpora()
+    {
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.benchmarks;
+
+import org.commonjava.atlas.maven.graph.model.EProjectCycle;
+import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleDependencyRelationship;
+import org.commonjava.atlas.maven.graph.store.RelationshipGraph;
+import org.commonjava.atlas.maven.graph.traverse.CycleDetector;
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cycle detection over a dependency graph of {@link #PROJECTS} projects with {@link #DEPENDENCIES} dependencies each,
+ * mostly on later projects and a few on earlier ones, closing cycles: over the whole graph at once, and as the
+ * relationships are added, against adding them to a graph without detection.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 2, time = 5 )
+@Measurement( iterations = 3, time = 5 )
+@Fork( 1 )
+public class CycleBenchmarks
+{
+    private static final int PROJECTS = 100000;
+
+    private static final int DEPENDENCIES = 5;
+
+    private List<ProjectRelationship<?, ?>> rels;
+
+    private RelationshipGraph graph;
+
+    @Setup( Level.Trial )
+    public void setup()
+    {
+        final URI source = URI.create( "http://repo.maven.apache.org/maven2/" );
+        final ProjectVersionRef[] refs = new ProjectVersionRef[PROJECTS];
+        for ( int i = 0; i < PROJECTS; i++ )
+        {
+            refs[i] = new SimpleProjectVersionRef( "org.example.group" + ( i % 100 ), "example-" + i, "1.0" );
+        }
+
+        final Random random = new Random( 1 );
+        rels = new ArrayList<>();
+        for ( int i = 0; i < PROJECTS; i++ )
+        {
+            for ( int d = 0; d < DEPENDENCIES; d++ )
+            {
+                final int target = random.nextInt( 1000 ) == 0 ?
+                        random.nextInt( PROJECTS ) :
+                        Math.min( PROJECTS - 1, i + 1 + random.nextInt( 1000 ) );
+                rels.add( new SimpleDependencyRelationship( source, refs[i], refs[target].asJarArtifact(),
+                                                            DependencyScope.compile, d, false, false, false ) );
+            }
+        }
+
+        graph = addToGraph();
+    }
+
+    @Benchmark
+    public List<EProjectCycle> detect()
+    {
+        return new CycleDetector( graph ).detect();
+    }
+
+    @Benchmark
+    public RelationshipGraph addToGraph()
+    {
+        final RelationshipGraph graph = new RelationshipGraph();
+        for ( final ProjectRelationship<?, ?> rel : rels )
+        {
+            graph.add( rel );
+        }
+
+        return graph;
+    }
+
+    @Benchmark
+    public void addDetectingCycles( final Blackhole bh )
+    {
+        final CycleDetector detector = new CycleDetector( new RelationshipGraph() );
+        for ( final ProjectRelationship<?, ?> rel : rels )
+        {
+            bh.consume( detector.add( rel ) );
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.benchmarks;
+
+import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleParentRelationship;
+import org.commonjava.atlas.maven.graph.util.RelationshipMerger;
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merging the relationships of {@link #PROJECTS} projects, each with a parent and a dependency on every one of
+ * {@link Corpora#GAVS}, as discovered from each of {@link #REPOSITORIES} repositories: with a map and
+ * {@link ProjectRelationship#addSources}, as callers did before {@link RelationshipMerger}, and with the merger,
+ * sequentially and in parallel.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class MergeBenchmarks
+{
+    private static final int PROJECTS = 2000;
+
+    private static final int REPOSITORIES = 8;
+
+    private List<ProjectRelationship<?, ?>> discoveries;
+
+    @Setup( Level.Trial )
+    public void setup()
+    {
+        final ProjectVersionRef parent = new SimpleProjectVersionRef( "org.example", "example-parent", "1" );
+
+        discoveries = new ArrayList<>();
+        for ( int r = 0; r < REPOSITORIES; r++ )
+        {
+            final URI source = URI.create( "http://repo" + r + ".example.com/maven2/" );
+            for ( int p = 0; p < PROJECTS; p++ )
+            {
+                final ProjectVersionRef project = new SimpleProjectVersionRef( "org.example", "example-" + p, "1.0" );
+                discoveries.add( new SimpleParentRelationship( source, project, parent ) );
+                for ( int i = 0; i < Corpora.GAVS.length; i++ )
+                {
+                    final ProjectVersionRef dep = SimpleProjectVersionRef.parse( Corpora.GAVS[i] );
+                    discoveries.add( new SimpleDependencyRelationship( source, project, dep.asJarArtifact(),
+                                                                       DependencyScope.compile, i, false, false,
+                                                                       false ) );
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<ProjectRelationship<?, ?>, ProjectRelationship<?, ?>> addSources()
+    {
+        final Map<ProjectRelationship<?, ?>, ProjectRelationship<?, ?>> merged = new HashMap<>();
+        for ( final ProjectRelationship<?, ?> rel : discoveries )
+        {
+            final ProjectRelationship<?, ?> existing = merged.get( rel );
+            merged.put( rel, existing == null ? rel : existing.addSources( rel.getSources() ) );
+        }
+
+        return merged;
+    }
+
+    @Benchmark
+    public Map<ProjectVersionRef, Set<ProjectRelationship<?, ?>>> merge()
+    {
+        return RelationshipMerger.merge( discoveries );
+    }
+
+    @Benchmark
+    public Map<ProjectVersionRef, Set<ProjectRelationship<?, ?>>> mergeParallel()
+            throws InterruptedException
+    {
+        return RelationshipMerger.mergeParallel( discoveries );
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.benchmarks;
+
+import org.commonjava.atlas.maven.ident.util.ArtifactPathInfo;
+import org.commonjava.atlas.maven.ident.util.PathInfoClassifier;
+import org.commonjava.atlas.npm.ident.util.NpmPackagePathInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository path parsing. Each invocation is one pass over {@link Corpora#ARTIFACT_PATHS} or
+ * {@link Corpora#NPM_PATHS}; the classifier benchmark runs both through a {@link PathInfoClassifier}.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class PathInfoBenchmarks
+{
+    private static final PathInfoClassifier CLASSIFIER = new PathInfoClassifier( NpmPackagePathInfo::parse );
+
+    private static final List<String> LISTING;
+
+    static
+    {
+        final String[] listing = Arrays.copyOf( Corpora.ARTIFACT_PATHS,
+                                                Corpora.ARTIFACT_PATHS.length + Corpora.NPM_PATHS.length );
+        System.arraycopy( Corpora.NPM_PATHS, 0, listing, Corpora.ARTIFACT_PATHS.length, Corpora.NPM_PATHS.length );
+        LISTING = Arrays.asList( listing );
+    }
+
+    @Benchmark
+    public void artifactPathParse( final Blackhole bh )
+    {
+        for ( final String path : Corpora.ARTIFACT_PATHS )
+        {
+            bh.consume( ArtifactPathInfo.parse( path ) );
+        }
+    }
+
+    @Benchmark
+    public void npmPackagePathParse( final Blackhole bh )
+    {
+        for ( final String path : Corpora.NPM_PATHS )
+        {
+            bh.consume( NpmPackagePathInfo.parse( path ) );
+        }
+    }
+
+    @Benchmark
+    public void classifyListing( final Blackhole bh )
+    {
+        CLASSIFIER.classify( LISTING, false ).forEach( bh::consume );
+    }
+}
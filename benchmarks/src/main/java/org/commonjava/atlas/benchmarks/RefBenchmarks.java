@@ -0,0 +1,175 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.benchmarks;
+
+import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.ProjectRef;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.commonjava.atlas.maven.ident.util.ArtifactRefComparator;
+import org.commonjava.atlas.maven.ident.util.RefSorter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing, equality, hashing and wildcard matching of project refs. Each invocation is one pass over
+ * {@link Corpora#GAVS}; matching tests every ref against every one of {@link Corpora#PROJECT_PATTERNS}. Sorting sorts
+ * a copy of {@link #SORT_SIZE} artifact refs made from them, with the comparator or with {@link RefSorter}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class RefBenchmarks
+{
+    private static final int SORT_SIZE = 20000;
+
+    private static final String[] TYPES = { "jar", "pom", "war", "test-jar" };
+
+    private static final String[] CLASSIFIERS = { null, "sources", "javadoc", "tests" };
+
+    private ProjectVersionRef[] refs;
+
+    private ProjectVersionRef[] equalRefs;
+
+    private ProjectRef[] projects;
+
+    private ProjectRef[] patterns;
+
+    private List<ArtifactRef> artifacts;
+
+    @Setup( Level.Trial )
+    public void setup()
+    {
+        refs = new ProjectVersionRef[Corpora.GAVS.length];
+        equalRefs = new ProjectVersionRef[Corpora.GAVS.length];
+        projects = new ProjectRef[Corpora.GAVS.length];
+        for ( int i = 0; i < refs.length; i++ )
+        {
+            refs[i] = SimpleProjectVersionRef.parse( Corpora.GAVS[i] );
+            equalRefs[i] = SimpleProjectVersionRef.parse( new String( Corpora.GAVS[i] ) );
+            projects[i] = refs[i].asProjectRef();
+        }
+
+        patterns = new ProjectRef[Corpora.PROJECT_PATTERNS.length];
+        for ( int i = 0; i < patterns.length; i++ )
+        {
+            patterns[i] = SimpleProjectRef.parse( Corpora.PROJECT_PATTERNS[i] );
+        }
+
+        final Random random = new Random( 42 );
+        artifacts = new ArrayList<>( SORT_SIZE );
+        for ( int i = 0; i < SORT_SIZE; i++ )
+        {
+            artifacts.add( new SimpleArtifactRef( refs[random.nextInt( refs.length )],
+                                                  TYPES[random.nextInt( TYPES.length )],
+                                                  CLASSIFIERS[random.nextInt( CLASSIFIERS.length )] ) );
+        }
+    }
+
+    @Benchmark
+    public void parse( final Blackhole bh )
+    {
+        for ( final String gav : Corpora.GAVS )
+        {
+            bh.consume( SimpleProjectVersionRef.parse( gav ) );
+        }
+    }
+
+    @Benchmark
+    public void equalsEqual( final Blackhole bh )
+    {
+        for ( int i = 0; i < refs.length; i++ )
+        {
+            bh.consume( refs[i].equals( equalRefs[i] ) );
+        }
+    }
+
+    @Benchmark
+    public void equalsDifferent( final Blackhole bh )
+    {
+        for ( int i = 0; i < refs.length; i++ )
+        {
+            bh.consume( refs[i].equals( equalRefs[( i + 1 ) % refs.length] ) );
+        }
+    }
+
+    @Benchmark
+    public void hashCodeCached( final Blackhole bh )
+    {
+        for ( final ProjectVersionRef ref : refs )
+        {
+            bh.consume( ref.hashCode() );
+        }
+    }
+
+    @Benchmark
+    public void hashCodeFresh( final Blackhole bh )
+    {
+        for ( final ProjectVersionRef ref : refs )
+        {
+            bh.consume( new SimpleProjectVersionRef( ref.getGroupId(), ref.getArtifactId(), ref.getVersionString() )
+                                .hashCode() );
+        }
+    }
+
+    @Benchmark
+    public void matches( final Blackhole bh )
+    {
+        for ( final ProjectRef pattern : patterns )
+        {
+            for ( final ProjectRef project : projects )
+            {
+                bh.consume( pattern.matches( project ) );
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ArtifactRef> sortWithComparator()
+    {
+        final List<ArtifactRef> sorted = new ArrayList<>( artifacts );
+        sorted.sort( new ArtifactRefComparator() );
+        return sorted;
+    }
+
+    @Benchmark
+    public List<ArtifactRef> sortWithRefSorter()
+    {
+        final List<ArtifactRef> sorted = new ArrayList<>( artifacts );
+        RefSorter.sortArtifactRefs( sorted );
+        return sorted;
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.commonjava.atlas.maven.graph.jackson.ProjectRelationshipSerializerModule;
+import org.commonjava.atlas.maven.graph.model.EProjectDirectRelationships;
+import org.commonjava.atlas.maven.graph.model.LazyEProjectDirectRelationships;
+import org.commonjava.atlas.maven.graph.rel.DependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleBomRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleParentRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimplePluginDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimplePluginRelationship;
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.jackson.ProjectVersionRefSerializerModule;
+import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON deserialization of project relationships and refs. Each invocation reads back one relationship of every type
+ * declared by each of {@link Corpora#GAVS}, as written by the relationship serializer, or a map from artifact refs to
+ * their projects with an entry for each relationship target. The project record benchmarks read only the dependencies
+ * of a project that declares and manages several artifacts of each of {@link Corpora#GAVS}, and plugins for them,
+ * fully or with {@link LazyEProjectDirectRelationships}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class RelationshipBenchmarks
+{
+    private static final URI SOURCE = URI.create( "http://repo.maven.apache.org/maven2/" );
+
+    private static final URI POM_LOCATION = URI.create( "pom:profile:release" );
+
+    private static final String[] TYPES = { "jar", "pom", "war", "test-jar" };
+
+    private String[] json;
+
+    private ObjectReader reader;
+
+    private String mapJson;
+
+    private ObjectReader mapReader;
+
+    private ObjectMapper mapper;
+
+    private byte[] projectJson;
+
+    @Setup( Level.Trial )
+    public void setup()
+            throws JsonProcessingException
+    {
+        mapper = new ObjectMapper();
+        mapper.registerModules( new ProjectVersionRefSerializerModule(), new ProjectRelationshipSerializerModule() );
+        reader = mapper.readerFor( ProjectRelationship.class );
+
+        final List<ProjectRelationship<?, ?>> rels = new ArrayList<>();
+        for ( int i = 0; i < Corpora.GAVS.length; i++ )
+        {
+            final ProjectVersionRef declaring = SimpleProjectVersionRef.parse( Corpora.GAVS[i] );
+            final ProjectVersionRef target =
+                    SimpleProjectVersionRef.parse( Corpora.GAVS[( i + 1 ) % Corpora.GAVS.length] );
+
+            rels.add( new SimpleParentRelationship( SOURCE, declaring, target ) );
+            rels.add( new SimpleBomRelationship( SOURCE, POM_LOCATION, declaring, target, i, false, false ) );
+            rels.add( new SimpleDependencyRelationship( SOURCE, declaring, target.asJarArtifact(),
+                                                        DependencyScope.test, i, false, false, true ) );
+            rels.add( new SimplePluginRelationship( SOURCE, declaring, target, i, true, false, false ) );
+            rels.add( new SimplePluginDependencyRelationship( SOURCE, POM_LOCATION, declaring,
+                                                              new SimpleProjectRef( "org.apache.maven.plugins",
+                                                                                    "maven-compiler-plugin" ),
+                                                              target.asPomArtifact(), i, false, false ) );
+        }
+
+        json = new String[rels.size()];
+        final Map<ArtifactRef, ProjectVersionRef> map = new HashMap<>();
+        for ( int i = 0; i < json.length; i++ )
+        {
+            final ProjectRelationship<?, ?> rel = rels.get( i );
+            json[i] = mapper.writeValueAsString( rel );
+            map.put( rel.getTargetArtifact(), rel.getTarget().asProjectVersionRef() );
+        }
+
+        mapJson = mapper.writeValueAsString( map );
+        mapReader = mapper.readerFor( new TypeReference<Map<ArtifactRef, ProjectVersionRef>>()
+        {
+        } );
+
+        final ProjectVersionRef project = new SimpleProjectVersionRef( "org.example", "example-bom", "1.0" );
+        final EProjectDirectRelationships.Builder builder = new EProjectDirectRelationships.Builder( SOURCE, project );
+        for ( final String gav : Corpora.GAVS )
+        {
+            final ProjectVersionRef ref = SimpleProjectVersionRef.parse( gav );
+            for ( final String type : TYPES )
+            {
+                builder.withDependency( ref, type, null, DependencyScope.compile, false, false, false );
+                builder.withDependency( ref, type, "sources", DependencyScope.compile, true, false, false );
+            }
+            builder.withPlugin( ref, false, false );
+            builder.withPlugin( ref, true, false );
+            builder.withExtension( ref, false );
+        }
+        projectJson = mapper.writeValueAsBytes( builder.build() );
+    }
+
+    @Benchmark
+    public void deserialize( final Blackhole bh )
+            throws IOException
+    {
+        for ( final String value : json )
+        {
+            bh.consume( reader.<ProjectRelationship<?, ?>>readValue( value ) );
+        }
+    }
+
+    @Benchmark
+    public Map<ArtifactRef, ProjectVersionRef> deserializeRefMap()
+            throws IOException
+    {
+        return mapReader.readValue( mapJson );
+    }
+
+    @Benchmark
+    public List<DependencyRelationship> readProjectDependencies()
+            throws IOException
+    {
+        return mapper.readValue( projectJson, EProjectDirectRelationships.class ).getDependencies();
+    }
+
+    @Benchmark
+    public List<DependencyRelationship> readProjectDependenciesLazily()
+            throws IOException
+    {
+        return new LazyEProjectDirectRelationships( mapper, projectJson ).getDependencies();
+    }
+}
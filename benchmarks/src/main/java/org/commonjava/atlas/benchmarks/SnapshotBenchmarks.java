@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.benchmarks;
+
+import org.commonjava.atlas.maven.ident.util.SnapshotUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot version detection and timestamp handling. Each invocation is one pass over
+ * {@link Corpora#SNAPSHOT_VERSIONS}.
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class SnapshotBenchmarks
+{
+    private static final String[] TIMESTAMPS = { "20160229.212037", "20230101.101010", "20191231.235959" };
+
+    private static final Date DATE = new Date( 1456780837000L );
+
+    @Benchmark
+    public void isSnapshotVersion( final Blackhole bh )
+    {
+        for ( final String version : Corpora.SNAPSHOT_VERSIONS )
+        {
+            bh.consume( SnapshotUtils.isSnapshotVersion( version ) );
+        }
+    }
+
+    @Benchmark
+    public void isRemoteSnapshotVersion( final Blackhole bh )
+    {
+        for ( final String version : Corpora.SNAPSHOT_VERSIONS )
+        {
+            bh.consume( SnapshotUtils.isRemoteSnapshotVersion( version ) );
+        }
+    }
+
+    @Benchmark
+    public void extractSnapshotVersionPart( final Blackhole bh )
+    {
+        for ( final String version : Corpora.SNAPSHOT_VERSIONS )
+        {
+            bh.consume( SnapshotUtils.extractSnapshotVersionPart( version ) );
+        }
+    }
+
+    @Benchmark
+    public void parseSnapshotTimestamp( final Blackhole bh )
+            throws ParseException
+    {
+        for ( final String tstamp : TIMESTAMPS )
+        {
+            bh.consume( SnapshotUtils.parseSnapshotTimestamp( tstamp ) );
+        }
+    }
+
+    @Benchmark
+    public String generateSnapshotSuffix()
+    {
+        return SnapshotUtils.generateSnapshotSuffix( DATE, 2 );
+    }
+}
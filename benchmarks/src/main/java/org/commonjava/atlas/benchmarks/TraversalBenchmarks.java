@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.benchmarks;
+
+import org.commonjava.atlas.maven.graph.rel.SimpleDependencyRelationship;
+import org.commonjava.atlas.maven.graph.store.RelationshipGraph;
+import org.commonjava.atlas.maven.graph.traverse.DependencyTraversal;
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.ScopeTransitivity;
+import org.commonjava.atlas.maven.ident.ref.ProjectRef;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test-scope closure of a random dependency graph of {@link #PROJECTS} projects with {@link #DEPENDENCIES} dependencies
+ * each, in a mix of scopes, some optional and some with exclusions, walked on the calling thread and with the frontier
+ * expanded on the common {@link ForkJoinPool}.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class TraversalBenchmarks
+{
+    private static final int PROJECTS = 50000;
+
+    private static final int DEPENDENCIES = 8;
+
+    private static final DependencyScope[] SCOPES =
+            { DependencyScope.compile, DependencyScope.compile, DependencyScope.runtime, DependencyScope.test,
+                    DependencyScope.provided };
+
+    private DependencyTraversal sequential;
+
+    private DependencyTraversal parallel;
+
+    private int root;
+
+    @Setup( Level.Trial )
+    public void setup()
+    {
+        final URI source = URI.create( "http://repo.maven.apache.org/maven2/" );
+        final ProjectVersionRef[] refs = new ProjectVersionRef[PROJECTS];
+        for ( int i = 0; i < PROJECTS; i++ )
+        {
+            refs[i] = new SimpleProjectVersionRef( "org.example.group" + ( i % 100 ), "example-" + i, "1.0" );
+        }
+
+        final Random random = new Random( 1 );
+        final RelationshipGraph graph = new RelationshipGraph();
+        for ( int i = 0; i < PROJECTS; i++ )
+        {
+            for ( int d = 0; d < DEPENDENCIES; d++ )
+            {
+                final ProjectRef[] excludes = random.nextInt( 50 ) == 0 ?
+                        new ProjectRef[] { new SimpleProjectRef( "org.example.group" + random.nextInt( 100 ), "*" ) } :
+                        new ProjectRef[0];
+                graph.add( new SimpleDependencyRelationship( source, null, refs[i],
+                                                             refs[random.nextInt( PROJECTS )].asJarArtifact(),
+                                                             SCOPES[random.nextInt( SCOPES.length )], d, false, false,
+                                                             random.nextInt( 10 ) == 0, excludes ) );
+            }
+        }
+
+        root = graph.getNodeId( refs[0] );
+        sequential = new DependencyTraversal( graph, ScopeTransitivity.maven, DependencyScope.test );
+        parallel = new DependencyTraversal( graph, ScopeTransitivity.maven, DependencyScope.test,
+                                            ForkJoinPool.commonPool() );
+    }
+
+    @Benchmark
+    public int[] closure()
+    {
+        return sequential.closure( root );
+    }
+
+    @Benchmark
+    public int[] closureParallel()
+    {
+        return parallel.closure( root );
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.benchmarks;
+
+import org.commonjava.atlas.maven.ident.util.VersionUtils;
+import org.commonjava.atlas.maven.ident.version.SingleVersion;
+import org.commonjava.atlas.maven.ident.version.VersionSpecComparisons;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Version parsing and comparison. Each invocation is one pass over {@link Corpora#VERSIONS} (and, for parsing,
+ * {@link Corpora#RANGES}); comparison covers every ordered pair of versions.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class VersionBenchmarks
+{
+    @Param( { "false", "true" } )
+    public boolean versionCache;
+
+    private SingleVersion[] versions;
+
+    @Setup( Level.Trial )
+    public void setup()
+    {
+        if ( versionCache )
+        {
+            VersionUtils.enableVersionCache( 4096 );
+        }
+        else
+        {
+            VersionUtils.disableVersionCache();
+        }
+
+        versions = new SingleVersion[Corpora.VERSIONS.length];
+        for ( int i = 0; i < versions.length; i++ )
+        {
+            versions[i] = VersionUtils.createSingleVersion( Corpora.VERSIONS[i] );
+        }
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+    {
+        VersionUtils.disableVersionCache();
+    }
+
+    @Benchmark
+    public void createFromSpec( final Blackhole bh )
+    {
+        for ( final String version : Corpora.VERSIONS )
+        {
+            bh.consume( VersionUtils.createFromSpec( version ) );
+        }
+        for ( final String range : Corpora.RANGES )
+        {
+            bh.consume( VersionUtils.createFromSpec( range ) );
+        }
+    }
+
+    @Benchmark
+    public void compareTo( final Blackhole bh )
+    {
+        for ( final SingleVersion first : versions )
+        {
+            for ( final SingleVersion second : versions )
+            {
+                bh.consume( VersionSpecComparisons.compareTo( first, second ) );
+            }
+        }
+    }
+}
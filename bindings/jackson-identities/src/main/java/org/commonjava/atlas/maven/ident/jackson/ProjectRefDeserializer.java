@@ -33,16 +33,19 @@ public class ProjectRefDeserializer<T extends ProjectRef>
 
     private final Class<T> refCls;
 
+    private final RefParser parser;
+
     public ProjectRefDeserializer( final Class<T> refCls )
     {
         super( refCls );
         this.refCls = refCls;
+        this.parser = RefParser.forType( refCls );
     }
 
     @Override
     public T deserialize( final JsonParser jp, final DeserializationContext ctxt )
             throws IOException, JsonProcessingException
     {
-        return SerializerIdentityUtils.parse( jp.getText(), refCls );
+        return SerializerIdentityUtils.parse( jp.getText(), refCls, parser );
     }
 }
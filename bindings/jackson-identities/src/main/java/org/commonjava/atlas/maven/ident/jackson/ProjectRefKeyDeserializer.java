@@ -32,15 +32,18 @@ public class ProjectRefKeyDeserializer<T extends ProjectRef>
 
     private final Class<T> refCls;
 
+    private final RefParser parser;
+
     public ProjectRefKeyDeserializer( final Class<T> type )
     {
         this.refCls = type;
+        this.parser = RefParser.forType( type );
     }
 
     @Override
     public Object deserializeKey( String key, DeserializationContext ctxt )
             throws IOException, JsonProcessingException
     {
-        return SerializerIdentityUtils.parse( key, refCls );
+        return SerializerIdentityUtils.parse( key, refCls, parser );
     }
 }
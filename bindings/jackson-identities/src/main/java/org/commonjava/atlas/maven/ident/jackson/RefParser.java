@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.jackson;
+
+import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.ProjectRef;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleVersionlessArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.VersionlessArtifactRef;
+
+/**
+ * The parse() method to use for each kind of ref, picked once per deserialized type by {@link #forType(Class)} so the
+ * deserializers can call it directly for every value.
+ */
+enum RefParser
+{
+    ARTIFACT
+    {
+        @Override
+        ProjectRef parse( final String value )
+        {
+            return SimpleArtifactRef.parse( value );
+        }
+    },
+    VERSIONLESS_ARTIFACT
+    {
+        @Override
+        ProjectRef parse( final String value )
+        {
+            return SimpleVersionlessArtifactRef.parse( value );
+        }
+    },
+    PROJECT_VERSION
+    {
+        @Override
+        ProjectRef parse( final String value )
+        {
+            return SimpleProjectVersionRef.parse( value );
+        }
+    },
+    PROJECT
+    {
+        @Override
+        ProjectRef parse( final String value )
+        {
+            return SimpleProjectRef.parse( value );
+        }
+    };
+
+    abstract ProjectRef parse( String value );
+
+    /**
+     * @return the parser for the most specific ref interface the type implements, or null if it isn't a ref type.
+     */
+    static RefParser forType( final Class<?> type )
+    {
+        if ( ArtifactRef.class.isAssignableFrom( type ) )
+        {
+            return ARTIFACT;
+        }
+        else if ( VersionlessArtifactRef.class.isAssignableFrom( type ) )
+        {
+            return VERSIONLESS_ARTIFACT;
+        }
+        else if ( ProjectVersionRef.class.isAssignableFrom( type ) )
+        {
+            return PROJECT_VERSION;
+        }
+        else if ( ProjectRef.class.isAssignableFrom( type ) )
+        {
+            return PROJECT;
+        }
+
+        return null;
+    }
+}
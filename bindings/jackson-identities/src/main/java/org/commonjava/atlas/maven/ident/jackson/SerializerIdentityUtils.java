@@ -15,18 +15,9 @@
  */
 package org.commonjava.atlas.maven.ident.jackson;
 
-import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
 import org.commonjava.atlas.maven.ident.ref.ProjectRef;
-import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
-import org.commonjava.atlas.maven.ident.ref.SimpleArtifactRef;
-import org.commonjava.atlas.maven.ident.ref.SimpleProjectRef;
-import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
-import org.commonjava.atlas.maven.ident.ref.SimpleVersionlessArtifactRef;
-import org.commonjava.atlas.maven.ident.ref.VersionlessArtifactRef;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 
 /**
  * Created by jdcasey on 8/26/15.
@@ -38,44 +29,27 @@ public final class SerializerIdentityUtils
     public static <T extends ProjectRef> T parse( final String value, final Class<T> type )
             throws IOException
     {
-        Class<?> realType = null;
-        if ( ArtifactRef.class.isAssignableFrom( type ) )
-        {
-            realType = SimpleArtifactRef.class;
-        }
-        else if ( VersionlessArtifactRef.class.isAssignableFrom( type ) )
-        {
-            realType = SimpleVersionlessArtifactRef.class;
-        }
-        else if ( ProjectVersionRef.class.isAssignableFrom( type ) )
-        {
-            realType = SimpleProjectVersionRef.class;
-        }
-        else if ( ProjectRef.class.isAssignableFrom( type ) )
-        {
-            realType = SimpleProjectRef.class;
-        }
-        else
+        return parse( value, type, RefParser.forType( type ) );
+    }
+
+    /**
+     * Parse with a parser already resolved for the type, as the deserializers do for each value.
+     */
+    static <T extends ProjectRef> T parse( final String value, final Class<T> type, final RefParser parser )
+            throws IOException
+    {
+        if ( parser == null )
         {
             throw new IOException( "Cannot find acceptable deserialization target class to parse: " + type.getSimpleName() );
         }
 
         try
         {
-            final Method parseMethod = realType.getMethod( "parse", String.class );
-            return type.cast( parseMethod.invoke( null, value ) );
-        }
-        catch ( final NoSuchMethodException e )
-        {
-            throw new IOException( "Failed to lookup/invoke parse() method on " + type.getSimpleName(), e );
-        }
-        catch ( final IllegalAccessException e )
-        {
-            throw new IOException( "Failed to lookup/invoke parse() method on " + type.getSimpleName(), e );
+            return type.cast( parser.parse( value ) );
         }
-        catch ( final InvocationTargetException e )
+        catch ( final RuntimeException e )
         {
-            throw new IOException( "Failed to lookup/invoke parse() method on " + type.getSimpleName(), e );
+            throw new IOException( "Failed to parse " + type.getSimpleName() + ": '" + value + "'", e );
         }
     }
 
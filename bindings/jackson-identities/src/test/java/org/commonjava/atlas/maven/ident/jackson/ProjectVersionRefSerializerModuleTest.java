@@ -18,11 +18,18 @@ package org.commonjava.atlas.maven.ident.jackson;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
 import org.commonjava.atlas.maven.ident.ref.ProjectRef;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleArtifactRef;
 import org.commonjava.atlas.maven.ident.ref.SimpleProjectRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleVersionlessArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.VersionlessArtifactRef;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -72,4 +79,43 @@ public class ProjectVersionRefSerializerModuleTest
         assertThat( result.get( pr ), equalTo( value ) );
     }
 
+    @Test
+    public void mapWithArtifactRefKeysAndVersionRefValuesRoundTrip()
+        throws Exception
+    {
+        final Map<ArtifactRef, ProjectVersionRef> map = new HashMap<ArtifactRef, ProjectVersionRef>();
+        map.put( new SimpleArtifactRef( "org.foo", "bar", "1.0", "jar", null ),
+                 new SimpleProjectVersionRef( "org.foo", "parent", "1" ) );
+        map.put( new SimpleArtifactRef( "org.foo", "bar", "1.0", "test-jar", "tests" ),
+                 new SimpleProjectVersionRef( "org.foo", "parent", "2" ) );
+
+        final String json = mapper.writeValueAsString( map );
+
+        final Map<ArtifactRef, ProjectVersionRef> result =
+                mapper.readValue( json, new TypeReference<Map<ArtifactRef, ProjectVersionRef>>()
+                {
+                } );
+
+        assertThat( result, equalTo( map ) );
+    }
+
+    @Test
+    public void versionlessArtifactRefRoundTrip()
+        throws Exception
+    {
+        final VersionlessArtifactRef ref = new SimpleVersionlessArtifactRef( "org.foo", "bar", "zip", "dist" );
+        final String json = mapper.writeValueAsString( ref );
+
+        final VersionlessArtifactRef result = mapper.readValue( json, VersionlessArtifactRef.class );
+
+        assertThat( result, equalTo( ref ) );
+    }
+
+    @Test( expected = IOException.class )
+    public void invalidRefFailsWithIOException()
+        throws Exception
+    {
+        mapper.readValue( "\"org.foo\"", ProjectVersionRef.class );
+    }
+
 }
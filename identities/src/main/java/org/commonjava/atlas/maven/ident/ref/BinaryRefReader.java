@@ -0,0 +1,224 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.ref;
+
+import static org.commonjava.atlas.maven.ident.ref.BinaryRefWriter.ARTIFACT_TAG;
+import static org.commonjava.atlas.maven.ident.ref.BinaryRefWriter.FIRST_STRING_ID;
+import static org.commonjava.atlas.maven.ident.ref.BinaryRefWriter.NEW_STRING;
+import static org.commonjava.atlas.maven.ident.ref.BinaryRefWriter.NULL_STRING;
+import static org.commonjava.atlas.maven.ident.ref.BinaryRefWriter.NULL_TAG;
+import static org.commonjava.atlas.maven.ident.ref.BinaryRefWriter.PROJECT_TAG;
+import static org.commonjava.atlas.maven.ident.ref.BinaryRefWriter.PROJECT_VERSION_TAG;
+import static org.commonjava.atlas.maven.ident.ref.BinaryRefWriter.VERSIONLESS_ARTIFACT_TAG;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads refs written by {@link BinaryRefWriter}. Strings that were written once are shared by all the refs read with
+ * them, and the refs come from the global {@link RefPool} if it is enabled, as they do when parsed.
+ * <p>
+ * Malformed input causes an {@link IOException}; running out of input an {@link java.io.EOFException}. Readers are not
+ * thread-safe.
+ */
+public class BinaryRefReader
+{
+    // UTF-8 strings longer than this are assumed to be garbage rather than allocated
+    private static final int MAX_STRING_BYTES = 1 << 20;
+
+    private final DataInput in;
+
+    private final List<String> strings = new ArrayList<String>();
+
+    public BinaryRefReader( final DataInput in )
+    {
+        this.in = in;
+    }
+
+    /**
+     * Read from the buffer, from its position up to its limit.
+     */
+    public BinaryRefReader( final ByteBuffer buffer )
+    {
+        this( new DataInputStream( new ByteBufferInputStream( buffer ) ) );
+    }
+
+    /**
+     * Read a ref written by {@link BinaryRefWriter#writeRef(ProjectRef)}, as the same kind of ref.
+     */
+    public ProjectRef readRef()
+        throws IOException
+    {
+        final int tag = readVarInt();
+        switch ( tag )
+        {
+            case NULL_TAG:
+                return null;
+            case PROJECT_TAG:
+                return readProjectRef();
+            case PROJECT_VERSION_TAG:
+                return readProjectVersionRef();
+            case ARTIFACT_TAG:
+                return readArtifactRef();
+            case VERSIONLESS_ARTIFACT_TAG:
+                return readVersionlessArtifactRef();
+            default:
+                throw new IOException( "Invalid ref tag: " + tag );
+        }
+    }
+
+    public ProjectRef readProjectRef()
+        throws IOException
+    {
+        final String groupId = readString();
+        final String artifactId = readString();
+
+        final RefPool pool = RefPool.getGlobal();
+        return pool == null ? new SimpleProjectRef( groupId, artifactId ) : pool.project( groupId, artifactId );
+    }
+
+    public ProjectVersionRef readProjectVersionRef()
+        throws IOException
+    {
+        final String groupId = readString();
+        final String artifactId = readString();
+        final String version = readString();
+
+        final RefPool pool = RefPool.getGlobal();
+        return pool == null ?
+                new SimpleProjectVersionRef( groupId, artifactId, version ) :
+                pool.projectVersion( groupId, artifactId, version );
+    }
+
+    public ArtifactRef readArtifactRef()
+        throws IOException
+    {
+        final String groupId = readString();
+        final String artifactId = readString();
+        final String version = readString();
+        final String type = readString();
+        final String classifier = readString();
+
+        final RefPool pool = RefPool.getGlobal();
+        return pool == null ?
+                new SimpleArtifactRef( groupId, artifactId, version, type, classifier ) :
+                pool.artifact( groupId, artifactId, version, type, classifier );
+    }
+
+    public VersionlessArtifactRef readVersionlessArtifactRef()
+        throws IOException
+    {
+        final String groupId = readString();
+        final String artifactId = readString();
+        final String type = readString();
+        final String classifier = readString();
+
+        final RefPool pool = RefPool.getGlobal();
+        return pool == null ?
+                new SimpleVersionlessArtifactRef( groupId, artifactId, type, classifier ) :
+                pool.versionlessArtifact( groupId, artifactId, type, classifier );
+    }
+
+    public String readString()
+        throws IOException
+    {
+        final int code = readVarInt();
+        if ( code == NULL_STRING )
+        {
+            return null;
+        }
+        else if ( code == NEW_STRING )
+        {
+            final int length = readVarInt();
+            if ( length < 0 || length > MAX_STRING_BYTES )
+            {
+                throw new IOException( "Invalid string length: " + length );
+            }
+
+            final byte[] bytes = new byte[length];
+            in.readFully( bytes );
+
+            final String value = new String( bytes, StandardCharsets.UTF_8 );
+            strings.add( value );
+            return value;
+        }
+
+        final int id = code - FIRST_STRING_ID;
+        if ( id < 0 || id >= strings.size() )
+        {
+            throw new IOException( "Unknown string id: " + id + " (dictionary size: " + strings.size() + ")" );
+        }
+
+        return strings.get( id );
+    }
+
+    public int readVarInt()
+        throws IOException
+    {
+        int value = 0;
+        for ( int shift = 0; shift < 35; shift += 7 )
+        {
+            final byte b = in.readByte();
+            value |= ( b & 0x7F ) << shift;
+            if ( ( b & 0x80 ) == 0 )
+            {
+                return value;
+            }
+        }
+
+        throw new IOException( "Invalid varint: more than 5 bytes" );
+    }
+
+    private static final class ByteBufferInputStream
+        extends InputStream
+    {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream( final ByteBuffer buffer )
+        {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read()
+        {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read( final byte[] b, final int off, final int len )
+        {
+            if ( len == 0 )
+            {
+                return 0;
+            }
+            else if ( !buffer.hasRemaining() )
+            {
+                return -1;
+            }
+
+            final int n = Math.min( len, buffer.remaining() );
+            buffer.get( b, off, n );
+            return n;
+        }
+    }
+}
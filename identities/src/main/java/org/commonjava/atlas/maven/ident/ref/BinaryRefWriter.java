@@ -0,0 +1,211 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.ref;
+
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes refs in a compact binary form, to be read back by {@link BinaryRefReader}. Much smaller than Java
+ * serialization or the JSON form, for caching large numbers of refs.
+ * <p>
+ * Integers are written as unsigned varints (7 bits per byte, low bits first). Strings go through a dictionary that
+ * lasts as long as the writer: the first occurrence of a string is written as UTF-8, and later ones as its number in
+ * the dictionary, so the group ids, artifact ids and versions shared by many refs are only written once. Versions are
+ * written as their strings; the reader leaves them to be parsed when a ref's version spec is first used.
+ * <p>
+ * A stream must be read with a single reader, in the order it was written. Writers are not thread-safe.
+ */
+public class BinaryRefWriter
+{
+    static final int NULL_TAG = 0;
+
+    static final int PROJECT_TAG = 1;
+
+    static final int PROJECT_VERSION_TAG = 2;
+
+    static final int ARTIFACT_TAG = 3;
+
+    static final int VERSIONLESS_ARTIFACT_TAG = 4;
+
+    // string codes: 0 is null, 1 is a new string, and n + 2 the n-th string in the dictionary
+    static final int NULL_STRING = 0;
+
+    static final int NEW_STRING = 1;
+
+    static final int FIRST_STRING_ID = 2;
+
+    private final DataOutput out;
+
+    private final Map<String, Integer> strings = new HashMap<String, Integer>();
+
+    public BinaryRefWriter( final DataOutput out )
+    {
+        this.out = out;
+    }
+
+    /**
+     * Write into the buffer, from its position. A {@link java.nio.BufferOverflowException} is thrown if it fills up.
+     * The buffer then ends with part of the value being written, so the writer should be discarded with it. What was
+     * written before that value reads back intact: the dictionary never holds a string whose bytes didn't make it.
+     */
+    public BinaryRefWriter( final ByteBuffer buffer )
+    {
+        this( new DataOutputStream( new ByteBufferOutputStream( buffer ) ) );
+    }
+
+    /**
+     * Write any kind of ref (or null), with a tag so that {@link BinaryRefReader#readRef()} can restore its kind.
+     */
+    public void writeRef( final ProjectRef ref )
+        throws IOException
+    {
+        if ( ref == null )
+        {
+            writeVarInt( NULL_TAG );
+        }
+        else if ( ref instanceof ArtifactRef )
+        {
+            writeVarInt( ARTIFACT_TAG );
+            writeArtifactRef( (ArtifactRef) ref );
+        }
+        else if ( ref instanceof ProjectVersionRef )
+        {
+            writeVarInt( PROJECT_VERSION_TAG );
+            writeProjectVersionRef( (ProjectVersionRef) ref );
+        }
+        else if ( ref instanceof VersionlessArtifactRef )
+        {
+            writeVarInt( VERSIONLESS_ARTIFACT_TAG );
+            writeVersionlessArtifactRef( (VersionlessArtifactRef) ref );
+        }
+        else
+        {
+            writeVarInt( PROJECT_TAG );
+            writeProjectRef( ref );
+        }
+    }
+
+    public void writeProjectRef( final ProjectRef ref )
+        throws IOException
+    {
+        writeString( ref.getGroupId() );
+        writeString( ref.getArtifactId() );
+    }
+
+    public void writeProjectVersionRef( final ProjectVersionRef ref )
+        throws IOException
+    {
+        writeProjectRef( ref );
+        writeString( ref.getVersionString() );
+    }
+
+    public void writeArtifactRef( final ArtifactRef ref )
+        throws IOException
+    {
+        writeProjectVersionRef( ref );
+        writeString( ref.getType() );
+        writeString( ref.getClassifier() );
+    }
+
+    public void writeVersionlessArtifactRef( final VersionlessArtifactRef ref )
+        throws IOException
+    {
+        writeProjectRef( ref );
+        writeString( ref.getType() );
+        writeString( ref.getClassifier() );
+    }
+
+    /**
+     * Write a string (or null) through the dictionary.
+     */
+    public void writeString( final String value )
+        throws IOException
+    {
+        if ( value == null )
+        {
+            writeVarInt( NULL_STRING );
+            return;
+        }
+
+        final Integer id = strings.get( value );
+        if ( id != null )
+        {
+            writeVarInt( id + FIRST_STRING_ID );
+            return;
+        }
+
+        final byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+        writeVarInt( NEW_STRING );
+        writeVarInt( bytes.length );
+        out.write( bytes );
+
+        // only once the string is in the stream, so a failed write never leaves an id the reader can't resolve
+        strings.put( value, strings.size() );
+    }
+
+    /**
+     * Write an int in 1 to 5 bytes; small non-negative values take the fewest.
+     */
+    public void writeVarInt( final int value )
+        throws IOException
+    {
+        int v = value;
+        while ( ( v & ~0x7F ) != 0 )
+        {
+            out.writeByte( ( v & 0x7F ) | 0x80 );
+            v >>>= 7;
+        }
+        out.writeByte( v );
+    }
+
+    /**
+     * @return the number of distinct strings written so far.
+     */
+    public int getDictionarySize()
+    {
+        return strings.size();
+    }
+
+    private static final class ByteBufferOutputStream
+        extends OutputStream
+    {
+        private final ByteBuffer buffer;
+
+        private ByteBufferOutputStream( final ByteBuffer buffer )
+        {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write( final int b )
+        {
+            buffer.put( (byte) b );
+        }
+
+        @Override
+        public void write( final byte[] b, final int off, final int len )
+        {
+            buffer.put( b, off, len );
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.ref;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled form of a {@link ProjectRef} used as a pattern: groupId and artifactId may contain '*' wildcards, which
+ * match any run of characters (including none). Everything else is matched literally. The pattern is analyzed once,
+ * so matching doesn't build or compile regular expressions.
+ *
+ * @see ProjectRefMatcherSet for matching against many patterns at once.
+ */
+public final class ProjectRefMatcher
+{
+
+    private final ProjectRef pattern;
+
+    private final Glob groupId;
+
+    private final Glob artifactId;
+
+    private ProjectRefMatcher( final ProjectRef pattern )
+    {
+        this.pattern = pattern;
+        this.groupId = new Glob( pattern.getGroupId() );
+        this.artifactId = new Glob( pattern.getArtifactId() );
+    }
+
+    public static ProjectRefMatcher compile( final ProjectRef pattern )
+    {
+        return new ProjectRefMatcher( pattern );
+    }
+
+    public static ProjectRefMatcher compile( final String groupIdPattern, final String artifactIdPattern )
+    {
+        return new ProjectRefMatcher( new SimpleProjectRef( groupIdPattern, artifactIdPattern ) );
+    }
+
+    public ProjectRef getPattern()
+    {
+        return pattern;
+    }
+
+    public boolean matches( final ProjectRef ref )
+    {
+        return matches( ref.getGroupId(), ref.getArtifactId() );
+    }
+
+    public boolean matches( final String groupId, final String artifactId )
+    {
+        return this.groupId.matches( groupId ) && this.artifactId.matches( artifactId );
+    }
+
+    boolean matchesGroupId( final String groupId )
+    {
+        return this.groupId.matches( groupId );
+    }
+
+    boolean matchesArtifactId( final String artifactId )
+    {
+        return this.artifactId.matches( artifactId );
+    }
+
+    static boolean isLiteral( final String pattern )
+    {
+        return pattern.indexOf( '*' ) < 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ProjectRefMatcher [" + pattern + "]";
+    }
+
+    /**
+     * '*' glob, stored as the literal text before the first '*', the literal text after the last one, and the
+     * literals in between, which are matched left to right.
+     */
+    private static final class Glob
+    {
+        private final String literal;
+
+        private final String prefix;
+
+        private final String suffix;
+
+        private final String[] middle;
+
+        private final int minLength;
+
+        Glob( final String pattern )
+        {
+            final int first = pattern.indexOf( '*' );
+            if ( first < 0 )
+            {
+                literal = pattern;
+                prefix = null;
+                suffix = null;
+                middle = null;
+                minLength = pattern.length();
+                return;
+            }
+
+            final int last = pattern.lastIndexOf( '*' );
+            literal = null;
+            prefix = pattern.substring( 0, first );
+            suffix = pattern.substring( last + 1 );
+
+            final List<String> mid = new ArrayList<String>();
+            int start = first + 1;
+            while ( start <= last )
+            {
+                final int end = pattern.indexOf( '*', start );
+                if ( end > start )
+                {
+                    mid.add( pattern.substring( start, end ) );
+                }
+                start = end + 1;
+            }
+
+            middle = mid.toArray( new String[mid.size()] );
+
+            int min = prefix.length() + suffix.length();
+            for ( final String m : middle )
+            {
+                min += m.length();
+            }
+            minLength = min;
+        }
+
+        boolean matches( final String value )
+        {
+            if ( literal != null )
+            {
+                return literal.equals( value );
+            }
+
+            if ( value.length() < minLength || !value.startsWith( prefix ) || !value.endsWith( suffix ) )
+            {
+                return false;
+            }
+
+            // leftmost placement of each middle literal is always safe, since '*' can absorb the rest.
+            int pos = prefix.length();
+            final int end = value.length() - suffix.length();
+            for ( final String m : middle )
+            {
+                final int idx = value.indexOf( m, pos );
+                if ( idx < 0 || idx + m.length() > end )
+                {
+                    return false;
+                }
+                pos = idx + m.length();
+            }
+
+            return true;
+        }
+    }
+
+}
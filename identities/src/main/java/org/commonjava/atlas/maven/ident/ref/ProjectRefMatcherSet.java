@@ -0,0 +1,240 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.ref;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Matches refs against a fixed set of '*' wildcard patterns (see {@link ProjectRefMatcher}) in a single pass,
+ * instead of trying each pattern in turn.
+ * <br/>
+ * Patterns are stored in a trie on the '.'-separated segments of their groupId, down to the first segment that
+ * contains a wildcard. Matching a ref walks the trie along its own groupId segments, so only patterns whose literal
+ * groupId prefix fits the ref are ever looked at. Patterns with a fully literal groupId and artifactId are found with a
+ * single map lookup at the end of the walk.
+ */
+public final class ProjectRefMatcherSet
+{
+
+    private final Node root = new Node();
+
+    private final List<ProjectRef> patterns;
+
+    public ProjectRefMatcherSet( final Collection<? extends ProjectRef> patterns )
+    {
+        final List<ProjectRef> list = new ArrayList<ProjectRef>( patterns.size() );
+        for ( final ProjectRef pattern : patterns )
+        {
+            add( pattern, list.size() );
+            list.add( pattern );
+        }
+
+        this.patterns = Collections.unmodifiableList( list );
+    }
+
+    public List<ProjectRef> getPatterns()
+    {
+        return patterns;
+    }
+
+    public boolean isEmpty()
+    {
+        return patterns.isEmpty();
+    }
+
+    /**
+     * @return true if any of the patterns matches the given ref.
+     */
+    public boolean matches( final ProjectRef ref )
+    {
+        return walk( ref, null );
+    }
+
+    /**
+     * @return all patterns matching the given ref, in the order they were given.
+     */
+    public List<ProjectRef> findMatches( final ProjectRef ref )
+    {
+        final Map<Integer, ProjectRef> found = new TreeMap<Integer, ProjectRef>();
+        walk( ref, found );
+        return new ArrayList<ProjectRef>( found.values() );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ProjectRefMatcherSet " + patterns;
+    }
+
+    private void add( final ProjectRef pattern, final int index )
+    {
+        final Entry entry = new Entry( index, ProjectRefMatcher.compile( pattern ) );
+        final String groupId = pattern.getGroupId();
+
+        Node node = root;
+        int start = 0;
+        while ( true )
+        {
+            final int dot = groupId.indexOf( '.', start );
+            final String segment = dot < 0 ? groupId.substring( start ) : groupId.substring( start, dot );
+            if ( !ProjectRefMatcher.isLiteral( segment ) )
+            {
+                node.groupGlobs.add( entry );
+                return;
+            }
+
+            node = node.child( segment );
+            if ( dot < 0 )
+            {
+                break;
+            }
+
+            start = dot + 1;
+        }
+
+        final String artifactId = pattern.getArtifactId();
+        if ( ProjectRefMatcher.isLiteral( artifactId ) )
+        {
+            List<Entry> exact = node.exactArtifacts.get( artifactId );
+            if ( exact == null )
+            {
+                exact = new ArrayList<Entry>( 1 );
+                node.exactArtifacts.put( artifactId, exact );
+            }
+            exact.add( entry );
+        }
+        else
+        {
+            node.artifactGlobs.add( entry );
+        }
+    }
+
+    /**
+     * Visit every pattern that might match. With found == null, stop at the first match and return true; otherwise
+     * collect all matches.
+     */
+    private boolean walk( final ProjectRef ref, final Map<Integer, ProjectRef> found )
+    {
+        final String groupId = ref.getGroupId();
+        final String artifactId = ref.getArtifactId();
+
+        Node node = root;
+        int start = 0;
+        while ( node != null )
+        {
+            for ( final Entry entry : node.groupGlobs )
+            {
+                if ( entry.matcher.matches( groupId, artifactId ) && found( entry, found ) )
+                {
+                    return true;
+                }
+            }
+
+            // no need to check groupGlobs of the last node: they need at least one more segment.
+            final int dot = groupId.indexOf( '.', start );
+            final String segment = dot < 0 ? groupId.substring( start ) : groupId.substring( start, dot );
+            node = node.children.get( segment );
+            if ( dot < 0 )
+            {
+                break;
+            }
+
+            start = dot + 1;
+        }
+
+        if ( node == null )
+        {
+            return found != null && !found.isEmpty();
+        }
+
+        // the whole groupId matched literally; only the artifactId is left to check.
+        final List<Entry> exact = node.exactArtifacts.get( artifactId );
+        if ( exact != null )
+        {
+            for ( final Entry entry : exact )
+            {
+                if ( found( entry, found ) )
+                {
+                    return true;
+                }
+            }
+        }
+
+        for ( final Entry entry : node.artifactGlobs )
+        {
+            if ( entry.matcher.matchesArtifactId( artifactId ) && found( entry, found ) )
+            {
+                return true;
+            }
+        }
+
+        return found != null && !found.isEmpty();
+    }
+
+    private static boolean found( final Entry entry, final Map<Integer, ProjectRef> found )
+    {
+        if ( found == null )
+        {
+            return true;
+        }
+
+        found.put( entry.index, entry.matcher.getPattern() );
+        return false;
+    }
+
+    private static final class Entry
+    {
+        private final int index;
+
+        private final ProjectRefMatcher matcher;
+
+        Entry( final int index, final ProjectRefMatcher matcher )
+        {
+            this.index = index;
+            this.matcher = matcher;
+        }
+    }
+
+    private static final class Node
+    {
+        private final Map<String, Node> children = new HashMap<String, Node>( 4 );
+
+        private final List<Entry> groupGlobs = new ArrayList<Entry>( 0 );
+
+        private final Map<String, List<Entry>> exactArtifacts = new HashMap<String, List<Entry>>( 4 );
+
+        private final List<Entry> artifactGlobs = new ArrayList<Entry>( 0 );
+
+        Node child( final String segment )
+        {
+            Node child = children.get( segment );
+            if ( child == null )
+            {
+                child = new Node();
+                children.put( segment, child );
+            }
+
+            return child;
+        }
+    }
+
+}
@@ -0,0 +1,410 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.ref;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonicalizing factory for refs. Group ids, artifact ids, versions, types and classifiers are deduplicated, and
+ * refs with the same class and the same literal coordinates are shared, so large graphs that mention the same
+ * projects over and over retain one instance of each.
+ * <br/>
+ * Pooled instances are only weakly held, so anything no longer in use elsewhere can be garbage collected. Refs are
+ * matched on their literal version string (not on version equality), so a pooled ref always renders the same as a
+ * freshly constructed one.
+ * <br/>
+ * A global pool can be switched on with {@link #enableGlobal()} (or the {@link #REF_POOL_PROP} system property), in
+ * which case the parse() methods of the Simple*Ref classes and {@link org.commonjava.atlas.maven.ident.util.IdentityUtils}
+ * go through it.
+ */
+public final class RefPool
+{
+
+    /**
+     * System property used to switch on the global ref pool at startup ("true").
+     */
+    public static final String REF_POOL_PROP = "atlas.ref.pool";
+
+    // rough shallow sizes (compressed oops), only used for the saved-memory estimate.
+    private static final int STRING_OVERHEAD = 40;
+
+    private static final int PROJECT_REF_SIZE = 24;
+
+    private static final int PROJECT_VERSION_REF_SIZE = 32;
+
+    private static final int TYPE_AND_CLASSIFIER_SIZE = 24;
+
+    private static volatile RefPool global = Boolean.getBoolean( REF_POOL_PROP ) ? new RefPool() : null;
+
+    private final WeakPool strings = new WeakPool()
+    {
+        @Override
+        int hash( final Object value )
+        {
+            return value.hashCode();
+        }
+
+        @Override
+        boolean equivalent( final Object first, final Object second )
+        {
+            return first.equals( second );
+        }
+    };
+
+    private final WeakPool refs = new WeakPool()
+    {
+        @Override
+        int hash( final Object value )
+        {
+            return refHash( (ProjectRef) value );
+        }
+
+        @Override
+        boolean equivalent( final Object first, final Object second )
+        {
+            return sameRef( (ProjectRef) first, (ProjectRef) second );
+        }
+    };
+
+    private final LongAdder lookups = new LongAdder();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder savedBytes = new LongAdder();
+
+    /**
+     * Switch on the global pool, used by the parse() methods. Any previously enabled pool (and its statistics) is
+     * discarded.
+     */
+    public static RefPool enableGlobal()
+    {
+        final RefPool pool = new RefPool();
+        global = pool;
+        return pool;
+    }
+
+    public static void disableGlobal()
+    {
+        global = null;
+    }
+
+    /**
+     * @return the global pool, or null if it is disabled (the default).
+     */
+    public static RefPool getGlobal()
+    {
+        return global;
+    }
+
+    /**
+     * @return the canonical instance of the given string. Null is returned as-is.
+     */
+    public String intern( final String value )
+    {
+        if ( value == null )
+        {
+            return null;
+        }
+
+        final String result = (String) strings.intern( value );
+        record( result, value, STRING_OVERHEAD + 2 * value.length() );
+        return result;
+    }
+
+    /**
+     * @return the pooled ref with the same class and literal coordinates as the given one, or the given ref itself if
+     *         there is none yet (in which case it becomes the pooled instance).
+     */
+    public <T extends ProjectRef> T intern( final T ref )
+    {
+        if ( ref == null )
+        {
+            return null;
+        }
+
+        @SuppressWarnings( "unchecked" )
+        final T result = (T) refs.intern( ref );
+        record( result, ref, shallowSize( ref ) );
+        return result;
+    }
+
+    public SimpleProjectRef project( final String groupId, final String artifactId )
+    {
+        return intern( new SimpleProjectRef( intern( groupId ), intern( artifactId ) ) );
+    }
+
+    public SimpleProjectVersionRef projectVersion( final String groupId, final String artifactId,
+                                                   final String version )
+    {
+        return intern( new SimpleProjectVersionRef( intern( groupId ), intern( artifactId ), intern( version ) ) );
+    }
+
+    public SimpleArtifactRef artifact( final String groupId, final String artifactId, final String version,
+                                       final String type, final String classifier )
+    {
+        return intern( new SimpleArtifactRef( intern( groupId ), intern( artifactId ), intern( version ),
+                                              intern( type ), intern( classifier ) ) );
+    }
+
+    public SimpleVersionlessArtifactRef versionlessArtifact( final String groupId, final String artifactId,
+                                                             final String type, final String classifier )
+    {
+        return intern( new SimpleVersionlessArtifactRef( intern( groupId ), intern( artifactId ), intern( type ),
+                                                         intern( classifier ) ) );
+    }
+
+    /**
+     * @return number of live pooled strings and refs.
+     */
+    public int size()
+    {
+        return strings.size() + refs.size();
+    }
+
+    public long getLookupCount()
+    {
+        return lookups.sum();
+    }
+
+    /**
+     * @return number of lookups that returned an already-pooled instance instead of the one passed in.
+     */
+    public long getHitCount()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * @return fraction of lookups that were deduplicated.
+     */
+    public double getDedupRatio()
+    {
+        final long total = lookups.sum();
+        return total == 0 ? 0 : (double) hits.sum() / total;
+    }
+
+    /**
+     * @return rough estimate of the heap (in bytes) that would otherwise be retained by duplicate instances.
+     */
+    public long getSavedBytesEstimate()
+    {
+        return savedBytes.sum();
+    }
+
+    public void clear()
+    {
+        strings.clear();
+        refs.clear();
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format( "RefPool [size=%s, lookups=%s, hits=%s, dedupRatio=%.3f, savedBytes~%s]", size(),
+                              getLookupCount(), getHitCount(), getDedupRatio(), getSavedBytesEstimate() );
+    }
+
+    private void record( final Object result, final Object given, final int size )
+    {
+        lookups.increment();
+        if ( result != given )
+        {
+            hits.increment();
+            savedBytes.add( size );
+        }
+    }
+
+    private static int shallowSize( final ProjectRef ref )
+    {
+        if ( ref instanceof ProjectVersionRef )
+        {
+            return ref instanceof ArtifactRef ? PROJECT_VERSION_REF_SIZE + TYPE_AND_CLASSIFIER_SIZE
+                            : PROJECT_VERSION_REF_SIZE;
+        }
+
+        return ref instanceof VersionlessArtifactRef ? PROJECT_REF_SIZE + TYPE_AND_CLASSIFIER_SIZE
+                        : PROJECT_REF_SIZE;
+    }
+
+    private static int refHash( final ProjectRef ref )
+    {
+        int result = ref.getClass()
+                        .hashCode();
+        result = 31 * result + ref.getGroupId()
+                                  .hashCode();
+        result = 31 * result + ref.getArtifactId()
+                                  .hashCode();
+        if ( ref instanceof ProjectVersionRef )
+        {
+            result = 31 * result + Objects.hashCode( ( (ProjectVersionRef) ref ).getVersionString() );
+        }
+
+        final TypeAndClassifier tc = typeAndClassifier( ref );
+        if ( tc != null )
+        {
+            result = 31 * result + Objects.hashCode( tc.getType() );
+            result = 31 * result + Objects.hashCode( tc.getClassifier() );
+        }
+
+        return result;
+    }
+
+    private static boolean sameRef( final ProjectRef first, final ProjectRef second )
+    {
+        if ( first.getClass() != second.getClass() || !first.getGroupId()
+                                                             .equals( second.getGroupId() )
+            || !first.getArtifactId()
+                     .equals( second.getArtifactId() ) )
+        {
+            return false;
+        }
+
+        if ( first instanceof ProjectVersionRef
+            && !Objects.equals( ( (ProjectVersionRef) first ).getVersionString(),
+                                ( (ProjectVersionRef) second ).getVersionString() ) )
+        {
+            return false;
+        }
+
+        final TypeAndClassifier ftc = typeAndClassifier( first );
+        final TypeAndClassifier stc = typeAndClassifier( second );
+        return ftc == null || ( Objects.equals( ftc.getType(), stc.getType() )
+            && Objects.equals( ftc.getClassifier(), stc.getClassifier() ) );
+    }
+
+    private static TypeAndClassifier typeAndClassifier( final ProjectRef ref )
+    {
+        if ( ref instanceof ArtifactRef )
+        {
+            return ( (ArtifactRef) ref ).getTypeAndClassifier();
+        }
+        else if ( ref instanceof VersionlessArtifactRef )
+        {
+            return ( (VersionlessArtifactRef) ref ).getTypeAndClassifier();
+        }
+
+        return null;
+    }
+
+    /**
+     * Weak-valued concurrent set of canonical instances, with a pluggable notion of equivalence.
+     */
+    private abstract static class WeakPool
+    {
+        private final ConcurrentHashMap<Entry, Entry> entries = new ConcurrentHashMap<Entry, Entry>();
+
+        private final ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+
+        abstract int hash( Object value );
+
+        abstract boolean equivalent( Object first, Object second );
+
+        Object intern( final Object candidate )
+        {
+            purge();
+
+            final Entry entry = new Entry( candidate, this );
+            while ( true )
+            {
+                final Entry existing = entries.putIfAbsent( entry, entry );
+                if ( existing == null )
+                {
+                    return candidate;
+                }
+
+                final Object value = existing.get();
+                if ( value != null )
+                {
+                    return value;
+                }
+
+                // collected between the lookup and now; drop it and try again.
+                entries.remove( existing, existing );
+            }
+        }
+
+        int size()
+        {
+            purge();
+            return entries.size();
+        }
+
+        void clear()
+        {
+            entries.clear();
+        }
+
+        private void purge()
+        {
+            Reference<?> ref;
+            while ( ( ref = queue.poll() ) != null )
+            {
+                entries.remove( ref, ref );
+            }
+        }
+
+        private static final class Entry
+            extends WeakReference<Object>
+        {
+            private final int hash;
+
+            private final WeakPool pool;
+
+            Entry( final Object value, final WeakPool pool )
+            {
+                super( value, pool.queue );
+                this.hash = pool.hash( value );
+                this.pool = pool;
+            }
+
+            @Override
+            public int hashCode()
+            {
+                return hash;
+            }
+
+            @Override
+            public boolean equals( final Object obj )
+            {
+                if ( this == obj )
+                {
+                    return true;
+                }
+                if ( !( obj instanceof Entry ) )
+                {
+                    return false;
+                }
+
+                final Entry other = (Entry) obj;
+                if ( hash != other.hash )
+                {
+                    return false;
+                }
+
+                // cleared entries are only equal to themselves, so they can still be removed.
+                final Object mine = get();
+                final Object theirs = other.get();
+                return mine != null && theirs != null && pool.equivalent( mine, theirs );
+            }
+        }
+    }
+
+}
@@ -128,6 +128,12 @@ public class SimpleArtifactRef
 
         // assume non-optional, because it might not matter if you're parsing a string like this...you'd be more careful if you were reading something
         // that had an optional field, because it's not in the normal GATV[C] spec.
+        final RefPool pool = RefPool.getGlobal();
+        if ( pool != null )
+        {
+            return pool.artifact( g, a, v, t, c );
+        }
+
         return new SimpleArtifactRef( g, a, v, t, c );
     }
 
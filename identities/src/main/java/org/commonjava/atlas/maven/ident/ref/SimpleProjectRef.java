@@ -34,6 +34,9 @@ public class SimpleProjectRef
     // NEVER null
     private final String artifactId;
 
+    // compiled on first use of this ref as a pattern
+    private transient ProjectRefMatcher matcher;
+
     public SimpleProjectRef( final String groupId, final String artifactId )
     {
         if ( isEmpty( groupId ) || isEmpty( artifactId ) )
@@ -61,6 +64,12 @@ public class SimpleProjectRef
                 + "')" );
         }
 
+        final RefPool pool = RefPool.getGlobal();
+        if ( pool != null )
+        {
+            return pool.project( parts[0], parts[1] );
+        }
+
         return new SimpleProjectRef( parts[0], parts[1] );
     }
 
@@ -165,22 +174,14 @@ public class SimpleProjectRef
             return true;
         }
 
-        final String gidPattern = toWildcard( getGroupId() );
-        if ( !ref.getGroupId()
-                 .matches( gidPattern ) )
+        ProjectRefMatcher m = matcher;
+        if ( m == null )
         {
-            return false;
+            m = ProjectRefMatcher.compile( this );
+            matcher = m;
         }
 
-        final String aidPattern = toWildcard( getArtifactId() );
-        return ref.getArtifactId().matches( aidPattern );
-
-    }
-
-    private String toWildcard( final String val )
-    {
-        return val.replaceAll( "\\.", "\\." )
-                  .replaceAll( "\\*", ".*" );
+        return m.matches( ref );
     }
 
 }
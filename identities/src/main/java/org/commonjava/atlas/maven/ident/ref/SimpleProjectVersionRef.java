@@ -43,6 +43,9 @@ public class SimpleProjectVersionRef
 
     private String versionString;
 
+    // lazily computed; group, artifact and version string never change once set.
+    private transient int hash;
+
     public SimpleProjectVersionRef( final ProjectRef ref, final VersionSpec versionSpec )
     {
         this( ref.getGroupId(), ref.getArtifactId(), versionSpec, null );
@@ -96,6 +99,12 @@ public class SimpleProjectVersionRef
                                                + gav + "')" );
         }
 
+        final RefPool pool = RefPool.getGlobal();
+        if ( pool != null )
+        {
+            return pool.projectVersion( parts[0], parts[1], parts[2] );
+        }
+
         return new SimpleProjectVersionRef( parts[0], parts[1], parts[2] );
     }
 
@@ -219,9 +228,15 @@ public class SimpleProjectVersionRef
     @Override
     public int hashCode()
     {
-        final int prime = 31;
-        int result = super.hashCode();
-        result = prime * result + ( ( getVersionString() == null ) ? 0 : getVersionString().hashCode() );
+        int result = hash;
+        if ( result == 0 )
+        {
+            final int prime = 31;
+            result = super.hashCode();
+            result = prime * result + ( ( getVersionString() == null ) ? 0 : getVersionString().hashCode() );
+            hash = result;
+        }
+
         return result;
     }
 
@@ -248,6 +263,14 @@ public class SimpleProjectVersionRef
         }
 
         final ProjectVersionRef other = (ProjectVersionRef) obj;
+
+        // identical version strings are always equal, so avoid parsing either side in the common case.
+        final String versionString = getVersionString();
+        if ( versionString != null && versionString.equals( other.getVersionString() ) )
+        {
+            return true;
+        }
+
         boolean result = true;
         try
         {
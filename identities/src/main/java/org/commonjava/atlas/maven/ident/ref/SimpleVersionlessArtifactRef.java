@@ -110,6 +110,12 @@ public class SimpleVersionlessArtifactRef
 
         // assume non-optional, because it might not matter if you're parsing a string like this...you'd be more careful if you were reading something
         // that had an optional field, because it's not in the normal GATV[C] spec.
+        final RefPool pool = RefPool.getGlobal();
+        if ( pool != null )
+        {
+            return pool.versionlessArtifact( g, a, t, c );
+        }
+
         return new SimpleVersionlessArtifactRef( g, a, t, c );
     }
 
@@ -25,32 +25,9 @@ import org.commonjava.atlas.maven.ident.version.part.SnapshotPart;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class ArtifactPathInfo implements PathInfo
 {
-    private static final String GROUP_REGEX = "(([^/]+/)*[^/]+)"; // group 1~2
-
-    private static final String ARTIFACT_REGEX = "([^/]+)"; // group 3
-
-    private static final String VERSION_RAW_REGEX = "(([^/]+)(-SNAPSHOT)?)"; // group 4~6
-
-    private static final String CLASSIFIER_AND_TYPE = "-?(.+)";
-
-    // regex developed at: http://fiddle.re/tvk5
-    private static final String ARTIFACT_PATH_REGEX =
-            "/?" + GROUP_REGEX + "/" + ARTIFACT_REGEX + "/" + VERSION_RAW_REGEX + "/(\\3-((\\4)|(\\5-"
-                    + SnapshotUtils.RAW_REMOTE_SNAPSHOT_PART_PATTERN + "))" + CLASSIFIER_AND_TYPE + ")";
-
-    private static final int GROUP_ID_GROUP = 1;
-
-    private static final int ARTIFACT_ID_GROUP = 3;
-
-    private static final int FILE_GROUP = 7;
-
-    private static final int VERSION_GROUP = 8;
-
     // Note: this looks a little ugly, but it's also caused by the "classifier with dots" problem in maven artifacts.
     //       So for the file types with more than one extension separated by dots, we should treat them as special types
     //       here and extract them before extract the classifier.
@@ -59,49 +36,158 @@ public class ArtifactPathInfo implements PathInfo
 
     private static final String COMPOUND_EXTENSIONS_PROP = "atlas.compoext.types";
 
-    private static final Set<String> CHECKSUM_TYPES = new HashSet<>( Arrays.asList( ".md5", ".sha1", ".sha128", ".sha256", ".sha384", ".sha512" ) );
+    private static final String[] CHECKSUM_TYPES = { ".md5", ".sha1", ".sha128", ".sha256", ".sha384", ".sha512" };
+
+    private static final String SNAPSHOT_DIR_SUFFIX = "-SNAPSHOT";
 
+    private static volatile String[] compoundExtensionTypes = loadCompoundExtensionTypes();
+
+    /**
+     * Re-read the compound extension types (e.g. tar.gz) from the {@value #COMPOUND_EXTENSIONS_PROP} system property.
+     * The property is read once when this class is loaded; call this after changing it at runtime.
+     */
+    public static void reloadCompoundExtensionTypes()
+    {
+        compoundExtensionTypes = loadCompoundExtensionTypes();
+    }
+
+    private static String[] loadCompoundExtensionTypes()
+    {
+        final String typesFromSys = System.getProperty( COMPOUND_EXTENSIONS_PROP );
+        final Set<String> compoundedExtensions = new HashSet<>( DEFAULT_COMPOUND_EXTENSIONS_TYPES );
+        if ( StringUtils.isNotBlank( typesFromSys ) )
+        {
+            for ( final String type : typesFromSys.split( "," ) )
+            {
+                compoundedExtensions.add( type.trim() );
+            }
+        }
+
+        return compoundedExtensions.toArray( new String[0] );
+    }
+
+    /**
+     * Parse a Maven repository path of the form {groupId path}/{artifactId}/{version dir}/{file}, where the file name
+     * is {artifactId}-{version}[-{classifier}].{type} and the version is either the version directory itself or, for
+     * remote snapshots, the directory's base version followed by -{yyyyMMdd.HHmmss}-{buildNumber}. A trailing
+     * checksum extension (e.g. .sha1) is appended to the type. Returns null if the path does not follow this layout.
+     */
     public static ArtifactPathInfo parse( final String path )
+    {
+        return parse( path, null );
+    }
+
+    /**
+     * Same as {@link #parse(String)}, but reuses the groupId, artifactId and version instances (and the derived
+     * snapshot information) of the previous result when they are unchanged, as they are for consecutive files in the
+     * same version directory.
+     */
+    static ArtifactPathInfo parse( final String path, final ArtifactPathInfo previous )
     {
         if ( path == null || path.isEmpty() )
         {
             return null;
         }
 
-        final Matcher matcher = Pattern.compile( ARTIFACT_PATH_REGEX )
-                                       .matcher( path.replace( '\\', '/' ) );
-        if ( !matcher.matches() )
+        final String p = path.replace( '\\', '/' );
+
+        // Scan right to left: file name, version directory, artifactId directory, then whatever is left is the group.
+        final int fileSlash = p.lastIndexOf( '/' );
+        if ( fileSlash < 1 || fileSlash == p.length() - 1 )
         {
             return null;
         }
 
-        final int groupCount = matcher.groupCount();
-        final String g = matcher.group( GROUP_ID_GROUP )
-                                .replace( '/', '.' );
-        final String a = matcher.group( ARTIFACT_ID_GROUP );
-        final String v = matcher.group( VERSION_GROUP );
-        final String f = matcher.group( FILE_GROUP );
+        final int versionSlash = p.lastIndexOf( '/', fileSlash - 1 );
+        if ( versionSlash < 1 || versionSlash == fileSlash - 1 )
+        {
+            return null;
+        }
 
-        // Validate that the filename follows standard Maven layout: {artifactId}-{version}-...
-        // This prevents mis-parsing paths that match the regex pattern but don't follow Maven conventions
-        String expectedPrefix = a + "-" + v;
-        if ( !f.startsWith( expectedPrefix ) || f.contains( "/" ) )
+        final int artifactSlash = p.lastIndexOf( '/', versionSlash - 1 );
+        if ( artifactSlash < 1 || artifactSlash == versionSlash - 1 )
         {
             return null;
         }
 
-        String c = "";
-        String t = null;
+        final int groupStart = p.charAt( 0 ) == '/' ? 1 : 0;
+        if ( artifactSlash <= groupStart || p.charAt( groupStart ) == '/' || p.charAt( artifactSlash - 1 ) == '/'
+                || p.lastIndexOf( "//", artifactSlash ) >= groupStart )
+        {
+            return null;
+        }
+
+        // The file name must start with "{artifactId}-"
+        final int artifactStart = artifactSlash + 1;
+        final int artifactLen = versionSlash - artifactStart;
+        final int fileStart = fileSlash + 1;
+        final int versionStart = fileStart + artifactLen + 1;
+        if ( versionStart >= p.length() || !p.regionMatches( fileStart, p, artifactStart, artifactLen )
+                || p.charAt( versionStart - 1 ) != '-' )
+        {
+            return null;
+        }
 
-        String left = matcher.group( groupCount );
+        // Then the version: first try the version directory verbatim, then as a remote snapshot of the directory,
+        // then (for a *-SNAPSHOT directory) as a remote snapshot of its base version.
+        final int dirStart = versionSlash + 1;
+        final int dirLen = fileSlash - dirStart;
+        int versionEnd = -1;
+        if ( p.regionMatches( versionStart, p, dirStart, dirLen ) && isClassifierAndType( p, versionStart + dirLen ) )
+        {
+            versionEnd = versionStart + dirLen;
+        }
+
+        if ( versionEnd < 0 )
+        {
+            versionEnd = remoteSnapshotVersionEnd( p, versionStart, dirStart, dirLen );
+        }
+
+        final int snapshotLen = SNAPSHOT_DIR_SUFFIX.length();
+        if ( versionEnd < 0 && dirLen > snapshotLen
+                && p.regionMatches( fileSlash - snapshotLen, SNAPSHOT_DIR_SUFFIX, 0, snapshotLen ) )
+        {
+            versionEnd = remoteSnapshotVersionEnd( p, versionStart, dirStart, dirLen - snapshotLen );
+        }
+
+        if ( versionEnd < 0 )
+        {
+            return null;
+        }
+
+        final String g;
+        final String a;
+        if ( previous != null && isSameGroup( p, groupStart, artifactSlash, previous.groupId )
+                && isSameRegion( p, artifactStart, versionSlash, previous.artifactId ) )
+        {
+            g = previous.groupId;
+            a = previous.artifactId;
+        }
+        else
+        {
+            g = p.substring( groupStart, artifactSlash )
+                 .replace( '/', '.' );
+            a = p.substring( artifactStart, versionSlash );
+        }
+        final boolean sameVersion = previous != null && isSameRegion( p, versionStart, versionEnd, previous.version );
+        final String v = sameVersion ? previous.version : p.substring( versionStart, versionEnd );
+        final String f = p.substring( fileStart );
+
+        // Whatever follows the version (and an optional '-') is [classifier.]type
+        int leftStart = versionEnd;
+        int leftEnd = p.length();
+        if ( p.charAt( leftStart ) == '-' && leftEnd - leftStart > 1 )
+        {
+            leftStart++;
+        }
 
         // If the path is a checksum path, we should abandon the checksum type and analyze its real artifact.
         String checksumType = null;
-        for ( String type : CHECKSUM_TYPES )
+        for ( final String type : CHECKSUM_TYPES )
         {
-            if ( left.endsWith( type ) )
+            if ( endsWith( p, leftStart, leftEnd, type ) )
             {
-                left = left.substring( 0, left.length() - type.length() );
+                leftEnd -= type.length();
                 checksumType = type;
                 break;
             }
@@ -110,18 +196,10 @@ public class ArtifactPathInfo implements PathInfo
         // The classifier can contain dots or hyphens, it is hard to separate it from type. e.g,
         // wildfly8.1.3.jar, project-sources.tar.gz, etc. We don't have a very solid pattern to match the classifier.
         // Here we use the best guess.
-        final String typesFromSys = System.getProperty( COMPOUND_EXTENSIONS_PROP );
-        final Set<String> compoundedExtensions = new HashSet<>( DEFAULT_COMPOUND_EXTENSIONS_TYPES );
-        if ( StringUtils.isNotBlank( typesFromSys ) )
-        {
-            for ( final String type : typesFromSys.split( "," ) )
-            {
-                compoundedExtensions.add( type.trim() );
-            }
-        }
-        for ( String type : compoundedExtensions )
+        String t = null;
+        for ( final String type : compoundExtensionTypes )
         {
-            if ( left.endsWith( type ) )
+            if ( endsWith( p, leftStart, leftEnd, type ) )
             {
                 t = type;
                 break;
@@ -129,25 +207,135 @@ public class ArtifactPathInfo implements PathInfo
         }
         if ( t == null || t.isEmpty() )
         {
-            t = left.substring( left.lastIndexOf( "." ) + 1 ); // Otherwise, use the simple file ext as type
+            // Otherwise, use the simple file ext as type
+            final int dot = p.lastIndexOf( '.', leftEnd - 1 );
+            t = p.substring( dot < leftStart ? leftStart : dot + 1, leftEnd );
         }
 
-
+        String c = "";
         int extLen = t.length() + 1; // plus len of "."
-        int leftLen = left.length();
+        int leftLen = leftEnd - leftStart;
         if ( leftLen > extLen )
         {
-            c = left.substring( 0, leftLen - extLen );
+            c = p.substring( leftStart, leftEnd - extLen );
         }
 
-        if ( checksumType != null && CHECKSUM_TYPES.contains( checksumType ) )
+        if ( checksumType != null )
         {
             t = t + checksumType;
         }
 
+        if ( sameVersion )
+        {
+            return new ArtifactPathInfo( g, a, v, c, t, f, path, previous.isSnapshot, previous.releaseVersion );
+        }
+
         return new ArtifactPathInfo( g, a, v, c, t, f, path );
     }
 
+    private static boolean isSameGroup( final String p, final int start, final int end, final String groupId )
+    {
+        if ( end - start != groupId.length() )
+        {
+            return false;
+        }
+
+        for ( int i = start, j = 0; i < end; i++, j++ )
+        {
+            final char c = p.charAt( i );
+            if ( ( c == '/' ? '.' : c ) != groupId.charAt( j ) )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isSameRegion( final String p, final int start, final int end, final String value )
+    {
+        return end - start == value.length() && p.regionMatches( start, value, 0, value.length() );
+    }
+
+    /**
+     * Match {base}-{yyyyMMdd?HHmmss}-{buildNumber} at {@code start}, where base is the given region of the version
+     * directory. Returns the index just past the build number, or -1 if there is no match that still leaves a
+     * classifier/type after it.
+     */
+    private static int remoteSnapshotVersionEnd( final String p, final int start, final int baseStart,
+                                                 final int baseLen )
+    {
+        if ( !p.regionMatches( start, p, baseStart, baseLen ) )
+        {
+            return -1;
+        }
+
+        int i = start + baseLen;
+        if ( i + 18 > p.length() || p.charAt( i ) != '-' || !isDigits( p, i + 1, 8 )
+                || SnapshotUtils.isLineTerminator( p.charAt( i + 9 ) ) || !isDigits( p, i + 10, 6 )
+                || p.charAt( i + 16 ) != '-' )
+        {
+            return -1;
+        }
+
+        final int buildStart = i + 17;
+        int buildEnd = buildStart;
+        while ( buildEnd < p.length() && SnapshotUtils.isDigit( p.charAt( buildEnd ) ) )
+        {
+            buildEnd++;
+        }
+
+        if ( buildEnd == buildStart )
+        {
+            return -1;
+        }
+
+        // The build number is greedy, but must leave at least one character for the classifier/type.
+        if ( buildEnd == p.length() )
+        {
+            return buildEnd - buildStart > 1 ? buildEnd - 1 : -1;
+        }
+
+        return isClassifierAndType( p, buildEnd ) ? buildEnd : -1;
+    }
+
+    private static boolean isClassifierAndType( final String p, final int start )
+    {
+        if ( start >= p.length() )
+        {
+            return false;
+        }
+
+        for ( int i = start; i < p.length(); i++ )
+        {
+            if ( SnapshotUtils.isLineTerminator( p.charAt( i ) ) )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean endsWith( final String p, final int start, final int end, final String suffix )
+    {
+        final int len = suffix.length();
+        return end - start >= len && p.regionMatches( end - len, suffix, 0, len );
+    }
+
+    private static boolean isDigits( final String p, final int start, final int count )
+    {
+        for ( int i = start; i < start + count; i++ )
+        {
+            if ( !SnapshotUtils.isDigit( p.charAt( i ) ) )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     private final String groupId;
 
     private final String artifactId;
@@ -186,6 +374,21 @@ public class ArtifactPathInfo implements PathInfo
         this.releaseVersion = calcReleaseVersion( version );
     }
 
+    private ArtifactPathInfo( final String groupId, final String artifactId, final String version,
+                              final String classifier, final String type, final String file, final String fullPath,
+                              final boolean isSnapshot, final String releaseVersion )
+    {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.classifier = classifier;
+        this.type = type;
+        this.file = file;
+        this.fullPath = fullPath;
+        this.isSnapshot = isSnapshot;
+        this.releaseVersion = releaseVersion;
+    }
+
     private String calcReleaseVersion( String version )
     {
         int index = version.indexOf( "-" );
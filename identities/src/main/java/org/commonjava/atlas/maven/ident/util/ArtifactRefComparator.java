@@ -19,6 +19,9 @@ import java.util.Comparator;
 
 import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
 
+/**
+ * To sort large lists, {@link RefSorter} gives the same order while comparing each distinct value only once.
+ */
 public class ArtifactRefComparator
     implements Comparator<ArtifactRef>
 {
@@ -18,6 +18,7 @@ package org.commonjava.atlas.maven.ident.util;
 import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
 import org.commonjava.atlas.maven.ident.ref.ProjectRef;
 import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.RefPool;
 import org.commonjava.atlas.maven.ident.ref.SimpleArtifactRef;
 import org.commonjava.atlas.maven.ident.ref.SimpleProjectRef;
 import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
@@ -33,7 +34,7 @@ public final class IdentityUtils
     public static ArtifactRef artifact( final String groupId, final String artifactId, final String version )
         throws InvalidVersionSpecificationException
     {
-        return new SimpleArtifactRef( projectVersion( groupId, artifactId, version ), null, null );
+        return artifact( groupId, artifactId, version, null, null );
     }
 
     public static ArtifactRef artifact( final ProjectVersionRef ref )
@@ -46,6 +47,12 @@ public final class IdentityUtils
                                         final String type, final String classifier )
         throws InvalidVersionSpecificationException
     {
+        final RefPool pool = RefPool.getGlobal();
+        if ( pool != null )
+        {
+            return pool.artifact( groupId, artifactId, version, type, classifier );
+        }
+
         return new SimpleArtifactRef( projectVersion( groupId, artifactId, version ), type, classifier );
     }
 
@@ -65,7 +72,7 @@ public final class IdentityUtils
 
         try
         {
-            return new SimpleProjectVersionRef( parts[0], parts[1], parts[2] );
+            return projectVersion( parts[0], parts[1], parts[2] );
         }
         catch ( final InvalidVersionSpecificationException e )
         {
@@ -77,6 +84,12 @@ public final class IdentityUtils
     public static ProjectVersionRef projectVersion( final String groupId, final String artifactId, final String version )
         throws InvalidVersionSpecificationException
     {
+        final RefPool pool = RefPool.getGlobal();
+        if ( pool != null )
+        {
+            return pool.projectVersion( groupId, artifactId, version );
+        }
+
         return new SimpleProjectVersionRef( groupId, artifactId, version );
     }
 
@@ -89,12 +102,18 @@ public final class IdentityUtils
                 + "'. Must contain at least two fields separated by ':'" );
         }
 
-        return new SimpleProjectRef( parts[0], parts[1] );
+        return project( parts[0], parts[1] );
     }
 
     public static ProjectRef project( final String groupId, final String artifactId )
         throws InvalidVersionSpecificationException
     {
+        final RefPool pool = RefPool.getGlobal();
+        if ( pool != null )
+        {
+            return pool.project( groupId, artifactId );
+        }
+
         return new SimpleProjectRef( groupId, artifactId );
     }
 
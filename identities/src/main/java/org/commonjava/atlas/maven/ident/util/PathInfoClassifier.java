@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Classifies whole repository listings (directory listings, storage inventories, newline-delimited path files) into
+ * {@link PathInfo} records. Each path is first tried as a Maven artifact path ({@link ArtifactPathInfo}), then with
+ * each of the additional parsers in order, e.g. <code>new PathInfoClassifier( NpmPackagePathInfo::parse )</code>.
+ * Paths that no parser recognizes are dropped from the output; exceptions thrown by a parser are propagated.
+ * <p>
+ * Listings are usually grouped by directory, so consecutive Maven paths share their groupId, artifactId and version
+ * instances (and the version's snapshot information) instead of parsing them again. When the returned stream runs in
+ * parallel, this sharing happens per worker thread, i.e. within each chunk of the listing.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class PathInfoClassifier
+{
+    private final List<Function<String, ? extends PathInfo>> parsers;
+
+    @SafeVarargs
+    public PathInfoClassifier( final Function<String, ? extends PathInfo>... additionalParsers )
+    {
+        final List<Function<String, ? extends PathInfo>> parsers = new ArrayList<>( additionalParsers.length );
+        for ( final Function<String, ? extends PathInfo> parser : additionalParsers )
+        {
+            parsers.add( parser );
+        }
+        this.parsers = Collections.unmodifiableList( parsers );
+    }
+
+    public PathInfoClassifier( final List<Function<String, ? extends PathInfo>> additionalParsers )
+    {
+        this.parsers = Collections.unmodifiableList( new ArrayList<>( additionalParsers ) );
+    }
+
+    /**
+     * @return the parsed path, or null if no parser recognizes it.
+     */
+    public PathInfo classify( final String path )
+    {
+        return new Session().classify( path );
+    }
+
+    /**
+     * Classify each path in the given stream. The result is parallel if the input is.
+     */
+    public Stream<PathInfo> classify( final Stream<String> paths )
+    {
+        final ThreadLocal<Session> sessions = ThreadLocal.withInitial( Session::new );
+        return paths.map( path -> sessions.get().classify( path ) )
+                    .filter( Objects::nonNull );
+    }
+
+    public Stream<PathInfo> classify( final Iterable<String> paths, final boolean parallel )
+    {
+        return classify( StreamSupport.stream( paths.spliterator(), parallel ) );
+    }
+
+    /**
+     * Classify each line of the given newline-delimited, UTF-8 encoded file. Close the returned stream to close the
+     * file.
+     */
+    public Stream<PathInfo> classify( final Path listing, final boolean parallel )
+            throws IOException
+    {
+        final Stream<String> lines = Files.lines( listing, StandardCharsets.UTF_8 );
+        return classify( parallel ? lines.parallel() : lines );
+    }
+
+    /**
+     * Classify each line read from the given newline-delimited, UTF-8 encoded channel. Close the returned stream to
+     * close the channel.
+     */
+    public Stream<PathInfo> classify( final ReadableByteChannel listing, final boolean parallel )
+    {
+        final BufferedReader reader =
+                new BufferedReader( Channels.newReader( listing, StandardCharsets.UTF_8.newDecoder(), -1 ) );
+        final Stream<String> lines = reader.lines()
+                                           .onClose( () -> {
+                                               try
+                                               {
+                                                   reader.close();
+                                               }
+                                               catch ( final IOException e )
+                                               {
+                                                   throw new UncheckedIOException( e );
+                                               }
+                                           } );
+
+        return classify( parallel ? lines.parallel() : lines );
+    }
+
+    /**
+     * Classification state for a run of consecutive paths on one thread.
+     */
+    private final class Session
+    {
+        private ArtifactPathInfo lastArtifact;
+
+        PathInfo classify( final String path )
+        {
+            if ( path == null || path.isEmpty() )
+            {
+                return null;
+            }
+
+            final ArtifactPathInfo artifact = ArtifactPathInfo.parse( path, lastArtifact );
+            if ( artifact != null )
+            {
+                lastArtifact = artifact;
+                return artifact;
+            }
+
+            for ( final Function<String, ? extends PathInfo> parser : parsers )
+            {
+                final PathInfo info = parser.apply( path );
+                if ( info != null )
+                {
+                    return info;
+                }
+            }
+
+            return null;
+        }
+    }
+}
@@ -20,6 +20,9 @@ import java.util.Comparator;
 import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
 import org.commonjava.atlas.maven.ident.version.VersionSpec;
 
+/**
+ * To sort large lists, {@link RefSorter} gives the same order while comparing each distinct value only once.
+ */
 public class ProjectVersionRefComparator
     implements Comparator<ProjectVersionRef>
 {
@@ -0,0 +1,275 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+
+/**
+ * Sorts large lists of refs into the order of {@link ProjectVersionRefComparator} or {@link ArtifactRefComparator},
+ * comparing each distinct groupId:artifactId:version, classifier and type only once instead of on every comparison.
+ * <p>
+ * Each of these gets an ordinal by sorting the distinct values, and the ordinals of every element are packed with its
+ * position into a long, so that the list itself is sorted as a long[] (in parallel from {@link #PARALLEL_THRESHOLD}
+ * elements). Like {@link List#sort(Comparator)}, the sort is stable. If the ordinals and positions don't fit into a
+ * long, the list is sorted with the comparator instead.
+ */
+public final class RefSorter
+{
+    public static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private static final int KEY_BITS = 63;
+
+    private static final ProjectVersionRefComparator PROJECT_VERSION_COMPARATOR = new ProjectVersionRefComparator();
+
+    private static final ArtifactRefComparator ARTIFACT_COMPARATOR = new ArtifactRefComparator();
+
+    // as in ArtifactRefComparator, a missing classifier sorts last
+    private static final Comparator<String> CLASSIFIER_COMPARATOR =
+            Comparator.nullsLast( Comparator.<String>naturalOrder() );
+
+    private RefSorter()
+    {
+    }
+
+    /**
+     * Sort the list as {@link ProjectVersionRefComparator} would.
+     */
+    public static <T extends ProjectVersionRef> void sortProjectVersionRefs( final List<T> refs )
+    {
+        sort( refs, PROJECT_VERSION_COMPARATOR, false );
+    }
+
+    /**
+     * Sort the list as {@link ArtifactRefComparator} would.
+     */
+    public static <T extends ArtifactRef> void sortArtifactRefs( final List<T> refs )
+    {
+        sort( refs, ARTIFACT_COMPARATOR, true );
+    }
+
+    private static <T extends ProjectVersionRef> void sort( final List<T> refs, final Comparator<? super T> comparator,
+                                                            final boolean artifacts )
+    {
+        final int size = refs.size();
+        if ( size < 2 )
+        {
+            return;
+        }
+
+        final Object[] elements = refs.toArray();
+
+        // refs with the same coordinates compare equal, so only one of each needs comparing
+        final Map<Coordinates, Integer> coordinateSlots = new HashMap<>();
+        final List<ProjectVersionRef> coordinates = new ArrayList<>();
+        final int[] coordinateOf = new int[size];
+        for ( int i = 0; i < size; i++ )
+        {
+            final ProjectVersionRef ref = (ProjectVersionRef) elements[i];
+            final Coordinates key = new Coordinates( ref );
+            Integer slot = coordinateSlots.get( key );
+            if ( slot == null )
+            {
+                slot = coordinates.size();
+                coordinateSlots.put( key, slot );
+                coordinates.add( ref );
+            }
+            coordinateOf[i] = slot;
+        }
+
+        final int[] coordinateOrdinals = ordinals( coordinates, PROJECT_VERSION_COMPARATOR );
+        final int coordinateBits = bitsFor( max( coordinateOrdinals ) + 1 );
+
+        int[] classifierOf = null;
+        int[] classifierOrdinals = null;
+        int classifierBits = 0;
+        int[] typeOf = null;
+        int[] typeOrdinals = null;
+        int typeBits = 0;
+        if ( artifacts )
+        {
+            final Map<String, Integer> classifierSlots = new HashMap<>();
+            final List<String> classifiers = new ArrayList<>();
+            classifierOf = new int[size];
+
+            final Map<String, Integer> typeSlots = new HashMap<>();
+            final List<String> types = new ArrayList<>();
+            typeOf = new int[size];
+
+            for ( int i = 0; i < size; i++ )
+            {
+                final ArtifactRef ref = (ArtifactRef) elements[i];
+                classifierOf[i] = slot( ref.getClassifier(), classifierSlots, classifiers );
+                typeOf[i] = slot( ref.getType(), typeSlots, types );
+            }
+
+            classifierOrdinals = ordinals( classifiers, CLASSIFIER_COMPARATOR );
+            classifierBits = bitsFor( max( classifierOrdinals ) + 1 );
+            typeOrdinals = ordinals( types, Comparator.<String>naturalOrder() );
+            typeBits = bitsFor( max( typeOrdinals ) + 1 );
+        }
+
+        final int indexBits = bitsFor( size );
+        if ( coordinateBits + classifierBits + typeBits + indexBits > KEY_BITS )
+        {
+            refs.sort( comparator );
+            return;
+        }
+
+        final long[] keys = new long[size];
+        for ( int i = 0; i < size; i++ )
+        {
+            long key = coordinateOrdinals[coordinateOf[i]];
+            if ( artifacts )
+            {
+                key = ( key << classifierBits ) | classifierOrdinals[classifierOf[i]];
+                key = ( key << typeBits ) | typeOrdinals[typeOf[i]];
+            }
+
+            // the position breaks ties, which keeps the sort stable
+            keys[i] = ( key << indexBits ) | i;
+        }
+
+        if ( size >= PARALLEL_THRESHOLD )
+        {
+            Arrays.parallelSort( keys );
+        }
+        else
+        {
+            Arrays.sort( keys );
+        }
+
+        final long indexMask = ( 1L << indexBits ) - 1;
+        final ListIterator<T> it = refs.listIterator();
+        for ( final long key : keys )
+        {
+            it.next();
+            @SuppressWarnings( "unchecked" )
+            final T element = (T) elements[(int) ( key & indexMask )];
+            it.set( element );
+        }
+    }
+
+    private static int slot( final String value, final Map<String, Integer> slots, final List<String> values )
+    {
+        Integer slot = slots.get( value );
+        if ( slot == null )
+        {
+            slot = values.size();
+            slots.put( value, slot );
+            values.add( value );
+        }
+
+        return slot;
+    }
+
+    /**
+     * @return for each value, its rank in sorted order, where values that compare equal share a rank.
+     */
+    private static <V> int[] ordinals( final List<V> values, final Comparator<? super V> comparator )
+    {
+        final List<Integer> order = new ArrayList<>( values.size() );
+        for ( int i = 0; i < values.size(); i++ )
+        {
+            order.add( i );
+        }
+
+        Collections.sort( order, ( f, s ) -> comparator.compare( values.get( f ), values.get( s ) ) );
+
+        final int[] ordinals = new int[values.size()];
+        int ordinal = 0;
+        for ( int i = 1; i < order.size(); i++ )
+        {
+            if ( comparator.compare( values.get( order.get( i - 1 ) ), values.get( order.get( i ) ) ) != 0 )
+            {
+                ordinal++;
+            }
+            ordinals[order.get( i )] = ordinal;
+        }
+
+        return ordinals;
+    }
+
+    private static int max( final int[] values )
+    {
+        int max = 0;
+        for ( final int value : values )
+        {
+            max = Math.max( max, value );
+        }
+
+        return max;
+    }
+
+    /**
+     * @return the bits needed to hold the numbers 0 to count - 1.
+     */
+    private static int bitsFor( final int count )
+    {
+        return count <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros( count - 1 );
+    }
+
+    private static final class Coordinates
+    {
+        private final String groupId;
+
+        private final String artifactId;
+
+        private final String version;
+
+        private final int hashCode;
+
+        private Coordinates( final ProjectVersionRef ref )
+        {
+            this.groupId = ref.getGroupId();
+            this.artifactId = ref.getArtifactId();
+            this.version = ref.getVersionString();
+            this.hashCode = ( groupId.hashCode() * 31 + artifactId.hashCode() ) * 31 + version.hashCode();
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals( final Object obj )
+        {
+            if ( this == obj )
+            {
+                return true;
+            }
+            if ( !( obj instanceof Coordinates ) )
+            {
+                return false;
+            }
+
+            final Coordinates other = (Coordinates) obj;
+            return groupId.equals( other.groupId ) && artifactId.equals( other.artifactId )
+                    && version.equals( other.version );
+        }
+    }
+}
@@ -18,11 +18,11 @@ package org.commonjava.atlas.maven.ident.util;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.commonjava.atlas.maven.ident.version.part.SnapshotPart;
 
@@ -39,6 +39,14 @@ public class SnapshotUtils
 
     public static final String LOCAL_SNAPSHOT_VERSION_PART = "-SNAPSHOT";
 
+    static final int SNAPSHOT_TSTAMP_LENGTH = SNAPSHOT_TSTAMP_FORMAT.length();
+
+    // Timestamps outside of this range (and malformed or out-of-range fields) are left to SimpleDateFormat, which
+    // handles them leniently and with the Julian calendar before 1582.
+    private static final int MIN_FAST_YEAR = 1900;
+
+    private static final int MAX_FAST_YEAR = 9999;
+
     public static String generateSnapshotSuffix( final Date d, final int buildNumber )
     {
         return generateSnapshotTimestamp( d ) + "-" + buildNumber;
@@ -46,7 +54,8 @@ public class SnapshotUtils
 
     public static String generateSnapshotTimestamp( final Date d )
     {
-        return getFormat().format( d );
+        final String tstamp = formatTimestamp( d, true );
+        return tstamp == null ? getFormat().format( d ) : tstamp;
     }
 
     public static Date getCurrentTimestamp()
@@ -63,28 +72,27 @@ public class SnapshotUtils
 
     public static boolean isRemoteSnapshotVersion( final String literal )
     {
-        return literal.matches( REMOTE_SNAPSHOT_PART_PATTERN );
+        return remoteSnapshotTimestampStart( literal ) >= 0;
     }
 
     public static boolean isRemoteSnapshotVersionPart( final String literal )
     {
-        return literal.matches( REMOTE_SNAPSHOT_PART_PATTERN );
+        return remoteSnapshotTimestampStart( literal ) >= 0;
     }
 
     public static SnapshotPart parseRemoteSnapshotVersionPart( final String literal )
     {
-        final Pattern pattern = Pattern.compile( REMOTE_SNAPSHOT_PART_PATTERN );
-        final Matcher matcher = pattern.matcher( literal );
-        if ( matcher.matches() )
+        final int tstampStart = remoteSnapshotTimestampStart( literal );
+        if ( tstampStart >= 0 )
         {
-            final String tstamp = matcher.group( 3 );
-            final String bn = matcher.group( 4 );
-            if ( tstamp != null || bn != null )
+            final int tstampEnd = tstampStart + SNAPSHOT_TSTAMP_LENGTH;
+            long millis = parseTimestampMillis( literal, tstampStart, tstampEnd, true );
+            if ( millis == Long.MIN_VALUE )
             {
-                Date d;
                 try
                 {
-                    d = parseSnapshotTimestamp( tstamp );
+                    millis = getFormat().parse( literal.substring( tstampStart, tstampEnd ) )
+                                        .getTime();
                 }
                 catch ( final ParseException e )
                 {
@@ -92,10 +100,10 @@ public class SnapshotUtils
                         + "' is not a remote snapshot version-part (of the format: " + SNAPSHOT_TSTAMP_FORMAT
                         + "-NN (invalid timestamp)", e );
                 }
-                final int build = Integer.parseInt( bn );
-
-                return new SnapshotPart( d, build, literal );
             }
+            final int build = Integer.parseInt( literal.substring( tstampEnd + 1 ) );
+
+            return new SnapshotPart( Math.floorDiv( millis, 1000 ), build, literal );
         }
 
         throw new IllegalArgumentException( "'" + literal + "' is not a remote snapshot version-part (of the format: "
@@ -105,7 +113,8 @@ public class SnapshotUtils
     public static Date parseSnapshotTimestamp( final String tstamp )
         throws ParseException
     {
-        return getFormat().parse( tstamp );
+        final long millis = parseTimestampMillis( tstamp, 0, tstamp.length(), true );
+        return millis == Long.MIN_VALUE ? getFormat().parse( tstamp ) : new Date( millis );
     }
 
     private static DateFormat getFormat()
@@ -133,13 +142,185 @@ public class SnapshotUtils
 
     public static String generateUpdateTimestamp( final Date d )
     {
-        return new SimpleDateFormat( LAST_UPDATED_FORMAT ).format( d );
+        final String tstamp = formatTimestamp( d, false );
+        return tstamp == null ? new SimpleDateFormat( LAST_UPDATED_FORMAT ).format( d ) : tstamp;
     }
 
     public static Date parseUpdateTimestamp( final String tstamp )
         throws ParseException
     {
-        return new SimpleDateFormat( LAST_UPDATED_FORMAT ).parse( tstamp );
+        final long millis = parseTimestampMillis( tstamp, 0, tstamp.length(), false );
+        return millis == Long.MIN_VALUE ? new SimpleDateFormat( LAST_UPDATED_FORMAT ).parse( tstamp )
+                        : new Date( millis );
+    }
+
+    /**
+     * Find the timestamp of a remote snapshot version (or version-part) matching {@link #REMOTE_SNAPSHOT_PART_PATTERN},
+     * i.e. [{base}-]{yyyyMMdd.HHmmss}-{buildNumber}. The build number starts {@link #SNAPSHOT_TSTAMP_LENGTH} + 1
+     * characters after the returned index and runs to the end of the literal.
+     *
+     * @return the index of the timestamp, or -1 if the literal is not a remote snapshot version.
+     */
+    static int remoteSnapshotTimestampStart( final String literal )
+    {
+        final int len = literal.length();
+        int buildStart = len;
+        while ( buildStart > 0 && isDigit( literal.charAt( buildStart - 1 ) ) )
+        {
+            buildStart--;
+        }
+
+        final int tstampStart = buildStart - 1 - SNAPSHOT_TSTAMP_LENGTH;
+        if ( buildStart == len || tstampStart < 0 || literal.charAt( buildStart - 1 ) != '-'
+                || !isDigits( literal, tstampStart, tstampStart + 8 )
+                || isLineTerminator( literal.charAt( tstampStart + 8 ) )
+                || !isDigits( literal, tstampStart + 9, tstampStart + SNAPSHOT_TSTAMP_LENGTH ) )
+        {
+            return -1;
+        }
+
+        if ( tstampStart == 0 )
+        {
+            return 0;
+        }
+
+        // otherwise there must be a non-empty base version, followed by '-'
+        if ( tstampStart < 2 || literal.charAt( tstampStart - 1 ) != '-' )
+        {
+            return -1;
+        }
+
+        for ( int i = 0; i < tstampStart - 1; i++ )
+        {
+            if ( isLineTerminator( literal.charAt( i ) ) )
+            {
+                return -1;
+            }
+        }
+
+        return tstampStart;
+    }
+
+    /**
+     * Parse a yyyyMMdd[.]HHmmss timestamp occupying exactly [start, end) in the default time zone, the same way the
+     * SimpleDateFormat equivalent would.
+     *
+     * @return epoch milliseconds, or Long.MIN_VALUE if the timestamp has to go through SimpleDateFormat instead.
+     */
+    static long parseTimestampMillis( final String tstamp, final int start, final int end, final boolean dotted )
+    {
+        final int timeStart = start + ( dotted ? 9 : 8 );
+        if ( end - start != ( dotted ? 15 : 14 ) || !isDigits( tstamp, start, start + 8 )
+                || ( dotted && tstamp.charAt( start + 8 ) != '.' ) || !isDigits( tstamp, timeStart, end ) )
+        {
+            return Long.MIN_VALUE;
+        }
+
+        final int year = number( tstamp, start, 4 );
+        final int month = number( tstamp, start + 4, 2 );
+        final int day = number( tstamp, start + 6, 2 );
+        final int hour = number( tstamp, timeStart, 2 );
+        final int minute = number( tstamp, timeStart + 2, 2 );
+        final int second = number( tstamp, timeStart + 4, 2 );
+        if ( year < MIN_FAST_YEAR || year > MAX_FAST_YEAR || month < 1 || month > 12 || day < 1
+                || day > lengthOfMonth( year, month ) || hour > 23 || minute > 59 || second > 59 )
+        {
+            return Long.MIN_VALUE;
+        }
+
+        // java.util.Calendar resolves a wall time that occurs twice (when clocks go back) to the later instant
+        return LocalDateTime.of( year, month, day, hour, minute, second )
+                            .atZone( ZoneId.systemDefault() )
+                            .withLaterOffsetAtOverlap()
+                            .toEpochSecond() * 1000;
+    }
+
+    private static String formatTimestamp( final Date d, final boolean dotted )
+    {
+        final LocalDateTime t = LocalDateTime.ofInstant( d.toInstant(), ZoneId.systemDefault() );
+        if ( t.getYear() < MIN_FAST_YEAR || t.getYear() > MAX_FAST_YEAR )
+        {
+            return null;
+        }
+
+        final char[] buf = new char[dotted ? 15 : 14];
+        int i = digits( buf, 0, t.getYear(), 4 );
+        i = digits( buf, i, t.getMonthValue(), 2 );
+        i = digits( buf, i, t.getDayOfMonth(), 2 );
+        if ( dotted )
+        {
+            buf[i++] = '.';
+        }
+        i = digits( buf, i, t.getHour(), 2 );
+        i = digits( buf, i, t.getMinute(), 2 );
+        digits( buf, i, t.getSecond(), 2 );
+
+        return new String( buf );
+    }
+
+    private static int digits( final char[] buf, final int pos, final int value, final int width )
+    {
+        int v = value;
+        for ( int i = pos + width - 1; i >= pos; i-- )
+        {
+            buf[i] = (char) ( '0' + v % 10 );
+            v /= 10;
+        }
+
+        return pos + width;
+    }
+
+    private static int number( final String s, final int start, final int width )
+    {
+        int value = 0;
+        for ( int i = start; i < start + width; i++ )
+        {
+            value = value * 10 + ( s.charAt( i ) - '0' );
+        }
+
+        return value;
+    }
+
+    private static int lengthOfMonth( final int year, final int month )
+    {
+        switch ( month )
+        {
+            case 2:
+                return ( year % 4 == 0 && ( year % 100 != 0 || year % 400 == 0 ) ) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static boolean isDigits( final String s, final int start, final int end )
+    {
+        for ( int i = start; i < end; i++ )
+        {
+            if ( !isDigit( s.charAt( i ) ) )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    static boolean isDigit( final char c )
+    {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * @return true for the characters that '.' does not match in a {@link java.util.regex.Pattern}.
+     */
+    static boolean isLineTerminator( final char c )
+    {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
 
 }
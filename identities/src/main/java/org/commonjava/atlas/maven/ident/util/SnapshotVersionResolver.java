@@ -0,0 +1,259 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.util;
+
+import static org.commonjava.atlas.maven.ident.util.SnapshotUtils.LOCAL_SNAPSHOT_VERSION_PART;
+import static org.commonjava.atlas.maven.ident.util.SnapshotUtils.SNAPSHOT_TSTAMP_LENGTH;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks timestamped snapshot builds (e.g. 1.2-20240101.120000-37) for their base version (1.2-SNAPSHOT), without
+ * parsing them into {@link org.commonjava.atlas.maven.ident.version.SingleVersion}s or sorting them. Builds are
+ * ordered by timestamp, then by build number, as {@link org.commonjava.atlas.maven.ident.version.part.SnapshotPart}
+ * orders them; timestamps are compared as written, so no time zone is involved.
+ * <p>
+ * The static methods select from a set of versions in a single pass. An instance keeps the latest build for each
+ * base version seen so far, updating it as versions are {@link #add(String) added}; it can be shared between threads.
+ * Versions that are not remote snapshots are ignored throughout.
+ */
+public final class SnapshotVersionResolver
+{
+    private static final long ANY = -1;
+
+    // Build numbers with more digits than this could overflow, and are ignored.
+    private static final int MAX_BUILD_DIGITS = 18;
+
+    private final Map<String, Candidate> latest = new ConcurrentHashMap<>();
+
+    /**
+     * Record a version.
+     *
+     * @return true if it is a remote snapshot that is now the latest build of its base version.
+     */
+    public boolean add( final String version )
+    {
+        final int tstampStart = SnapshotUtils.remoteSnapshotTimestampStart( version );
+        final long buildNumber = tstampStart < 0 ? ANY : buildNumber( version, tstampStart );
+        if ( buildNumber == ANY || tstampStart == 0 )
+        {
+            return false;
+        }
+
+        final Candidate candidate =
+                new Candidate( version, timestampKey( version, tstampStart ), buildNumber );
+
+        return latest.merge( version.substring( 0, tstampStart - 1 ), candidate,
+                             ( current, added ) -> added.isNewerThan( current ) ? added : current ) == candidate;
+    }
+
+    public void addAll( final Iterable<String> versions )
+    {
+        for ( final String version : versions )
+        {
+            add( version );
+        }
+    }
+
+    /**
+     * @param baseVersion e.g. 1.2-SNAPSHOT (or just 1.2)
+     * @return the latest build added for the base version, or null if there is none.
+     */
+    public String getLatest( final String baseVersion )
+    {
+        final Candidate candidate = latest.get( stripSnapshot( baseVersion ) );
+        return candidate == null ? null : candidate.version;
+    }
+
+    /**
+     * @return the latest build added for each base version, keyed by the base version's -SNAPSHOT form.
+     */
+    public Map<String, String> getLatestVersions()
+    {
+        final Map<String, String> result = new HashMap<>();
+        latest.forEach( ( base, candidate ) -> result.put( base + LOCAL_SNAPSHOT_VERSION_PART, candidate.version ) );
+        return result;
+    }
+
+    public void clear()
+    {
+        latest.clear();
+    }
+
+    /**
+     * @return the latest build of the base version (e.g. 1.2-SNAPSHOT) among the given versions, or null if there is
+     *         none.
+     */
+    public static String findLatest( final String baseVersion, final Iterable<String> versions )
+    {
+        return select( baseVersion, versions, ANY, ANY );
+    }
+
+    /**
+     * @param timestamp in {@link SnapshotUtils#SNAPSHOT_TSTAMP_FORMAT}, as found in maven-metadata.xml
+     * @return the build of the base version with the given timestamp (the highest build number, if there are several),
+     *         or null if there is none.
+     */
+    public static String findByTimestamp( final String baseVersion, final String timestamp,
+                                          final Iterable<String> versions )
+    {
+        if ( timestamp.length() != SNAPSHOT_TSTAMP_LENGTH || !isDigits( timestamp, 0, 8 )
+                || !isDigits( timestamp, 9, SNAPSHOT_TSTAMP_LENGTH ) )
+        {
+            throw new IllegalArgumentException(
+                    "'" + timestamp + "' is not a snapshot timestamp (of the format: "
+                            + SnapshotUtils.SNAPSHOT_TSTAMP_FORMAT + ")" );
+        }
+
+        return select( baseVersion, versions, timestampKey( timestamp, 0 ), ANY );
+    }
+
+    /**
+     * @return the build of the base version with the given build number (the latest, if there are several), or null
+     *         if there is none.
+     */
+    public static String findByBuildNumber( final String baseVersion, final int buildNumber,
+                                            final Iterable<String> versions )
+    {
+        if ( buildNumber < 0 )
+        {
+            throw new IllegalArgumentException( "Build number must not be negative. (Given: " + buildNumber + ")" );
+        }
+
+        return select( baseVersion, versions, ANY, buildNumber );
+    }
+
+    private static String select( final String baseVersion, final Iterable<String> versions, final long timestamp,
+                                  final long build )
+    {
+        final String base = stripSnapshot( baseVersion );
+        if ( base.isEmpty() )
+        {
+            return null;
+        }
+
+        String best = null;
+        long bestTimestamp = ANY;
+        long bestBuild = ANY;
+        for ( final String version : versions )
+        {
+            if ( version == null || version.length() <= base.length() + 1 + SNAPSHOT_TSTAMP_LENGTH
+                    || version.charAt( base.length() ) != '-' || !version.startsWith( base ) )
+            {
+                continue;
+            }
+
+            final int tstampStart = SnapshotUtils.remoteSnapshotTimestampStart( version );
+            if ( tstampStart != base.length() + 1 )
+            {
+                continue;
+            }
+
+            final long t = timestampKey( version, tstampStart );
+            final long b = buildNumber( version, tstampStart );
+            if ( b == ANY || ( timestamp != ANY && t != timestamp ) || ( build != ANY && b != build ) )
+            {
+                continue;
+            }
+
+            if ( t > bestTimestamp || ( t == bestTimestamp && b > bestBuild ) )
+            {
+                best = version;
+                bestTimestamp = t;
+                bestBuild = b;
+            }
+        }
+
+        return best;
+    }
+
+    private static String stripSnapshot( final String baseVersion )
+    {
+        return baseVersion.endsWith( LOCAL_SNAPSHOT_VERSION_PART ) ?
+                baseVersion.substring( 0, baseVersion.length() - LOCAL_SNAPSHOT_VERSION_PART.length() ) :
+                baseVersion;
+    }
+
+    /**
+     * @return the timestamp starting at the given index as the number yyyyMMddHHmmss, which sorts the same way.
+     */
+    private static long timestampKey( final String s, final int start )
+    {
+        long key = 0;
+        for ( int i = start; i < start + SNAPSHOT_TSTAMP_LENGTH; i++ )
+        {
+            if ( i != start + 8 )
+            {
+                key = key * 10 + ( s.charAt( i ) - '0' );
+            }
+        }
+
+        return key;
+    }
+
+    private static long buildNumber( final String version, final int tstampStart )
+    {
+        final int buildStart = tstampStart + SNAPSHOT_TSTAMP_LENGTH + 1;
+        if ( version.length() - buildStart > MAX_BUILD_DIGITS )
+        {
+            return ANY;
+        }
+
+        long build = 0;
+        for ( int i = buildStart; i < version.length(); i++ )
+        {
+            build = build * 10 + ( version.charAt( i ) - '0' );
+        }
+
+        return build;
+    }
+
+    private static boolean isDigits( final String s, final int start, final int end )
+    {
+        for ( int i = start; i < end; i++ )
+        {
+            if ( !SnapshotUtils.isDigit( s.charAt( i ) ) )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static final class Candidate
+    {
+        private final String version;
+
+        private final long timestamp;
+
+        private final long buildNumber;
+
+        private Candidate( final String version, final long timestamp, final long buildNumber )
+        {
+            this.version = version;
+            this.timestamp = timestamp;
+            this.buildNumber = buildNumber;
+        }
+
+        private boolean isNewerThan( final Candidate other )
+        {
+            return timestamp > other.timestamp || ( timestamp == other.timestamp && buildNumber > other.buildNumber );
+        }
+    }
+}
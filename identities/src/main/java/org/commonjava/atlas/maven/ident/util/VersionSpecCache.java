@@ -0,0 +1,204 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.commonjava.atlas.maven.ident.version.VersionSpec;
+
+/**
+ * Bounded, thread-safe cache of parsed {@link VersionSpec} instances, keyed by the raw version string. Used by
+ * {@link VersionUtils} (when enabled) so that repeated version strings are parsed once and share a single instance.
+ * <br/>
+ * Entries are spread across independently-locked segments, each of which evicts its least-recently-used entry once
+ * it grows beyond its share of the maximum size.
+ */
+public final class VersionSpecCache
+{
+
+    private static final int DEFAULT_SEGMENTS = 16;
+
+    private final Segment[] segments;
+
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public VersionSpecCache( final int maxSize )
+    {
+        if ( maxSize < 1 )
+        {
+            throw new IllegalArgumentException( "Version cache size must be positive. (Given: " + maxSize + ")" );
+        }
+
+        this.maxSize = maxSize;
+
+        // the first maxSize % segmentCount segments take one more entry, so the sizes add up to maxSize
+        final int segmentCount = Math.min( DEFAULT_SEGMENTS, maxSize );
+        final int segmentSize = maxSize / segmentCount;
+        final int larger = maxSize % segmentCount;
+
+        segments = new Segment[segmentCount];
+        for ( int i = 0; i < segmentCount; i++ )
+        {
+            segments[i] = new Segment( i < larger ? segmentSize + 1 : segmentSize );
+        }
+    }
+
+    /**
+     * Retrieve the cached spec for the given raw version string, or null if it hasn't been cached (or was evicted).
+     */
+    public VersionSpec get( final String version )
+    {
+        final Segment segment = segmentFor( version );
+        final VersionSpec spec;
+        synchronized ( segment )
+        {
+            spec = segment.get( version );
+        }
+
+        if ( spec == null )
+        {
+            misses.increment();
+        }
+        else
+        {
+            hits.increment();
+        }
+
+        return spec;
+    }
+
+    /**
+     * Cache the given spec for the raw version string. If another thread cached a spec for the same string first, that
+     * instance is kept and returned, so all callers end up sharing it.
+     */
+    public VersionSpec put( final String version, final VersionSpec spec )
+    {
+        final Segment segment = segmentFor( version );
+        synchronized ( segment )
+        {
+            final VersionSpec existing = segment.get( version );
+            if ( existing != null )
+            {
+                return existing;
+            }
+
+            segment.put( version, spec );
+        }
+
+        return spec;
+    }
+
+    public void clear()
+    {
+        for ( final Segment segment : segments )
+        {
+            synchronized ( segment )
+            {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size()
+    {
+        int size = 0;
+        for ( final Segment segment : segments )
+        {
+            synchronized ( segment )
+            {
+                size += segment.size();
+            }
+        }
+
+        return size;
+    }
+
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+    public long getHitCount()
+    {
+        return hits.sum();
+    }
+
+    public long getMissCount()
+    {
+        return misses.sum();
+    }
+
+    public long getEvictionCount()
+    {
+        return evictions.sum();
+    }
+
+    public double getHitRatio()
+    {
+        final long h = hits.sum();
+        final long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format( "VersionSpecCache [size=%s, maxSize=%s, hits=%s, misses=%s, evictions=%s]", size(),
+                              maxSize, getHitCount(), getMissCount(), getEvictionCount() );
+    }
+
+    private Segment segmentFor( final String version )
+    {
+        int h = version.hashCode();
+        h ^= ( h >>> 16 );
+        return segments[( h & 0x7fffffff ) % segments.length];
+    }
+
+    private final class Segment
+        extends LinkedHashMap<String, VersionSpec>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment( final int capacity )
+        {
+            super( 16, 0.75f, true );
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<String, VersionSpec> eldest )
+        {
+            if ( size() > capacity )
+            {
+                evictions.increment();
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+}
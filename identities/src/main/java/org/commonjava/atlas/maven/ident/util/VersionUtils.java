@@ -20,21 +20,125 @@ import org.commonjava.atlas.maven.ident.version.RangeVersionSpec;
 import org.commonjava.atlas.maven.ident.version.SingleVersion;
 import org.commonjava.atlas.maven.ident.version.VersionSpec;
 import org.commonjava.atlas.maven.ident.version.parse.ParseException;
+import org.commonjava.atlas.maven.ident.version.parse.SingleVersionScanner;
 import org.commonjava.atlas.maven.ident.version.parse.TokenMgrError;
 import org.commonjava.atlas.maven.ident.version.parse.VersionParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public final class VersionUtils
 {
 
+    /**
+     * System property used to switch on the parsed-version cache at startup. The value is the maximum number of
+     * cached version strings. See {@link #enableVersionCache(int)}.
+     */
+    public static final String VERSION_CACHE_SIZE_PROP = "atlas.version.cache.size";
+
+    private static volatile VersionSpecCache cache = initCache();
+
     private VersionUtils()
     {
     }
 
+    private static VersionSpecCache initCache()
+    {
+        final String size = System.getProperty( VERSION_CACHE_SIZE_PROP );
+        if ( size == null || size.trim().isEmpty() )
+        {
+            return null;
+        }
+
+        try
+        {
+            final int max = Integer.parseInt( size.trim() );
+            return max > 0 ? new VersionSpecCache( max ) : null;
+        }
+        catch ( final NumberFormatException e )
+        {
+            final Logger logger = LoggerFactory.getLogger( VersionUtils.class );
+            logger.warn( "Ignoring invalid {}: '{}'. The version cache stays disabled.", VERSION_CACHE_SIZE_PROP,
+                         size );
+            return null;
+        }
+    }
+
+    /**
+     * Share parsed {@link VersionSpec} instances between calls that parse the same version string, keeping at most
+     * maxSize of them. Any previously enabled cache (and its statistics) is discarded.
+     */
+    public static VersionSpecCache enableVersionCache( final int maxSize )
+    {
+        final VersionSpecCache c = new VersionSpecCache( maxSize );
+        cache = c;
+        return c;
+    }
+
+    public static void disableVersionCache()
+    {
+        cache = null;
+    }
+
+    /**
+     * @return the active version cache, or null if caching is disabled (the default).
+     */
+    public static VersionSpecCache getVersionCache()
+    {
+        return cache;
+    }
+
     public static VersionSpec createFromSpec( final String version )
         throws InvalidVersionSpecificationException
     {
         checkEmpty( version );
 
+        final VersionSpecCache c = cache;
+        if ( c == null )
+        {
+            return parseSpec( version );
+        }
+
+        final VersionSpec cached = c.get( version );
+        if ( cached != null )
+        {
+            return cached;
+        }
+
+        return c.put( version, parseSpec( version ) );
+    }
+
+    /**
+     * If caching is enabled, look up (or parse and cache) the full spec for this version string, for use by the
+     * single-version and range factory methods. Those can reuse the result whenever it is of the type they would have
+     * produced, since the parser then took the same path. Returns null if caching is disabled or the spec is invalid,
+     * in which case the caller parses directly (and reports its own errors).
+     */
+    private static VersionSpec cachedSpec( final String version )
+    {
+        if ( cache == null )
+        {
+            return null;
+        }
+
+        try
+        {
+            return createFromSpec( version );
+        }
+        catch ( final InvalidVersionSpecificationException e )
+        {
+            return null;
+        }
+    }
+
+    private static VersionSpec parseSpec( final String version )
+        throws InvalidVersionSpecificationException
+    {
+        final SingleVersion single = SingleVersionScanner.parse( version );
+        if ( single != null )
+        {
+            return single;
+        }
+
         try
         {
             final VersionSpec spec = new VersionParser( version ).parse();
@@ -71,6 +175,12 @@ public final class VersionUtils
     {
         checkEmpty( version );
 
+        final VersionSpec cached = cachedSpec( version );
+        if ( cached instanceof RangeVersionSpec )
+        {
+            return (RangeVersionSpec) cached;
+        }
+
         try
         {
             return new VersionParser( version ).range();
@@ -92,6 +202,18 @@ public final class VersionUtils
     {
         checkEmpty( version );
 
+        final VersionSpec cached = cachedSpec( version );
+        if ( cached instanceof SingleVersion )
+        {
+            return (SingleVersion) cached;
+        }
+
+        final SingleVersion single = SingleVersionScanner.parse( version );
+        if ( single != null )
+        {
+            return single;
+        }
+
         try
         {
             return new VersionParser( version ).single();
@@ -116,6 +238,11 @@ public final class VersionUtils
         {
             return false;
         }
+        if ( SingleVersionScanner.parse( version ) != null )
+        {
+            return true;
+        }
+
         try
         {
             SingleVersion singleVersion = new VersionParser( version ).single();
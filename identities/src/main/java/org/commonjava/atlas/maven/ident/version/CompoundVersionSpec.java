@@ -15,12 +15,20 @@
  */
 package org.commonjava.atlas.maven.ident.version;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
+/**
+ * A union of version ranges, e.g. <code>[1.0,2.0),[2.5,3.0),(3.1,)</code>. The components are kept as given, but are
+ * also normalized into merged, non-overlapping intervals, so that {@link #contains(VersionSpec)} finds a single version
+ * by binary search instead of asking each component in turn. The static {@link #union(VersionSpec...)},
+ * {@link #intersection(VersionSpec...)} and {@link #complement(VersionSpec)} combine specs on the same intervals.
+ */
 public class CompoundVersionSpec
     implements VersionSpec, Iterable<VersionSpec>, Serializable, MultiVersionSpec
 {
@@ -31,6 +39,12 @@ public class CompoundVersionSpec
 
     private final String rawExpression;
 
+    // the versions the components contain, by their order
+    private transient VersionIntervals intervals;
+
+    // the snapshots the components contain, which RangeVersionSpec widens for (inclusive) snapshot bounds
+    private transient VersionIntervals snapshotIntervals;
+
     public CompoundVersionSpec( final String rawExpression, final VersionSpec... specs )
     {
         this.rawExpression = rawExpression;
@@ -48,6 +62,7 @@ public class CompoundVersionSpec
 
         Collections.sort( s, VersionSpecComparisons.comparator() );
         this.specs = Collections.unmodifiableList( s );
+        normalize();
     }
 
     public CompoundVersionSpec( final String rawExpression, final List<VersionSpec> specs )
@@ -56,7 +71,7 @@ public class CompoundVersionSpec
         final List<VersionSpec> s = new ArrayList<VersionSpec>();
         for ( final VersionSpec spec : specs )
         {
-            if ( spec.isSingle() )
+            if ( spec instanceof SingleVersion )
             {
                 final SingleVersion sv = (SingleVersion) spec;
                 s.add( new RangeVersionSpec( "[" + spec.renderStandard() + "]", sv, sv, true, true ) );
@@ -69,6 +84,7 @@ public class CompoundVersionSpec
 
         Collections.sort( s, VersionSpecComparisons.comparator() );
         this.specs = Collections.unmodifiableList( s );
+        normalize();
     }
 
     public String renderStandard()
@@ -90,6 +106,12 @@ public class CompoundVersionSpec
 
     public boolean contains( final VersionSpec version )
     {
+        if ( version instanceof SingleVersion && intervals != null )
+        {
+            final SingleVersion single = (SingleVersion) version;
+            return ( single.isRelease() ? intervals : snapshotIntervals ).contains( single );
+        }
+
         for ( final VersionSpec spec : specs )
         {
             if ( spec.contains( version ) )
@@ -224,4 +246,142 @@ public class CompoundVersionSpec
         return null;
     }
 
+    /**
+     * @return the versions contained in any of the given specs, or null if that is every version, which a spec can't
+     *         express.
+     * @see #intersection(VersionSpec...)
+     */
+    public static CompoundVersionSpec union( final VersionSpec... specs )
+    {
+        final List<VersionIntervals> sets = new ArrayList<VersionIntervals>( specs.length );
+        for ( final VersionSpec spec : specs )
+        {
+            sets.add( orderIntervals( spec ) );
+        }
+
+        return toSpec( VersionIntervals.union( sets ) );
+    }
+
+    /**
+     * Combine specs by the version order: single versions count as pinned ranges, and the snapshot rules of
+     * {@link RangeVersionSpec#contains(VersionSpec)} apply to the bounds of the resulting ranges, as they would to
+     * parsed ranges.
+     *
+     * @return the versions contained in all of the given specs, or null if that is every version (no specs given). If
+     *         there are none, the result has no components and contains nothing.
+     */
+    public static CompoundVersionSpec intersection( final VersionSpec... specs )
+    {
+        VersionIntervals result = VersionIntervals.ALL;
+        for ( final VersionSpec spec : specs )
+        {
+            result = result.intersection( orderIntervals( spec ) );
+        }
+
+        return toSpec( result );
+    }
+
+    /**
+     * @return the versions not contained in the given spec, or null if that is every version.
+     * @see #intersection(VersionSpec...)
+     */
+    public static CompoundVersionSpec complement( final VersionSpec spec )
+    {
+        return toSpec( orderIntervals( spec ).complement() );
+    }
+
+    private static CompoundVersionSpec toSpec( final VersionIntervals intervals )
+    {
+        final List<RangeVersionSpec> ranges = intervals.toRanges();
+        if ( ranges == null )
+        {
+            return null;
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        for ( final RangeVersionSpec range : ranges )
+        {
+            if ( sb.length() > 0 )
+            {
+                sb.append( ',' );
+            }
+            sb.append( range.renderStandard() );
+        }
+
+        return new CompoundVersionSpec( sb.toString(), new ArrayList<VersionSpec>( ranges ) );
+    }
+
+    private static VersionIntervals orderIntervals( final VersionSpec spec )
+    {
+        if ( spec instanceof SingleVersion )
+        {
+            final SingleVersion single = (SingleVersion) spec;
+            return VersionIntervals.of( single, true, single, true );
+        }
+        else if ( spec instanceof RangeVersionSpec )
+        {
+            return VersionIntervals.of( (RangeVersionSpec) spec );
+        }
+        else if ( spec instanceof CompoundVersionSpec && ( (CompoundVersionSpec) spec ).intervals != null )
+        {
+            return ( (CompoundVersionSpec) spec ).intervals;
+        }
+
+        throw new IllegalArgumentException( "Cannot combine version spec: " + spec );
+    }
+
+    /**
+     * Map the components onto intervals, following {@link RangeVersionSpec#contains(VersionSpec)}: a range whose lower
+     * bound is an inclusive snapshot contains every snapshot, and one whose upper bound is contains every snapshot from
+     * its lower bound on. Other kinds of component are left to their own contains().
+     */
+    private void normalize()
+    {
+        final List<VersionIntervals> all = new ArrayList<VersionIntervals>( specs.size() );
+        final List<VersionIntervals> snapshots = new ArrayList<VersionIntervals>( specs.size() );
+        for ( final VersionSpec spec : specs )
+        {
+            if ( spec instanceof RangeVersionSpec )
+            {
+                final RangeVersionSpec range = (RangeVersionSpec) spec;
+                final VersionIntervals ordered = VersionIntervals.of( range );
+                all.add( ordered );
+
+                final SingleVersion lower = range.getLowerBound();
+                final SingleVersion upper = range.getUpperBound();
+                if ( lower != null && range.isLowerBoundInclusive() && !lower.isRelease() )
+                {
+                    snapshots.add( VersionIntervals.ALL );
+                }
+                else if ( upper != null && range.isUpperBoundInclusive() && !upper.isRelease() )
+                {
+                    snapshots.add( VersionIntervals.of( lower, range.isLowerBoundInclusive(), null, false ) );
+                }
+                else
+                {
+                    snapshots.add( ordered );
+                }
+            }
+            else if ( spec instanceof CompoundVersionSpec && ( (CompoundVersionSpec) spec ).intervals != null )
+            {
+                all.add( ( (CompoundVersionSpec) spec ).intervals );
+                snapshots.add( ( (CompoundVersionSpec) spec ).snapshotIntervals );
+            }
+            else
+            {
+                return;
+            }
+        }
+
+        intervals = VersionIntervals.union( all );
+        snapshotIntervals = VersionIntervals.union( snapshots );
+    }
+
+    private void readObject( final ObjectInputStream in )
+        throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+        normalize();
+    }
+
 }
@@ -20,6 +20,7 @@ import static org.apache.commons.lang3.StringUtils.join;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.StringTokenizer;
 
@@ -41,9 +42,13 @@ public class SingleVersion
 
     private final String rawExpression;
 
+    private static final long[] NO_COMPARISON_KEY = new long[0];
+
+    private transient volatile long[] comparisonKey;
+
     private SingleVersion( final List<VersionPhrase> phrases )
     {
-        this.phrases = new ArrayList<VersionPhrase>( phrases );
+        this.phrases = Collections.unmodifiableList( new ArrayList<VersionPhrase>( phrases ) );
         this.rawExpression = join( phrases, "" );
     }
 
@@ -57,7 +62,7 @@ public class SingleVersion
         throws InvalidVersionSpecificationException
     {
         this.rawExpression = rawExpression;
-        phrases = parsePhrases( parts );
+        phrases = Collections.unmodifiableList( parsePhrases( parts ) );
         validatePhrases();
     }
 
@@ -195,7 +200,7 @@ public class SingleVersion
                         }
                         else
                         {
-                            final NumericPart np = new NumericPart( tok );
+                            final NumericPart np = NumericPart.valueOf( tok );
                             result.add( np );
                             prev = np;
                         }
@@ -391,6 +396,28 @@ public class SingleVersion
         return phrases;
     }
 
+    /**
+     * Packed form of this version's phrases, computed on first use (see {@link VersionComparisonKey}).
+     *
+     * @return the key, or null if this version can't be packed and has to be compared phrase by phrase.
+     */
+    long[] getComparisonKey()
+    {
+        long[] key = comparisonKey;
+        if ( key == null )
+        {
+            key = VersionComparisonKey.encode( phrases );
+            if ( key == null )
+            {
+                key = NO_COMPARISON_KEY;
+            }
+
+            comparisonKey = key;
+        }
+
+        return key == NO_COMPARISON_KEY ? null : key;
+    }
+
     @Override
     public int hashCode()
     {
@@ -0,0 +1,314 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.version;
+
+import java.util.List;
+
+import org.commonjava.atlas.maven.ident.version.part.NumericPart;
+import org.commonjava.atlas.maven.ident.version.part.SeparatorPart;
+import org.commonjava.atlas.maven.ident.version.part.SnapshotPart;
+import org.commonjava.atlas.maven.ident.version.part.StringPart;
+import org.commonjava.atlas.maven.ident.version.part.VersionPart;
+import org.commonjava.atlas.maven.ident.version.part.VersionPhrase;
+
+/**
+ * Packs the phrases of a {@link SingleVersion} into a long[] that can be compared without walking {@link VersionPhrase}
+ * and {@link VersionPart} objects, giving the same result as the phrase-by-phrase comparison in
+ * {@link VersionSpecComparisons}.
+ * <br/>
+ * Each phrase is encoded as a header (its marker index and whether it is a release) followed by one entry per
+ * non-separator part. Part entries hold a category in the top bits (marker qualifiers, snapshot, zero-equivalent, SP,
+ * other strings, positive numbers, in that order) and an order-preserving payload below it. Trailing zero-equivalent
+ * parts are dropped from each phrase, since missing parts are compared as zero anyway.
+ * <br/>
+ * Versions with parts that don't fit (numbers of 2^59 and above, qualifiers longer than 11 letters or containing
+ * non-letters, unusual snapshot timestamps...) get no key, and are compared the old way.
+ */
+final class VersionComparisonKey
+{
+
+    private static final int TAG_SHIFT = 59;
+
+    private static final long MAX_PAYLOAD = ( 1L << TAG_SHIFT ) - 1;
+
+    // headers: tag 0, so (value >>> TAG_SHIFT) == 0 identifies them.
+    private static final long HEADER_TAG = 0;
+
+    // StringPart markers (PREVIEW..RC) use tags 1-5 (zero-compare index + 9).
+    private static final int MARKER_TAG_OFFSET = 9;
+
+    private static final long SNAPSHOT_TAG = 6;
+
+    private static final long ZERO_TAG = 7;
+
+    private static final long SP_TAG = 8;
+
+    private static final long RANDOM_STRING_TAG = 9;
+
+    private static final long NUMBER_TAG = 10;
+
+    private static final long ZERO = ZERO_TAG << TAG_SHIFT;
+
+    // zero-equivalent strings (GA, FINAL) compare equal to zero, but unlike numeric zero they also compare equal to a
+    // snapshot part, so they need to be told apart.
+    private static final long ZERO_STRING = ZERO | 1;
+
+    private static final int PAD_MARKER_INDEX = StringPart.ADJ_ZERO_EQUIV_INDEX;
+
+    private static final int MARKER_INDEX_OFFSET = 8;
+
+    private static final int MAX_STRING_CHARS = 11;
+
+    private static final int BITS_PER_CHAR = 5;
+
+    private static final int BUILD_NUMBER_BITS = 26;
+
+    private static final long MAX_SNAPSHOT_SECONDS = ( 1L << ( TAG_SHIFT - BUILD_NUMBER_BITS ) ) - 1;
+
+    private static final long MAX_BUILD_NUMBER = ( 1L << BUILD_NUMBER_BITS ) - 1;
+
+    private VersionComparisonKey()
+    {
+    }
+
+    /**
+     * @return the packed key, or null if some part of the version can't be represented.
+     */
+    static long[] encode( final List<VersionPhrase> phrases )
+    {
+        int size = 0;
+        for ( final VersionPhrase phrase : phrases )
+        {
+            size += 1 + phrase.getVersionParts()
+                              .size();
+        }
+
+        final long[] key = new long[size];
+        int idx = 0;
+        for ( final VersionPhrase phrase : phrases )
+        {
+            final Integer marker = phrase.getMarkerIndex();
+            key[idx++] = header( marker == null ? 0 : marker, phrase.isRelease() );
+
+            // parts alternate value / separator, which is what lets the phrase comparison ignore separators.
+            final List<VersionPart> parts = phrase.getVersionParts();
+            int lastSignificant = idx;
+            for ( int p = 0; p < parts.size(); p++ )
+            {
+                final VersionPart part = parts.get( p );
+                if ( ( part instanceof SeparatorPart ) != ( p % 2 == 1 ) )
+                {
+                    return null;
+                }
+                else if ( part instanceof SeparatorPart )
+                {
+                    continue;
+                }
+
+                final long value = encodePart( part );
+                if ( value < 0 )
+                {
+                    return null;
+                }
+
+                key[idx++] = value;
+                if ( ( value >>> TAG_SHIFT ) != ZERO_TAG )
+                {
+                    lastSignificant = idx;
+                }
+            }
+
+            idx = lastSignificant;
+        }
+
+        if ( idx < key.length )
+        {
+            final long[] trimmed = new long[idx];
+            System.arraycopy( key, 0, trimmed, 0, idx );
+            return trimmed;
+        }
+
+        return key;
+    }
+
+    /**
+     * Compare two keys produced by {@link #encode(List)}, with the semantics of comparing their phrases: missing
+     * phrases count as a zero release phrase, and missing parts count as zero. Release status of the versions as a
+     * whole is not considered here.
+     */
+    static int compare( final long[] first, final long[] second )
+    {
+        int i = 0;
+        int j = 0;
+        while ( i < first.length || j < second.length )
+        {
+            final long fh = i < first.length ? first[i++] : header( PAD_MARKER_INDEX, true );
+            final long sh = j < second.length ? second[j++] : header( PAD_MARKER_INDEX, true );
+
+            int comp = Long.compare( fh >>> 1, sh >>> 1 );
+            if ( comp != 0 )
+            {
+                return comp;
+            }
+
+            while ( ( i < first.length && !isHeader( first[i] ) ) || ( j < second.length && !isHeader( second[j] ) ) )
+            {
+                final long f = i < first.length && !isHeader( first[i] ) ? first[i++] : ZERO;
+                final long s = j < second.length && !isHeader( second[j] ) ? second[j++] : ZERO;
+
+                comp = compareValues( f, s );
+                if ( comp != 0 )
+                {
+                    return comp;
+                }
+            }
+
+            // release phrases sort after non-release ones with the same parts.
+            comp = (int) ( fh & 1 ) - (int) ( sh & 1 );
+            if ( comp != 0 )
+            {
+                return comp;
+            }
+        }
+
+        return 0;
+    }
+
+    private static int compareValues( final long first, final long second )
+    {
+        if ( first == second )
+        {
+            return 0;
+        }
+
+        final long ft = first >>> TAG_SHIFT;
+        final long st = second >>> TAG_SHIFT;
+        if ( ft == ZERO_TAG && st == ZERO_TAG )
+        {
+            return 0;
+        }
+
+        if ( ( ft == SNAPSHOT_TAG && second == ZERO_STRING ) || ( st == SNAPSHOT_TAG && first == ZERO_STRING ) )
+        {
+            return 0;
+        }
+
+        return Long.compare( first, second );
+    }
+
+    private static boolean isHeader( final long value )
+    {
+        return ( value >>> TAG_SHIFT ) == HEADER_TAG;
+    }
+
+    private static long header( final int markerIndex, final boolean release )
+    {
+        return ( (long) ( markerIndex + MARKER_INDEX_OFFSET ) << 1 ) | ( release ? 1 : 0 );
+    }
+
+    private static long encodePart( final VersionPart part )
+    {
+        if ( part instanceof NumericPart )
+        {
+            final long value = ( (NumericPart) part ).getLongValue();
+            if ( value < 0 || value > MAX_PAYLOAD )
+            {
+                return -1;
+            }
+
+            return value == 0 ? ZERO : value( NUMBER_TAG, value );
+        }
+        else if ( part instanceof StringPart )
+        {
+            return encodeString( (StringPart) part );
+        }
+        else if ( part instanceof SnapshotPart )
+        {
+            return encodeSnapshot( (SnapshotPart) part );
+        }
+
+        return -1;
+    }
+
+    private static long encodeString( final StringPart part )
+    {
+        final int zci = part.getZeroCompareIndex();
+        if ( zci == StringPart.ADJ_ZERO_EQUIV_INDEX )
+        {
+            return ZERO_STRING;
+        }
+        else if ( zci == StringPart.ADJ_ZERO_EQUIV_INDEX + 1 )
+        {
+            return value( SP_TAG, 0 );
+        }
+        else if ( zci < StringPart.ADJ_ZERO_EQUIV_INDEX )
+        {
+            return value( zci + MARKER_TAG_OFFSET, 0 );
+        }
+
+        // any other string: compared case-insensitively, so pack lower-cased letters 5 bits apiece, left-aligned so
+        // that prefixes sort first.
+        final String value = part.getValue();
+        if ( value.length() > MAX_STRING_CHARS )
+        {
+            return -1;
+        }
+
+        long payload = 0;
+        for ( int i = 0; i < MAX_STRING_CHARS; i++ )
+        {
+            int c = 0;
+            if ( i < value.length() )
+            {
+                final char ch = Character.toLowerCase( value.charAt( i ) );
+                if ( ch < 'a' || ch > 'z' )
+                {
+                    return -1;
+                }
+
+                c = ch - 'a' + 1;
+            }
+
+            payload = ( payload << BITS_PER_CHAR ) | c;
+        }
+
+        return value( RANDOM_STRING_TAG, payload );
+    }
+
+    private static long encodeSnapshot( final SnapshotPart part )
+    {
+        if ( part.isLocalSnapshot() )
+        {
+            // local snapshots sort after any timestamped snapshot
+            return value( SNAPSHOT_TAG, MAX_PAYLOAD );
+        }
+
+        final long seconds = part.getTimestampSeconds();
+        final long build = part.getBuildNumber();
+        if ( seconds < 0 || seconds > MAX_SNAPSHOT_SECONDS || build < 0 || build > MAX_BUILD_NUMBER )
+        {
+            return -1;
+        }
+
+        return value( SNAPSHOT_TAG, ( seconds << BUILD_NUMBER_BITS ) | build );
+    }
+
+    private static long value( final long tag, final long payload )
+    {
+        return ( tag << TAG_SHIFT ) | payload;
+    }
+
+}
@@ -0,0 +1,335 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.version;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The known versions of one project (groupId:artifactId), kept sorted by {@link VersionSpecComparisons} so that the
+ * versions matching a {@link RangeVersionSpec} or {@link CompoundVersionSpec} are found by binary search on the range
+ * bounds instead of calling {@link VersionSpec#contains(VersionSpec)} for every version. The results are the same as
+ * that of contains(), including its snapshot rules: a range with an inclusive snapshot lower bound contains every
+ * snapshot, and one with an inclusive snapshot upper bound every snapshot from its lower bound on.
+ * <p>
+ * Versions can be added at any time. Lookups work on an immutable copy of the index and never block; additions are
+ * serialized and replace that copy.
+ */
+public final class VersionIndex
+{
+    private static final Entries EMPTY = new Entries( new SingleVersion[0] );
+
+    private volatile Entries entries = EMPTY;
+
+    public VersionIndex()
+    {
+    }
+
+    public VersionIndex( final Collection<SingleVersion> versions )
+    {
+        addAll( versions );
+    }
+
+    /**
+     * @return true if the version was added, false if an equal version is already indexed.
+     */
+    public synchronized boolean add( final SingleVersion version )
+    {
+        final SingleVersion[] current = entries.versions;
+        final int pos = insertionPoint( current, version );
+        if ( pos < 0 )
+        {
+            return false;
+        }
+
+        final SingleVersion[] updated = new SingleVersion[current.length + 1];
+        System.arraycopy( current, 0, updated, 0, pos );
+        updated[pos] = version;
+        System.arraycopy( current, pos, updated, pos + 1, current.length - pos );
+        entries = new Entries( updated );
+
+        return true;
+    }
+
+    /**
+     * Add several versions at once, re-sorting the index only once.
+     *
+     * @return the number of versions added.
+     */
+    public synchronized int addAll( final Collection<SingleVersion> versions )
+    {
+        final List<SingleVersion> merged = new ArrayList<>( entries.versions.length + versions.size() );
+        merged.addAll( Arrays.asList( entries.versions ) );
+        merged.addAll( versions );
+        Collections.sort( merged, VersionSpecComparisons.comparator() );
+
+        // drop equal versions; these sort next to each other
+        final List<SingleVersion> unique = new ArrayList<>( merged.size() );
+        int runStart = 0;
+        for ( final SingleVersion version : merged )
+        {
+            if ( !unique.isEmpty()
+                    && VersionSpecComparisons.compareTo( unique.get( unique.size() - 1 ), version ) != 0 )
+            {
+                runStart = unique.size();
+            }
+
+            if ( !unique.subList( runStart, unique.size() ).contains( version ) )
+            {
+                unique.add( version );
+            }
+        }
+
+        final int added = unique.size() - entries.versions.length;
+        entries = new Entries( unique.toArray( new SingleVersion[unique.size()] ) );
+
+        return added;
+    }
+
+    public int size()
+    {
+        return entries.versions.length;
+    }
+
+    /**
+     * @return all indexed versions, lowest first.
+     */
+    public List<SingleVersion> getVersions()
+    {
+        return Collections.unmodifiableList( Arrays.asList( entries.versions ) );
+    }
+
+    /**
+     * @return the indexed versions contained in the spec, lowest first.
+     */
+    public List<SingleVersion> findAll( final VersionSpec spec )
+    {
+        final Entries current = entries;
+        final BitSet matches = current.match( spec );
+
+        final List<SingleVersion> result = new ArrayList<>( matches.cardinality() );
+        for ( int i = matches.nextSetBit( 0 ); i >= 0; i = matches.nextSetBit( i + 1 ) )
+        {
+            result.add( current.versions[i] );
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the highest indexed version contained in the spec, or null if there is none.
+     */
+    public SingleVersion findHighest( final VersionSpec spec )
+    {
+        final Entries current = entries;
+        final BitSet matches = current.match( spec );
+        final int i = matches.length() - 1;
+
+        return i < 0 ? null : current.versions[i];
+    }
+
+    /**
+     * @return the lowest indexed version contained in the spec, or null if there is none.
+     */
+    public SingleVersion findLowest( final VersionSpec spec )
+    {
+        final Entries current = entries;
+        final int i = current.match( spec )
+                             .nextSetBit( 0 );
+
+        return i < 0 ? null : current.versions[i];
+    }
+
+    @Override
+    public String toString()
+    {
+        return "VersionIndex " + Arrays.toString( entries.versions );
+    }
+
+    /**
+     * @return where the version belongs in the sorted array, or -1 if an equal version is already there.
+     */
+    private static int insertionPoint( final SingleVersion[] versions, final SingleVersion version )
+    {
+        int pos = firstNotBelow( versions, version );
+        while ( pos < versions.length && VersionSpecComparisons.compareTo( versions[pos], version ) == 0 )
+        {
+            if ( versions[pos].equals( version ) )
+            {
+                return -1;
+            }
+            pos++;
+        }
+
+        return pos;
+    }
+
+    /**
+     * @return the first index whose version is not lower than the given one.
+     */
+    private static int firstNotBelow( final SingleVersion[] versions, final SingleVersion version )
+    {
+        int low = 0;
+        int high = versions.length;
+        while ( low < high )
+        {
+            final int mid = ( low + high ) >>> 1;
+            if ( VersionSpecComparisons.compareTo( versions[mid], version ) < 0 )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * @return the first index whose version is higher than the given one.
+     */
+    private static int firstAbove( final SingleVersion[] versions, final SingleVersion version )
+    {
+        int low = 0;
+        int high = versions.length;
+        while ( low < high )
+        {
+            final int mid = ( low + high ) >>> 1;
+            if ( VersionSpecComparisons.compareTo( versions[mid], version ) <= 0 )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private static final class Entries
+    {
+        private final SingleVersion[] versions;
+
+        private final BitSet snapshots = new BitSet();
+
+        private Entries( final SingleVersion[] versions )
+        {
+            this.versions = versions;
+            for ( int i = 0; i < versions.length; i++ )
+            {
+                if ( versions[i].isSnapshot() )
+                {
+                    snapshots.set( i );
+                }
+            }
+        }
+
+        private BitSet match( final VersionSpec spec )
+        {
+            final BitSet matches = new BitSet( versions.length );
+            if ( spec instanceof RangeVersionSpec )
+            {
+                matchRange( (RangeVersionSpec) spec, matches );
+            }
+            else if ( spec instanceof CompoundVersionSpec )
+            {
+                for ( final VersionSpec component : (CompoundVersionSpec) spec )
+                {
+                    if ( component instanceof RangeVersionSpec )
+                    {
+                        matchRange( (RangeVersionSpec) component, matches );
+                    }
+                    else
+                    {
+                        matchEach( component, matches );
+                    }
+                }
+            }
+            else if ( spec != null )
+            {
+                // A single version also contains other builds of its base version, which needn't sort next to it.
+                matchEach( spec, matches );
+            }
+
+            return matches;
+        }
+
+        private void matchEach( final VersionSpec spec, final BitSet matches )
+        {
+            for ( int i = 0; i < versions.length; i++ )
+            {
+                if ( spec.contains( versions[i] ) )
+                {
+                    matches.set( i );
+                }
+            }
+        }
+
+        /**
+         * Mirrors {@link RangeVersionSpec#contains(VersionSpec)} for single versions.
+         */
+        private void matchRange( final RangeVersionSpec range, final BitSet matches )
+        {
+            final SingleVersion lower = range.getLowerBound();
+            final SingleVersion upper = range.getUpperBound();
+
+            if ( lower != null && range.isLowerBoundInclusive() && lower.isSnapshot() )
+            {
+                matches.or( snapshots );
+            }
+
+            final int from;
+            if ( lower == null )
+            {
+                from = 0;
+            }
+            else
+            {
+                from = range.isLowerBoundInclusive() ? firstNotBelow( versions, lower ) : firstAbove( versions, lower );
+            }
+
+            if ( upper != null && range.isUpperBoundInclusive() && upper.isSnapshot() )
+            {
+                final BitSet fromLower = (BitSet) snapshots.clone();
+                fromLower.clear( 0, from );
+                matches.or( fromLower );
+            }
+
+            final int to;
+            if ( upper == null )
+            {
+                to = versions.length;
+            }
+            else
+            {
+                to = range.isUpperBoundInclusive() ? firstAbove( versions, upper ) : firstNotBelow( versions, upper );
+            }
+
+            if ( from < to )
+            {
+                matches.set( from, to );
+            }
+        }
+    }
+}
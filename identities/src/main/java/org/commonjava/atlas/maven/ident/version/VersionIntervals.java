@@ -0,0 +1,361 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.version;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.commonjava.atlas.maven.ident.version.part.VersionPhrase;
+
+/**
+ * An immutable set of versions, held as sorted, non-overlapping and non-adjacent intervals of the order defined by
+ * {@link VersionSpecComparisons}, so that membership is a binary search. A null bound is unbounded.
+ * <p>
+ * Only the order is considered here; the snapshot rules of {@link RangeVersionSpec#contains(VersionSpec)} are mapped
+ * onto intervals by {@link CompoundVersionSpec}.
+ */
+final class VersionIntervals
+{
+    static final VersionIntervals EMPTY = new VersionIntervals( new Interval[0] );
+
+    static final VersionIntervals ALL =
+            new VersionIntervals( new Interval[] { new Interval( null, false, null, false ) } );
+
+    private final Interval[] intervals;
+
+    private VersionIntervals( final Interval[] intervals )
+    {
+        this.intervals = intervals;
+    }
+
+    static VersionIntervals of( final SingleVersion lower, final boolean lowerInclusive, final SingleVersion upper,
+                                final boolean upperInclusive )
+    {
+        return normalize( Collections.singletonList( new Interval( lower, lower != null && lowerInclusive, upper,
+                                                                   upper != null && upperInclusive ) ) );
+    }
+
+    static VersionIntervals of( final RangeVersionSpec range )
+    {
+        return of( range.getLowerBound(), range.isLowerBoundInclusive(), range.getUpperBound(),
+                   range.isUpperBoundInclusive() );
+    }
+
+    static VersionIntervals union( final List<VersionIntervals> sets )
+    {
+        final List<Interval> all = new ArrayList<>();
+        for ( final VersionIntervals set : sets )
+        {
+            all.addAll( Arrays.asList( set.intervals ) );
+        }
+
+        return normalize( all );
+    }
+
+    VersionIntervals intersection( final VersionIntervals other )
+    {
+        final List<Interval> result = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while ( i < intervals.length && j < other.intervals.length )
+        {
+            final Interval a = intervals[i];
+            final Interval b = other.intervals[j];
+            final Interval lower = compareLower( a, b ) >= 0 ? a : b;
+            final int upperComp = compareUpper( a, b );
+            final Interval upper = upperComp <= 0 ? a : b;
+
+            final Interval overlap =
+                    new Interval( lower.lower, lower.lowerInclusive, upper.upper, upper.upperInclusive );
+            if ( !overlap.isEmpty() )
+            {
+                result.add( overlap );
+            }
+
+            // the interval ending first can't overlap anything further in the other set
+            if ( upperComp <= 0 )
+            {
+                i++;
+            }
+            else
+            {
+                j++;
+            }
+        }
+
+        return result.isEmpty() ? EMPTY : new VersionIntervals( result.toArray( new Interval[result.size()] ) );
+    }
+
+    VersionIntervals complement()
+    {
+        final List<Interval> gaps = new ArrayList<>();
+        SingleVersion from = null;
+        boolean fromInclusive = false;
+        for ( final Interval interval : intervals )
+        {
+            if ( interval.lower != null )
+            {
+                gaps.add( new Interval( from, fromInclusive, interval.lower, !interval.lowerInclusive ) );
+            }
+
+            if ( interval.upper == null )
+            {
+                return gaps.isEmpty() ? EMPTY : new VersionIntervals( gaps.toArray( new Interval[gaps.size()] ) );
+            }
+
+            from = interval.upper;
+            fromInclusive = !interval.upperInclusive;
+        }
+
+        gaps.add( new Interval( from, fromInclusive, null, false ) );
+        return new VersionIntervals( gaps.toArray( new Interval[gaps.size()] ) );
+    }
+
+    boolean contains( final SingleVersion version )
+    {
+        // find the last interval starting at or before the version; only that one can contain it
+        int low = 0;
+        int high = intervals.length;
+        while ( low < high )
+        {
+            final int mid = ( low + high ) >>> 1;
+            if ( intervals[mid].startsAtOrBefore( version ) )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+
+        return low > 0 && intervals[low - 1].endsAtOrAfter( version );
+    }
+
+    boolean isEmpty()
+    {
+        return intervals.length == 0;
+    }
+
+    boolean isAll()
+    {
+        return intervals.length == 1 && intervals[0].lower == null && intervals[0].upper == null;
+    }
+
+    /**
+     * @return one range per interval, or null if the set is unbounded on both sides, which a range can't express.
+     */
+    List<RangeVersionSpec> toRanges()
+    {
+        if ( isAll() )
+        {
+            return null;
+        }
+
+        final List<RangeVersionSpec> ranges = new ArrayList<>( intervals.length );
+        for ( final Interval interval : intervals )
+        {
+            ranges.add( interval.toRange() );
+        }
+
+        return ranges;
+    }
+
+    @Override
+    public String toString()
+    {
+        return Arrays.toString( intervals );
+    }
+
+    private static VersionIntervals normalize( final List<Interval> input )
+    {
+        final List<Interval> sorted = new ArrayList<>( input.size() );
+        for ( final Interval interval : input )
+        {
+            if ( !interval.isEmpty() )
+            {
+                sorted.add( interval );
+            }
+        }
+
+        if ( sorted.isEmpty() )
+        {
+            return EMPTY;
+        }
+
+        Collections.sort( sorted, VersionIntervals::compareLower );
+
+        final List<Interval> merged = new ArrayList<>( sorted.size() );
+        Interval current = sorted.get( 0 );
+        for ( int i = 1; i < sorted.size(); i++ )
+        {
+            final Interval next = sorted.get( i );
+            if ( current.reaches( next ) )
+            {
+                if ( compareUpper( next, current ) > 0 )
+                {
+                    current = new Interval( current.lower, current.lowerInclusive, next.upper, next.upperInclusive );
+                }
+            }
+            else
+            {
+                merged.add( current );
+                current = next;
+            }
+        }
+        merged.add( current );
+
+        return new VersionIntervals( merged.toArray( new Interval[merged.size()] ) );
+    }
+
+    /**
+     * Order by lower bound; an unbounded or inclusive lower bound starts earlier.
+     */
+    private static int compareLower( final Interval first, final Interval second )
+    {
+        if ( first.lower == null || second.lower == null )
+        {
+            return first.lower == null ? ( second.lower == null ? 0 : -1 ) : 1;
+        }
+
+        final int comp = VersionSpecComparisons.compareTo( first.lower, second.lower );
+        if ( comp != 0 || first.lowerInclusive == second.lowerInclusive )
+        {
+            return comp;
+        }
+
+        return first.lowerInclusive ? -1 : 1;
+    }
+
+    /**
+     * Order by upper bound; an unbounded or inclusive upper bound ends later.
+     */
+    private static int compareUpper( final Interval first, final Interval second )
+    {
+        if ( first.upper == null || second.upper == null )
+        {
+            return first.upper == null ? ( second.upper == null ? 0 : 1 ) : -1;
+        }
+
+        final int comp = VersionSpecComparisons.compareTo( first.upper, second.upper );
+        if ( comp != 0 || first.upperInclusive == second.upperInclusive )
+        {
+            return comp;
+        }
+
+        return first.upperInclusive ? 1 : -1;
+    }
+
+    private static final class Interval
+    {
+        private final SingleVersion lower;
+
+        private final boolean lowerInclusive;
+
+        private final SingleVersion upper;
+
+        private final boolean upperInclusive;
+
+        private Interval( final SingleVersion lower, final boolean lowerInclusive, final SingleVersion upper,
+                          final boolean upperInclusive )
+        {
+            this.lower = lower;
+            this.lowerInclusive = lowerInclusive;
+            this.upper = upper;
+            this.upperInclusive = upperInclusive;
+        }
+
+        private boolean isEmpty()
+        {
+            if ( lower == null || upper == null )
+            {
+                return false;
+            }
+
+            final int comp = VersionSpecComparisons.compareTo( lower, upper );
+            return comp > 0 || ( comp == 0 && !( lowerInclusive && upperInclusive ) );
+        }
+
+        private boolean startsAtOrBefore( final SingleVersion version )
+        {
+            if ( lower == null )
+            {
+                return true;
+            }
+
+            final int comp = VersionSpecComparisons.compareTo( lower, version );
+            return comp < 0 || ( comp == 0 && lowerInclusive );
+        }
+
+        private boolean endsAtOrAfter( final SingleVersion version )
+        {
+            if ( upper == null )
+            {
+                return true;
+            }
+
+            final int comp = VersionSpecComparisons.compareTo( upper, version );
+            return comp > 0 || ( comp == 0 && upperInclusive );
+        }
+
+        /**
+         * @return true if the given interval, which doesn't start before this one, overlaps or touches it, so that
+         *         together they form one interval.
+         */
+        private boolean reaches( final Interval next )
+        {
+            if ( upper == null || next.lower == null )
+            {
+                return true;
+            }
+
+            final int comp = VersionSpecComparisons.compareTo( next.lower, upper );
+            return comp < 0 || ( comp == 0 && ( upperInclusive || next.lowerInclusive ) );
+        }
+
+        private RangeVersionSpec toRange()
+        {
+            final String rawExpression = lower != null && lowerInclusive && upperInclusive && lower.equals( upper ) ?
+                    "[" + render( lower ) + "]" :
+                    toString();
+
+            return new RangeVersionSpec( rawExpression, lower, upper, lowerInclusive, upperInclusive );
+        }
+
+        @Override
+        public String toString()
+        {
+            return ( lowerInclusive ? "[" : "(" ) + ( lower == null ? "" : render( lower ) ) + ","
+                    + ( upper == null ? "" : render( upper ) ) + ( upperInclusive ? "]" : ")" );
+        }
+
+        /**
+         * Bounds parsed from a range have the whole range as their raw expression, so render them from their phrases.
+         */
+        private static String render( final SingleVersion version )
+        {
+            final StringBuilder sb = new StringBuilder();
+            for ( final VersionPhrase phrase : version.getVersionPhrases() )
+            {
+                sb.append( phrase.renderStandard() );
+            }
+
+            return sb.toString();
+        }
+    }
+}
@@ -305,9 +305,36 @@ public final class VersionSpecComparisons
     }
 
     private static int compareSingleToSingle( final SingleVersion first, final SingleVersion second )
+    {
+        final long[] firstKey = first.getComparisonKey();
+        final long[] secondKey = second.getComparisonKey();
+
+        final int comp;
+        if ( firstKey != null && secondKey != null )
+        {
+            comp = VersionComparisonKey.compare( firstKey, secondKey );
+        }
+        else
+        {
+            comp = comparePhrasesToPhrases( first.getVersionPhrases(), second.getVersionPhrases() );
+        }
+
+        return releaseTieBreak( comp, first, second );
+    }
+
+    /**
+     * Compare two single versions by walking their phrases, without using their comparison keys.
+     */
+    static int compareSingleToSinglePhrases( final SingleVersion first, final SingleVersion second )
     {
         final int comp = comparePhrasesToPhrases( first.getVersionPhrases(), second.getVersionPhrases() );
 
+        return releaseTieBreak( comp, first, second );
+    }
+
+    private static int releaseTieBreak( final int comp, final SingleVersion first, final SingleVersion second )
+    {
+
         if ( comp == 0 )
         {
             if ( first.isRelease() && !second.isRelease() )
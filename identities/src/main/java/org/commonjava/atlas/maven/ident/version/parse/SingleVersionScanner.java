@@ -0,0 +1,340 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.version.parse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.commonjava.atlas.maven.ident.util.SnapshotUtils;
+import org.commonjava.atlas.maven.ident.version.InvalidVersionSpecificationException;
+import org.commonjava.atlas.maven.ident.version.SingleVersion;
+import org.commonjava.atlas.maven.ident.version.part.NumericPart;
+import org.commonjava.atlas.maven.ident.version.part.SeparatorPart;
+import org.commonjava.atlas.maven.ident.version.part.SnapshotPart;
+import org.commonjava.atlas.maven.ident.version.part.StringPart;
+import org.commonjava.atlas.maven.ident.version.part.VersionPart;
+import org.commonjava.atlas.maven.ident.version.part.VersionPartSeparator;
+
+/**
+ * Hand-written, single-pass equivalent of {@link VersionParser#single()} for plain single versions (digits, letters,
+ * '.', '-', '_' and '+' separators, SNAPSHOT markers and timestamped snapshots). It reproduces the tokenization and
+ * choices of the grammar in version.jj, and builds exactly the same list of {@link VersionPart}s before handing them to
+ * {@link SingleVersion}, so the resulting phrase structure is identical.
+ * <br/>
+ * Anything outside that subset (ranges, compound specs, whitespace, trailing separators, numbers too large for a long,
+ * unparseable snapshot timestamps...) makes {@link #parse(String)} return null, and the caller should fall back to the
+ * JavaCC parser, which then produces the canonical result or error.
+ */
+public final class SingleVersionScanner
+{
+
+    private static final int DIGIT = 0;
+
+    private static final int SNAPDATE = 1;
+
+    private static final int LSNAP = 2;
+
+    private static final int STRING = 3;
+
+    private static final int SEPARATOR = 4;
+
+    private static final int EOF = 5;
+
+    private static final int INVALID = 6;
+
+    private static final int SNAPDATE_LENGTH = 15;
+
+    private static final String LSNAP_IMAGE = "SNAPSHOT";
+
+    // Long.parseLong() is always safe for 18 digits; longer runs go to the grammar, which fails the same way it always has.
+    private static final int MAX_SAFE_DIGITS = 18;
+
+    // Integer.parseInt() is always safe for 9 digits.
+    private static final int MAX_SAFE_BUILD_DIGITS = 9;
+
+    private final String version;
+
+    private final int length;
+
+    private final List<VersionPart> parts;
+
+    private VersionPart last;
+
+    private SingleVersionScanner( final String version )
+    {
+        this.version = version;
+        this.length = version.length();
+        this.parts = new ArrayList<VersionPart>( length );
+    }
+
+    /**
+     * Parse the given string as a single version.
+     *
+     * @return the parsed version, or null if the string isn't in the subset handled here and should be given to
+     *         {@link VersionParser} instead.
+     * @throws InvalidVersionSpecificationException in the same cases {@link VersionParser#single()} would, for versions
+     *         that are syntactically valid but rejected by {@link SingleVersion}.
+     */
+    public static SingleVersion parse( final String version )
+        throws InvalidVersionSpecificationException
+    {
+        if ( version == null || version.isEmpty() )
+        {
+            return null;
+        }
+
+        final SingleVersionScanner scanner = new SingleVersionScanner( version );
+        if ( !scanner.scan() )
+        {
+            return null;
+        }
+
+        return new SingleVersion( version, scanner.parts );
+    }
+
+    /**
+     * single := segment ( separator? ( snapshot | segment ) )*
+     * <br/>
+     * Returns false if the whole input cannot be consumed by that production.
+     */
+    private boolean scan()
+    {
+        int pos = segment( 0 );
+        while ( pos > -1 && pos < length )
+        {
+            final int kind = kindAt( pos );
+            if ( kind == SEPARATOR )
+            {
+                // a separator must be followed by another segment or snapshot, or the grammar stops here and ignores
+                // the rest of the input; leave those strange cases to the grammar.
+                final int next = kindAt( pos + 1 );
+                if ( next == SEPARATOR || next == EOF || next == INVALID )
+                {
+                    return false;
+                }
+
+                add( new SeparatorPart( separator( version.charAt( pos ) ) ) );
+                pos = segment( pos + 1 );
+            }
+            else
+            {
+                pos = segment( pos );
+            }
+        }
+
+        return pos == length;
+    }
+
+    /**
+     * segment := snapshot | SNAPDATE | DIGIT+ | STRING, where snapshot := SNAPDATE '-' DIGIT+ | LSNAP
+     * <br/>
+     * Returns the position after the segment, or -1 if none can be read at pos.
+     */
+    private int segment( final int pos )
+    {
+        switch ( kindAt( pos ) )
+        {
+            case LSNAP:
+            {
+                add( new SnapshotPart( version.substring( pos, pos + LSNAP_IMAGE.length() ) ) );
+                return pos + LSNAP_IMAGE.length();
+            }
+            case SNAPDATE:
+            {
+                final int dateEnd = pos + SNAPDATE_LENGTH;
+                if ( dateEnd < length && version.charAt( dateEnd ) == '-' && kindAt( dateEnd + 1 ) == DIGIT )
+                {
+                    return remoteSnapshot( pos, dateEnd );
+                }
+
+                // a bare timestamp is treated as two numbers joined by a dot.
+                add( number( pos, pos + 8 ) );
+                add( new SeparatorPart( VersionPartSeparator.DOT ) );
+                add( number( pos + 9, dateEnd ) );
+                return dateEnd;
+            }
+            case DIGIT:
+            {
+                final int end = digitsEnd( pos );
+                if ( end - pos > MAX_SAFE_DIGITS )
+                {
+                    return -1;
+                }
+
+                add( number( pos, end ) );
+                return end;
+            }
+            case STRING:
+            {
+                final int end = lettersEnd( pos );
+                add( new StringPart( version.substring( pos, end ) ) );
+                return end;
+            }
+            default:
+            {
+                return -1;
+            }
+        }
+    }
+
+    private int remoteSnapshot( final int pos, final int dateEnd )
+    {
+        final int buildStart = dateEnd + 1;
+        final int buildEnd = digitsEnd( buildStart );
+        if ( buildEnd - buildStart > MAX_SAFE_BUILD_DIGITS )
+        {
+            return -1;
+        }
+
+        final String date = version.substring( pos, dateEnd );
+        final String build = version.substring( buildStart, buildEnd );
+        try
+        {
+            add( new SnapshotPart( SnapshotUtils.parseSnapshotTimestamp( date ), Integer.parseInt( build ),
+                                   date + "-" + build ) );
+        }
+        catch ( final java.text.ParseException e )
+        {
+            return -1;
+        }
+
+        return buildEnd;
+    }
+
+    private NumericPart number( final int start, final int end )
+    {
+        return NumericPart.valueOf( version.substring( start, end ) );
+    }
+
+    /**
+     * Same as the grammar's addPart(): adjacent non-separator parts get a blank separator between them.
+     */
+    private void add( final VersionPart part )
+    {
+        if ( last != null && !( last instanceof SeparatorPart ) && !( part instanceof SeparatorPart ) )
+        {
+            parts.add( new SeparatorPart( VersionPartSeparator.BLANK ) );
+        }
+
+        parts.add( part );
+        last = part;
+    }
+
+    /**
+     * Emulates the JavaCC token manager: longest match wins, and LSNAP beats STRING on a tie.
+     */
+    private int kindAt( final int pos )
+    {
+        if ( pos >= length )
+        {
+            return EOF;
+        }
+
+        final char c = version.charAt( pos );
+        if ( isDigit( c ) )
+        {
+            return isSnapDate( pos ) ? SNAPDATE : DIGIT;
+        }
+        else if ( isLetter( c ) )
+        {
+            final int end = lettersEnd( pos );
+            if ( end - pos == LSNAP_IMAGE.length() && version.regionMatches( true, pos, LSNAP_IMAGE, 0, end - pos ) )
+            {
+                return LSNAP;
+            }
+
+            return STRING;
+        }
+        else if ( separator( c ) != null )
+        {
+            return SEPARATOR;
+        }
+
+        return INVALID;
+    }
+
+    private static VersionPartSeparator separator( final char c )
+    {
+        switch ( c )
+        {
+            case '.':
+                return VersionPartSeparator.DOT;
+            case '-':
+                return VersionPartSeparator.DASH;
+            case '_':
+                return VersionPartSeparator.UNDERSCORE;
+            case '+':
+                return VersionPartSeparator.PLUS;
+            default:
+                return null;
+        }
+    }
+
+    private boolean isSnapDate( final int pos )
+    {
+        if ( pos + SNAPDATE_LENGTH > length )
+        {
+            return false;
+        }
+
+        for ( int i = 0; i < SNAPDATE_LENGTH; i++ )
+        {
+            final char c = version.charAt( pos + i );
+            if ( i == 8 ? c != '.' : !isDigit( c ) )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * End of a run of DIGIT tokens starting at pos. A digit that begins a SNAPDATE token ends the run.
+     */
+    private int digitsEnd( final int pos )
+    {
+        int i = pos;
+        while ( i < length && isDigit( version.charAt( i ) ) && !isSnapDate( i ) )
+        {
+            i++;
+        }
+
+        return i;
+    }
+
+    private int lettersEnd( final int pos )
+    {
+        int i = pos;
+        while ( i < length && isLetter( version.charAt( i ) ) )
+        {
+            i++;
+        }
+
+        return i;
+    }
+
+    private static boolean isDigit( final char c )
+    {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter( final char c )
+    {
+        return ( c >= 'a' && c <= 'z' ) || ( c >= 'A' && c <= 'Z' );
+    }
+
+}
@@ -23,29 +23,68 @@ public class NumericPart
     implements Serializable
 {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
-    public static final NumericPart ZERO = new NumericPart( 0 );
+    private static final int CACHE_SIZE = 256;
 
-    private final BigInteger value;
+    private static final NumericPart[] CACHE = new NumericPart[CACHE_SIZE];
+
+    static
+    {
+        for ( int i = 0; i < CACHE_SIZE; i++ )
+        {
+            CACHE[i] = new NumericPart( i );
+        }
+    }
+
+    public static final NumericPart ZERO = CACHE[0];
+
+    private final long value;
 
     public NumericPart( final String value )
     {
-        this.value = BigInteger.valueOf( Long.parseLong( value ) );
+        this.value = Long.parseLong( value );
     }
 
     public NumericPart( final long value )
     {
-        this.value = BigInteger.valueOf( value );
+        this.value = value;
+    }
+
+    /**
+     * Returns a shared instance for small values (0 - 255), which make up the bulk of version parts; a new instance
+     * otherwise.
+     */
+    public static NumericPart valueOf( final long value )
+    {
+        if ( value >= 0 && value < CACHE_SIZE )
+        {
+            return CACHE[(int) value];
+        }
+
+        return new NumericPart( value );
+    }
+
+    /**
+     * Same as {@link #valueOf(long)}, for the literal digits of a version part.
+     */
+    public static NumericPart valueOf( final String value )
+    {
+        return valueOf( Long.parseLong( value ) );
     }
 
     @Override
     public String renderStandard()
     {
-        return value.toString();
+        return Long.toString( value );
     }
 
     public BigInteger getValue()
+    {
+        return BigInteger.valueOf( value );
+    }
+
+    public long getLongValue()
     {
         return value;
     }
@@ -71,8 +110,7 @@ public class NumericPart
         }
         else if ( part instanceof NumericPart )
         {
-            final BigInteger other = ( (NumericPart) part ).getValue();
-            return value.compareTo( other );
+            return Long.compare( value, ( (NumericPart) part ).value );
         }
 
         // punt...shouldn't happen.
@@ -84,7 +122,7 @@ public class NumericPart
     {
         final int prime = 31;
         int result = 1;
-        result = prime * result + value.hashCode();
+        result = prime * result + Long.hashCode( value );
         return result;
     }
 
@@ -104,7 +142,7 @@ public class NumericPart
             return false;
         }
         final NumericPart other = (NumericPart) obj;
-        return value.equals( other.value );
+        return value == other.value;
     }
 
 }
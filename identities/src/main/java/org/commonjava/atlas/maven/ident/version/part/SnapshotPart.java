@@ -25,18 +25,28 @@ public class SnapshotPart
     implements Serializable
 {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
-    private final Date timestamp;
+    private static final long LOCAL = Long.MIN_VALUE;
 
-    private final Integer buildNumber;
+    private final long timestampSeconds;
+
+    private final int buildNumber;
 
     private final String literal;
 
+    /**
+     * @param timestamp the remote snapshot timestamp, which is kept to the second, or null for a local snapshot
+     */
     public SnapshotPart( final Date timestamp, final int buildNumber, final String literal )
     {
-        this.timestamp = timestamp;
-        this.buildNumber = buildNumber;
+        this( timestamp == null ? LOCAL : Math.floorDiv( timestamp.getTime(), 1000 ), buildNumber, literal );
+    }
+
+    public SnapshotPart( final long timestampSeconds, final int buildNumber, final String literal )
+    {
+        this.timestampSeconds = timestampSeconds;
+        this.buildNumber = timestampSeconds == LOCAL ? 0 : buildNumber;
         this.literal = literal;
     }
 
@@ -45,13 +55,13 @@ public class SnapshotPart
         if ( SnapshotUtils.isRemoteSnapshotVersionPart( literal ) )
         {
             final SnapshotPart sp = SnapshotUtils.parseRemoteSnapshotVersionPart( literal );
-            timestamp = sp.timestamp;
+            timestampSeconds = sp.timestampSeconds;
             buildNumber = sp.buildNumber;
         }
         else
         {
-            timestamp = null;
-            buildNumber = null;
+            timestampSeconds = LOCAL;
+            buildNumber = 0;
         }
 
         this.literal = literal;
@@ -62,11 +72,26 @@ public class SnapshotPart
         return literal;
     }
 
+    /**
+     * @return a new {@link Date} for the remote snapshot timestamp, or null for a local snapshot
+     */
     public Date getTimestamp()
     {
-        return timestamp;
+        return timestampSeconds == LOCAL ? null : new Date( timestampSeconds * 1000 );
     }
 
+    /**
+     * @return the remote snapshot timestamp in seconds since the epoch, or Long.MIN_VALUE for a local snapshot. Together
+     *         with {@link #getBuildNumber()} this orders remote snapshots without going through {@link Date}.
+     */
+    public long getTimestampSeconds()
+    {
+        return timestampSeconds;
+    }
+
+    /**
+     * @return the remote snapshot build number, or 0 for a local snapshot
+     */
     public int getBuildNumber()
     {
         return buildNumber;
@@ -74,18 +99,18 @@ public class SnapshotPart
 
     public boolean isLocalSnapshot()
     {
-        return timestamp == null;
+        return timestampSeconds == LOCAL;
     }
 
     public boolean isRemoteSnapshot()
     {
-        return timestamp != null;
+        return timestampSeconds != LOCAL;
     }
 
     @Override
     public String toString()
     {
-        return "SNAP[" + ( timestamp == null ? "local" : "remote;" + renderStandard() ) + "]";
+        return "SNAP[" + ( isLocalSnapshot() ? "local" : "remote;" + renderStandard() ) + "]";
     }
 
     @Override
@@ -107,10 +132,10 @@ public class SnapshotPart
             final SnapshotPart oSnap = (SnapshotPart) o;
             if ( !isLocalSnapshot() && !oSnap.isLocalSnapshot() )
             {
-                final int comp = getTimestamp().compareTo( oSnap.getTimestamp() );
+                final int comp = Long.compare( timestampSeconds, oSnap.timestampSeconds );
                 if ( comp == 0 )
                 {
-                    return getBuildNumber() - oSnap.getBuildNumber();
+                    return Integer.compare( buildNumber, oSnap.buildNumber );
                 }
 
                 return comp;
@@ -146,8 +171,8 @@ public class SnapshotPart
     {
         final int prime = 31;
         int result = 1;
-        result = prime * result + ( ( buildNumber == null ) ? 0 : buildNumber.hashCode() );
-        result = prime * result + ( ( timestamp == null ) ? 0 : timestamp.hashCode() );
+        result = prime * result + buildNumber;
+        result = prime * result + Long.hashCode( timestampSeconds );
         return result;
     }
 
@@ -167,29 +192,7 @@ public class SnapshotPart
             return false;
         }
         final SnapshotPart other = (SnapshotPart) obj;
-        if ( buildNumber == null )
-        {
-            if ( other.buildNumber != null )
-            {
-                return false;
-            }
-        }
-        else if ( !buildNumber.equals( other.buildNumber ) )
-        {
-            return false;
-        }
-        if ( timestamp == null )
-        {
-            if ( other.timestamp != null )
-            {
-                return false;
-            }
-        }
-        else if ( !timestamp.equals( other.timestamp ) )
-        {
-            return false;
-        }
-        return true;
+        return buildNumber == other.buildNumber && timestampSeconds == other.timestampSeconds;
     }
 
 }
@@ -18,7 +18,7 @@ package org.commonjava.atlas.maven.ident.version.part;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
 
 import org.commonjava.atlas.maven.ident.version.InvalidVersionSpecificationException;
@@ -36,7 +36,7 @@ public class VersionPhrase
 
     private final Integer markerIndex;
 
-    private boolean silent = false;
+    private final int silentStart;
 
     public VersionPhrase( final VersionPartSeparator separator, final VersionPart... parts )
         throws InvalidVersionSpecificationException
@@ -51,52 +51,36 @@ public class VersionPhrase
         List<VersionPart> parts = new ArrayList<VersionPart>( p );
         parts = normalize( parts );
         validate( parts );
-        markSilentParts( parts );
+        this.silentStart = findSilentStart( parts );
         this.markerIndex = findMarkerIndex( parts.get( 0 ) );
 
-        this.parts = new ArrayList<VersionPart>( parts );
+        this.parts = Collections.unmodifiableList( new ArrayList<VersionPart>( parts ) );
     }
 
-    private void markSilentParts( final List<VersionPart> parts )
+    /**
+     * Trailing zero-equivalent parts (and the separators between them) are 'silent': they don't affect equality. Part
+     * instances may be shared between phrases, so this is tracked here as the index where the silent run starts.
+     */
+    private static int findSilentStart( final List<VersionPart> parts )
     {
-        for ( int i = parts.size() - 1; i > -1; i-- )
+        int i = parts.size();
+        for ( ; i > 0; i-- )
         {
-            final VersionPart part = parts.get( i );
-            boolean silenced = false;
-            if ( NumericPart.ZERO.equals( part ) )
-            {
-                silenced = true;
-            }
-            else if ( part instanceof SeparatorPart )
-            {
-                silenced = true;
-            }
-            else if ( ( part instanceof StringPart )
-                && ( (StringPart) part ).getZeroCompareIndex() == StringPart.ADJ_ZERO_EQUIV_INDEX )
-            {
-                silenced = true;
-            }
-
-            if ( silenced )
-            {
-                part.setSilent( true );
-            }
-            else
+            final VersionPart part = parts.get( i - 1 );
+            if ( !NumericPart.ZERO.equals( part ) && !( part instanceof SeparatorPart )
+                && !( ( part instanceof StringPart )
+                    && ( (StringPart) part ).getZeroCompareIndex() == StringPart.ADJ_ZERO_EQUIV_INDEX ) )
             {
                 break;
             }
         }
 
-        if ( parts.get( 0 )
-                  .isSilent() )
-        {
-            silent = true;
-        }
+        return i;
     }
 
     public boolean isSilent()
     {
-        return silent;
+        return silentStart == 0;
     }
 
     private Integer findMarkerIndex( final VersionPart part )
@@ -292,12 +276,10 @@ public class VersionPhrase
         int result = 1;
         if ( parts != null )
         {
-            for ( final VersionPart part : parts )
+            for ( int i = 0; i < silentStart; i++ )
             {
-                if ( !part.isSilent() )
-                {
-                    result += part.hashCode();
-                }
+                result += parts.get( i )
+                               .hashCode();
             }
         }
 
@@ -329,71 +311,26 @@ public class VersionPhrase
         }
         else
         {
-            final List<VersionPart> myParts = new ArrayList<VersionPart>( parts );
-            for ( final Iterator<VersionPart> it = myParts.iterator(); it.hasNext(); )
-            {
-                final VersionPart part = it.next();
-                if ( part instanceof SeparatorPart )
-                {
-                    it.remove();
-                }
-            }
-
-            final List<VersionPart> theirParts = new ArrayList<VersionPart>( other.parts );
-            for ( final Iterator<VersionPart> it = theirParts.iterator(); it.hasNext(); )
-            {
-                final VersionPart part = it.next();
-                if ( part instanceof SeparatorPart )
-                {
-                    it.remove();
-                }
-            }
-
-            int i = 0;
-            for ( ; i < Math.min( myParts.size(), theirParts.size() ); i++ )
-            {
-                final VersionPart mine = myParts.get( i );
-                final VersionPart theirs = theirParts.get( i );
-                if ( mine.isSilent() != theirs.isSilent() )
-                {
-                    return false;
-                }
-                else if ( !mine.isSilent() && !theirs.isSilent() )
-                {
-                    if ( !mine.equals( theirs ) )
-                    {
-                        return false;
-                    }
-                }
-            }
+            // separators and trailing silent parts don't count.
+            return getSignificantValueParts().equals( other.getSignificantValueParts() );
+        }
 
-            if ( i < myParts.size() )
-            {
-                for ( int j = i; j < myParts.size(); j++ )
-                {
-                    final VersionPart mine = myParts.get( j );
-                    if ( !mine.isSilent() )
-                    {
-                        return false;
-                    }
-                }
-            }
+        return true;
+    }
 
-            if ( i < theirParts.size() )
+    private List<VersionPart> getSignificantValueParts()
+    {
+        final List<VersionPart> result = new ArrayList<VersionPart>( silentStart );
+        for ( int i = 0; i < silentStart; i++ )
+        {
+            final VersionPart part = parts.get( i );
+            if ( !( part instanceof SeparatorPart ) )
             {
-                for ( int j = i; j < theirParts.size(); j++ )
-                {
-                    final VersionPart theirs = theirParts.get( j );
-
-                    if ( !theirs.isSilent() )
-                    {
-                        return false;
-                    }
-                }
+                result.add( part );
             }
         }
 
-        return true;
+        return result;
     }
 
     public boolean isSnapshotOnly()
@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.ref;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.commonjava.atlas.maven.ident.util.VersionUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BinaryRefCodecTest
+{
+    private static final List<ProjectRef> REFS = Arrays.asList(
+            new SimpleProjectRef( "org.foo", "bar" ),
+            new SimpleProjectVersionRef( "org.foo", "bar", "1.0" ),
+            new SimpleProjectVersionRef( "org.foo", "bar", "[1.0,2.0)" ),
+            new SimpleProjectVersionRef( "org.foo", "bar", VersionUtils.createSingleVersion( "2.0-SNAPSHOT" ) ),
+            new SimpleArtifactRef( "org.foo", "bar", "1.0", "jar", null ),
+            new SimpleArtifactRef( "org.foo", "bar", "1.0", "test-jar", "tests" ),
+            new SimpleVersionlessArtifactRef( "org.foo", "bar", "pom", null ),
+            new SimpleVersionlessArtifactRef( "org.foo", "bar", "zip", "dist" ),
+            new SimpleProjectVersionRef( "org.bär.ünicode", "bar", "1.0-ü" ) );
+
+    @Test
+    public void roundTripThroughDataOutput()
+        throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final BinaryRefWriter writer = new BinaryRefWriter( new DataOutputStream( bytes ) );
+        for ( final ProjectRef ref : REFS )
+        {
+            writer.writeRef( ref );
+        }
+        writer.writeRef( null );
+
+        final BinaryRefReader reader =
+                new BinaryRefReader( new DataInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) );
+        for ( final ProjectRef ref : REFS )
+        {
+            assertRead( reader.readRef(), ref );
+        }
+        assertThat( reader.readRef(), nullValue() );
+    }
+
+    @Test
+    public void roundTripThroughByteBuffer()
+        throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate( 4096 );
+        final BinaryRefWriter writer = new BinaryRefWriter( buffer );
+        writer.writeProjectVersionRef( (ProjectVersionRef) REFS.get( 1 ) );
+        writer.writeArtifactRef( (ArtifactRef) REFS.get( 5 ) );
+        writer.writeProjectRef( REFS.get( 0 ) );
+        buffer.flip();
+
+        final BinaryRefReader reader = new BinaryRefReader( buffer );
+        final ProjectVersionRef first = reader.readProjectVersionRef();
+        assertRead( first, REFS.get( 1 ) );
+        final ArtifactRef second = reader.readArtifactRef();
+        assertRead( second, REFS.get( 5 ) );
+        assertRead( reader.readProjectRef(), REFS.get( 0 ) );
+        assertThat( buffer.hasRemaining(), equalTo( false ) );
+
+        // strings written once are shared
+        assertThat( second.getGroupId(), sameInstance( first.getGroupId() ) );
+    }
+
+    @Test
+    public void writeRepeatedStringsOnce()
+        throws IOException
+    {
+        final List<ProjectVersionRef> refs = new ArrayList<>();
+        for ( int i = 0; i < 1000; i++ )
+        {
+            refs.add( new SimpleProjectVersionRef( "org.foo.group" + ( i % 10 ), "artifact-" + ( i % 50 ),
+                                                   "1." + ( i % 5 ) ) );
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final BinaryRefWriter writer = new BinaryRefWriter( new DataOutputStream( bytes ) );
+        for ( final ProjectVersionRef ref : refs )
+        {
+            writer.writeProjectVersionRef( ref );
+        }
+
+        assertThat( writer.getDictionarySize(), equalTo( 65 ) );
+
+        final ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream( serialized ))
+        {
+            out.writeObject( refs );
+        }
+        assertThat( bytes.size() * 5 < serialized.size(), equalTo( true ) );
+
+        final BinaryRefReader reader = new BinaryRefReader( ByteBuffer.wrap( bytes.toByteArray() ) );
+        for ( final ProjectVersionRef ref : refs )
+        {
+            assertRead( reader.readProjectVersionRef(), ref );
+        }
+    }
+
+    @Test
+    public void roundTripVarInts()
+        throws IOException
+    {
+        final int[] values = { 0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE };
+
+        final ByteBuffer buffer = ByteBuffer.allocate( 64 );
+        final BinaryRefWriter writer = new BinaryRefWriter( buffer );
+        for ( final int value : values )
+        {
+            writer.writeVarInt( value );
+        }
+        buffer.flip();
+
+        final BinaryRefReader reader = new BinaryRefReader( buffer );
+        for ( final int value : values )
+        {
+            assertThat( reader.readVarInt(), equalTo( value ) );
+        }
+    }
+
+    @Test( expected = EOFException.class )
+    public void failOnTruncatedInput()
+        throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate( 64 );
+        new BinaryRefWriter( buffer ).writeProjectVersionRef( (ProjectVersionRef) REFS.get( 1 ) );
+        buffer.flip();
+        buffer.limit( buffer.limit() - 2 );
+
+        new BinaryRefReader( buffer ).readProjectVersionRef();
+    }
+
+    @Test( expected = IOException.class )
+    public void failOnUnknownStringId()
+        throws IOException
+    {
+        new BinaryRefReader( ByteBuffer.wrap( new byte[] { 5 } ) ).readString();
+    }
+
+    @Test( expected = BufferOverflowException.class )
+    public void failWhenBufferIsFull()
+        throws IOException
+    {
+        new BinaryRefWriter( ByteBuffer.allocate( 4 ) ).writeProjectVersionRef( (ProjectVersionRef) REFS.get( 1 ) );
+    }
+
+    @Test
+    public void keepDictionaryInStepWithBufferOnOverflow()
+        throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate( 32 );
+        final BinaryRefWriter writer = new BinaryRefWriter( buffer );
+        writer.writeProjectVersionRef( (ProjectVersionRef) REFS.get( 1 ) );
+        assertThat( writer.getDictionarySize(), equalTo( 3 ) );
+
+        try
+        {
+            writer.writeString( "a string much too long for what is left of the buffer" );
+            throw new AssertionError( "Buffer should have overflowed" );
+        }
+        catch ( final BufferOverflowException e )
+        {
+            // expected
+        }
+        assertThat( writer.getDictionarySize(), equalTo( 3 ) );
+
+        buffer.flip();
+        assertRead( new BinaryRefReader( buffer ).readProjectVersionRef(), REFS.get( 1 ) );
+    }
+
+    private static void assertRead( final ProjectRef read, final ProjectRef expected )
+    {
+        assertThat( read, instanceOf( expected.getClass() ) );
+        assertThat( read, equalTo( expected ) );
+        assertThat( read.toString(), equalTo( expected.toString() ) );
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.ref;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ProjectRefMatcherSetTest
+{
+
+    @Test
+    public void findsAllMatchingPatternsInOrder()
+    {
+        final ProjectRef exact = new SimpleProjectRef( "org.foo", "bar" );
+        final ProjectRef anyArtifact = new SimpleProjectRef( "org.foo", "*" );
+        final ProjectRef groupGlob = new SimpleProjectRef( "org.*", "b*" );
+        final ProjectRef everything = new SimpleProjectRef( "*", "*" );
+        final ProjectRef other = new SimpleProjectRef( "com.foo", "bar" );
+
+        final ProjectRefMatcherSet set =
+            new ProjectRefMatcherSet( Arrays.asList( everything, other, groupGlob, anyArtifact, exact ) );
+
+        assertThat( set.findMatches( new SimpleProjectRef( "org.foo", "bar" ) ),
+                    equalTo( Arrays.asList( everything, groupGlob, anyArtifact, exact ) ) );
+        assertThat( set.findMatches( new SimpleProjectRef( "org.foo.sub", "baz" ) ),
+                    equalTo( Arrays.asList( everything, groupGlob ) ) );
+        assertThat( set.matches( new SimpleProjectRef( "net.foo", "baz" ) ), equalTo( true ) );
+    }
+
+    @Test
+    public void emptySetMatchesNothing()
+    {
+        final ProjectRefMatcherSet set = new ProjectRefMatcherSet( Collections.<ProjectRef> emptyList() );
+
+        assertThat( set.matches( new SimpleProjectRef( "org.foo", "bar" ) ), equalTo( false ) );
+        assertThat( set.findMatches( new SimpleProjectRef( "org.foo", "bar" ) ).isEmpty(), equalTo( true ) );
+    }
+
+    @Test
+    public void agreesWithSinglePatternMatching()
+    {
+        final String[] groupSegments = { "org", "com", "foo", "bar", "f*", "*o", "*", "b*r" };
+        final String[] artifacts = { "core", "api", "c*", "*", "*-impl", "core-impl", "a*i" };
+        final Random rand = new Random( 1234 );
+
+        final List<ProjectRef> patterns = new ArrayList<ProjectRef>();
+        for ( int i = 0; i < 300; i++ )
+        {
+            patterns.add( new SimpleProjectRef( randomGroup( groupSegments, rand ),
+                                                artifacts[rand.nextInt( artifacts.length )] ) );
+        }
+
+        final ProjectRefMatcherSet set = new ProjectRefMatcherSet( patterns );
+
+        final String[] refSegments = { "org", "com", "foo", "bar", "fo", "boor" };
+        final String[] refArtifacts = { "core", "api", "core-impl", "ai", "x" };
+        for ( int i = 0; i < 2000; i++ )
+        {
+            final ProjectRef ref = new SimpleProjectRef( randomGroup( refSegments, rand ),
+                                                         refArtifacts[rand.nextInt( refArtifacts.length )] );
+
+            final List<ProjectRef> expected = new ArrayList<ProjectRef>();
+            for ( final ProjectRef pattern : patterns )
+            {
+                if ( pattern.matches( ref ) )
+                {
+                    expected.add( pattern );
+                }
+            }
+
+            assertThat( ref.toString(), set.findMatches( ref ), equalTo( expected ) );
+            assertThat( ref.toString(), set.matches( ref ), equalTo( !expected.isEmpty() ) );
+        }
+    }
+
+    private String randomGroup( final String[] segments, final Random rand )
+    {
+        final StringBuilder sb = new StringBuilder( segments[rand.nextInt( segments.length )] );
+        final int extra = rand.nextInt( 3 );
+        for ( int i = 0; i < extra; i++ )
+        {
+            sb.append( '.' )
+              .append( segments[rand.nextInt( segments.length )] );
+        }
+
+        return sb.toString();
+    }
+
+}
@@ -79,4 +79,35 @@ public class ProjectRefTest
         assertThat( pattern.matches( test ), equalTo( true ) );
     }
 
+    @Test
+    public void doesNotMatchDifferentGroupOrArtifact()
+    {
+        final ProjectRef pattern = new SimpleProjectRef( "org.*", "f*o" );
+
+        assertThat( pattern.matches( new SimpleProjectRef( "com.bar", "foo" ) ), equalTo( false ) );
+        assertThat( pattern.matches( new SimpleProjectRef( "org.bar", "bar" ) ), equalTo( false ) );
+        assertThat( pattern.matches( new SimpleProjectRef( "org.bar", "foox" ) ), equalTo( false ) );
+    }
+
+    @Test
+    public void matchesMultipleWildcards()
+    {
+        final ProjectRef pattern = new SimpleProjectRef( "org.*.*.impl", "*-core-*" );
+
+        assertThat( pattern.matches( new SimpleProjectRef( "org.foo.bar.impl", "x-core-y" ) ), equalTo( true ) );
+        assertThat( pattern.matches( new SimpleProjectRef( "org.foo.impl", "x-core-y" ) ), equalTo( false ) );
+        assertThat( pattern.matches( new SimpleProjectRef( "org.foo.bar.impl", "core-y" ) ), equalTo( false ) );
+    }
+
+    @Test
+    public void dotsAndOtherCharactersMatchLiterally()
+    {
+        assertThat( new SimpleProjectRef( "org.bar", "foo" ).matches( new SimpleProjectRef( "orgXbar", "foo" ) ),
+                    equalTo( false ) );
+        assertThat( new SimpleProjectRef( "org.bar", "foo+[x]" ).matches( new SimpleProjectRef( "org.bar", "foo+[x]" ) ),
+                    equalTo( true ) );
+        assertThat( new SimpleProjectRef( "org.bar", "foo+*" ).matches( new SimpleProjectRef( "org.bar", "foo+bar" ) ),
+                    equalTo( true ) );
+    }
+
 }
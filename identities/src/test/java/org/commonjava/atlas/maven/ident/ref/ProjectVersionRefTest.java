@@ -16,6 +16,7 @@
 package org.commonjava.atlas.maven.ident.ref;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -64,6 +65,31 @@ public class ProjectVersionRefTest
         assertThat( ref1, equalTo( ref2 ) );
     }
 
+    @Test
+    public void equalVersionStringsDoNotParseVersions()
+        throws InvalidVersionSpecificationException
+    {
+        final ProjectVersionRef ref1 = new SimpleProjectVersionRef( "org.foo", "bar", "1.1.1-baz-1" );
+        final ProjectVersionRef ref2 = new SimpleProjectVersionRef( "org.foo", "bar", "1.1.1-baz-1" );
+
+        assertThat( ref1, equalTo( ref2 ) );
+        assertThat( ref1.hashCode(), equalTo( ref2.hashCode() ) );
+        assertThat( ref1.getVersionSpecRaw(), nullValue() );
+        assertThat( ref2.getVersionSpecRaw(), nullValue() );
+    }
+
+    @Test
+    public void differentVersionStringsFallBackToVersionEquality()
+        throws InvalidVersionSpecificationException
+    {
+        final ProjectVersionRef ref1 = new SimpleProjectVersionRef( "org.foo", "bar", "1.0" );
+        final ProjectVersionRef ref2 = new SimpleProjectVersionRef( "org.foo", "bar", "1" );
+        final ProjectVersionRef ref3 = new SimpleProjectVersionRef( "org.foo", "bar", "1.1" );
+
+        assertThat( ref1, equalTo( ref2 ) );
+        assertThat( ref1.equals( ref3 ), equalTo( false ) );
+    }
+
     @Test
     public void addTwoIdenticalRefsToASetAndVerifyThatOnlyOneIsAdded()
         throws InvalidVersionSpecificationException
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.ref;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.commonjava.atlas.maven.ident.util.IdentityUtils;
+import org.junit.After;
+import org.junit.Test;
+
+public class RefPoolTest
+{
+
+    @After
+    public void disableGlobalPool()
+    {
+        RefPool.disableGlobal();
+    }
+
+    @Test
+    public void equalRefsAreShared()
+    {
+        final RefPool pool = new RefPool();
+        final SimpleProjectVersionRef first = pool.projectVersion( "org.foo", "bar", "1.0" );
+        final SimpleProjectVersionRef second = pool.projectVersion( new String( "org.foo" ), "bar", "1.0" );
+
+        assertThat( second, sameInstance( first ) );
+        assertThat( pool.getLookupCount() > 0, equalTo( true ) );
+        assertThat( pool.getHitCount() > 0, equalTo( true ) );
+        assertThat( pool.getSavedBytesEstimate() > 0, equalTo( true ) );
+    }
+
+    @Test
+    public void groupAndArtifactStringsAreShared()
+    {
+        final RefPool pool = new RefPool();
+        final SimpleProjectRef project = pool.project( "org.foo", "bar" );
+        final SimpleArtifactRef artifact = pool.artifact( new String( "org.foo" ), new String( "bar" ), "1.0", "jar",
+                                                          null );
+
+        assertThat( artifact.getGroupId(), sameInstance( project.getGroupId() ) );
+        assertThat( artifact.getArtifactId(), sameInstance( project.getArtifactId() ) );
+    }
+
+    @Test
+    public void refsAreMatchedOnLiteralCoordinates()
+    {
+        final RefPool pool = new RefPool();
+
+        // "1" and "1.0" are equal versions, but must keep rendering the way they were given.
+        final SimpleProjectVersionRef shortVersion = pool.projectVersion( "org.foo", "bar", "1" );
+        final SimpleProjectVersionRef longVersion = pool.projectVersion( "org.foo", "bar", "1.0" );
+        assertThat( longVersion, not( sameInstance( shortVersion ) ) );
+        assertThat( longVersion.getVersionString(), equalTo( "1.0" ) );
+
+        // same GAV, different class or classifier
+        final SimpleArtifactRef jar = pool.artifact( "org.foo", "bar", "1", "jar", null );
+        final SimpleArtifactRef sources = pool.artifact( "org.foo", "bar", "1", "jar", "sources" );
+        assertThat( (ProjectVersionRef) jar, not( sameInstance( (ProjectVersionRef) shortVersion ) ) );
+        assertThat( sources, not( sameInstance( jar ) ) );
+        assertThat( pool.artifact( "org.foo", "bar", "1", "jar", "sources" ), sameInstance( sources ) );
+    }
+
+    @Test
+    public void parseUsesGlobalPoolWhenEnabled()
+    {
+        assertThat( SimpleProjectVersionRef.parse( "org.foo:bar:1.0" ),
+                    not( sameInstance( SimpleProjectVersionRef.parse( "org.foo:bar:1.0" ) ) ) );
+
+        final RefPool pool = RefPool.enableGlobal();
+        final ProjectVersionRef parsed = SimpleProjectVersionRef.parse( "org.foo:bar:1.0" );
+        assertThat( SimpleProjectVersionRef.parse( "org.foo:bar:1.0" ), sameInstance( parsed ) );
+        assertThat( IdentityUtils.projectVersion( "org.foo:bar:1.0" ), sameInstance( parsed ) );
+        assertThat( SimpleArtifactRef.parse( "org.foo:bar:jar:1.0" ),
+                    sameInstance( SimpleArtifactRef.parse( "org.foo:bar:jar:1.0" ) ) );
+        assertThat( SimpleProjectRef.parse( "org.foo:bar" ), sameInstance( IdentityUtils.project( "org.foo", "bar" ) ) );
+        assertThat( pool.getDedupRatio() > 0, equalTo( true ) );
+    }
+
+    @Test
+    public void unusedRefsCanBeCollected()
+        throws InterruptedException
+    {
+        final RefPool pool = new RefPool();
+        for ( int i = 0; i < 1000; i++ )
+        {
+            pool.projectVersion( "org.foo", "bar", "1." + i );
+        }
+
+        for ( int i = 0; i < 20 && pool.size() > 100; i++ )
+        {
+            System.gc();
+            Thread.sleep( 10 );
+        }
+
+        assertThat( pool.size() < 1000, equalTo( true ) );
+    }
+
+}
@@ -16,6 +16,8 @@
 package org.commonjava.atlas.maven.ident.util;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -23,6 +25,9 @@ import static org.junit.Assert.assertTrue;
 import org.commonjava.atlas.maven.ident.version.part.SnapshotPart;
 import org.junit.Test;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 
 public class ArtifactPathInfoTest
@@ -168,7 +173,20 @@ public class ArtifactPathInfoTest
     @Test
     public void matchCompoundExtTypes2(){
         System.setProperty("atlas.compoext.types", "a.b.c, x.y.z");
+        ArtifactPathInfo.reloadCompoundExtensionTypes();
+        try
+        {
+            matchCustomCompoundExtTypes();
+        }
+        finally
+        {
+            System.clearProperty( "atlas.compoext.types" );
+            ArtifactPathInfo.reloadCompoundExtensionTypes();
+        }
+    }
 
+    private void matchCustomCompoundExtTypes()
+    {
         String path =
                 "/com/example/example-artifact/1.0.0.redhat-00001/example-artifact-1.0.0.redhat-00001-x.y.z.tar";
         ArtifactPathInfo info = ArtifactPathInfo.parse( path );
@@ -240,4 +258,61 @@ public class ArtifactPathInfoTest
         assertThat( pathInfo.getType(), equalTo( "jar.sha512" ) );
     }
 
+    @Test
+    public void matchPathCorpus()
+        throws Exception
+    {
+        int count = 0;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader( getClass().getResourceAsStream( "/artifact-path-corpus.tsv" ),
+                                       StandardCharsets.UTF_8 ) ))
+        {
+            String line;
+            while ( ( line = reader.readLine() ) != null )
+            {
+                if ( line.isEmpty() || line.startsWith( "#" ) )
+                {
+                    continue;
+                }
+
+                final String[] expected = line.split( "\t", -1 );
+                final ArtifactPathInfo info = ArtifactPathInfo.parse( expected[0] );
+                if ( expected.length == 1 )
+                {
+                    assertThat( line, info, nullValue() );
+                }
+                else
+                {
+                    assertThat( line, info, notNullValue() );
+                    assertThat( line, info.getGroupId(), equalTo( expected[1] ) );
+                    assertThat( line, info.getArtifactId(), equalTo( expected[2] ) );
+                    assertThat( line, info.getVersion(), equalTo( expected[3] ) );
+                    assertThat( line, info.getClassifier(), equalTo( expected[4] ) );
+                    assertThat( line, info.getType(), equalTo( expected[5] ) );
+                }
+                count++;
+            }
+        }
+
+        assertThat( count > 0, equalTo( true ) );
+    }
+
+    @Test
+    public void matchEdgeCases()
+    {
+        assertThat( ArtifactPathInfo.parse( "/g/a/1/a-1" ), nullValue() );
+        assertThat( ArtifactPathInfo.parse( "//g/a/1/a-1.jar" ), nullValue() );
+        assertThat( ArtifactPathInfo.parse( "/g//a/1/a-1.jar" ), nullValue() );
+        assertThat( ArtifactPathInfo.parse( "/a/1/a-1.jar" ), nullValue() );
+
+        ArtifactPathInfo info = ArtifactPathInfo.parse( "g\\a\\1\\a-1.jar" );
+        assertThat( info.getGroupId(), equalTo( "g" ) );
+        assertThat( info.getFullPath(), equalTo( "g\\a\\1\\a-1.jar" ) );
+
+        // the build number must leave something behind for the type
+        info = ArtifactPathInfo.parse( "/g/a/1-SNAPSHOT/a-1-20120307.200227-12" );
+        assertThat( info.getVersion(), equalTo( "1-20120307.200227-1" ) );
+        assertThat( info.getType(), equalTo( "2" ) );
+    }
+
 }
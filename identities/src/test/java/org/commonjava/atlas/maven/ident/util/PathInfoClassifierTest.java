@@ -0,0 +1,143 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class PathInfoClassifierTest
+{
+    private static final List<String> LISTING = Arrays.asList(
+            "/org/apache/commons/commons-lang3/3.0.0/commons-lang3-3.0.0.jar",
+            "/org/apache/commons/commons-lang3/3.0.0/commons-lang3-3.0.0.jar.sha1",
+            "/org/apache/commons/commons-lang3/3.0.0/commons-lang3-3.0.0.pom",
+            "/org/apache/commons/commons-lang3/3.0.0/maven-metadata.xml",
+            "",
+            "/org/apache/commons/commons-lang3/3.1.0/commons-lang3-3.1.0-sources.jar",
+            "/org/foo/bar/0.2-SNAPSHOT/bar-0.2-20120307.200227-1.jar",
+            "/org/foo/bar/0.2-SNAPSHOT/bar-0.2-20120307.200227-1.pom" );
+
+    @Test
+    public void classifyListing()
+    {
+        final List<PathInfo> infos =
+                new PathInfoClassifier().classify( LISTING.stream() ).collect( Collectors.toList() );
+
+        assertThat( infos.size(), equalTo( 6 ) );
+
+        final ArtifactPathInfo first = (ArtifactPathInfo) infos.get( 0 );
+        final ArtifactPathInfo third = (ArtifactPathInfo) infos.get( 2 );
+        assertThat( third.getGroupId(), sameInstance( first.getGroupId() ) );
+        assertThat( third.getArtifactId(), sameInstance( first.getArtifactId() ) );
+        assertThat( third.getVersion(), sameInstance( first.getVersion() ) );
+        assertThat( third.getType(), equalTo( "pom" ) );
+
+        final ArtifactPathInfo otherVersion = (ArtifactPathInfo) infos.get( 3 );
+        assertThat( otherVersion.getGroupId(), sameInstance( first.getGroupId() ) );
+        assertThat( otherVersion.getVersion(), equalTo( "3.1.0" ) );
+        assertThat( otherVersion.getClassifier(), equalTo( "sources" ) );
+
+        final ArtifactPathInfo snapshot = (ArtifactPathInfo) infos.get( 5 );
+        assertThat( snapshot.isSnapshot(), equalTo( true ) );
+        assertThat( snapshot.getReleaseVersion(), equalTo( "0.2" ) );
+        assertThat( snapshot.getGroupId(), equalTo( "org.foo" ) );
+    }
+
+    @Test
+    public void sharedFieldsMatchPlainParse()
+    {
+        final PathInfoClassifier classifier = new PathInfoClassifier();
+        final List<PathInfo> infos = classifier.classify( LISTING, false ).collect( Collectors.toList() );
+
+        final List<PathInfo> expected = new ArrayList<>();
+        for ( final String path : LISTING )
+        {
+            final ArtifactPathInfo info = ArtifactPathInfo.parse( path );
+            if ( info != null )
+            {
+                expected.add( info );
+            }
+        }
+
+        assertThat( infos, equalTo( expected ) );
+        for ( int i = 0; i < infos.size(); i++ )
+        {
+            final ArtifactPathInfo actual = (ArtifactPathInfo) infos.get( i );
+            final ArtifactPathInfo parsed = (ArtifactPathInfo) expected.get( i );
+            assertThat( actual.getClassifier(), equalTo( parsed.getClassifier() ) );
+            assertThat( actual.getType(), equalTo( parsed.getType() ) );
+            assertThat( actual.isSnapshot(), equalTo( parsed.isSnapshot() ) );
+            assertThat( actual.getReleaseVersion(), equalTo( parsed.getReleaseVersion() ) );
+        }
+    }
+
+    @Test
+    public void fallBackToAdditionalParsers()
+    {
+        final PathInfoClassifier classifier = new PathInfoClassifier( path -> path.endsWith( "maven-metadata.xml" ) ?
+                new ArtifactPathInfo( "meta", "meta", "1", path, path ) :
+                null );
+
+        assertThat( classifier.classify( "/org/apache/commons/commons-lang3/maven-metadata.xml" ),
+                    instanceOf( ArtifactPathInfo.class ) );
+        assertThat( classifier.classify( "/org/apache/commons/commons-lang3/foo.txt" ), nullValue() );
+        assertThat( classifier.classify( LISTING.stream() ).count(), equalTo( 7L ) );
+    }
+
+    @Test
+    public void classifyChannel()
+            throws Exception
+    {
+        final byte[] bytes = String.join( "\n", LISTING ).getBytes( StandardCharsets.UTF_8 );
+        try (Stream<PathInfo> infos = new PathInfoClassifier().classify(
+                Channels.newChannel( new ByteArrayInputStream( bytes ) ), false ))
+        {
+            assertThat( infos.count(), equalTo( 6L ) );
+        }
+    }
+
+    @Test
+    public void classifyInParallel()
+    {
+        final List<String> paths = new ArrayList<>();
+        for ( int i = 0; i < 5000; i++ )
+        {
+            paths.add( String.format( "/org/foo/foo-%d/1.%d/foo-%d-1.%d.jar", i / 10, i % 10, i / 10, i % 10 ) );
+        }
+
+        final PathInfoClassifier classifier = new PathInfoClassifier();
+        final Set<PathInfo> parallel = classifier.classify( paths, true ).collect( Collectors.toSet() );
+        final Set<PathInfo> sequential = classifier.classify( paths, false ).collect( Collectors.toSet() );
+
+        assertThat( parallel.size(), equalTo( paths.size() ) );
+        assertThat( parallel, equalTo( sequential ) );
+    }
+}
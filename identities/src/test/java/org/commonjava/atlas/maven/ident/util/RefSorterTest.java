@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.util;
+
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleArtifactRef;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+public class RefSorterTest
+{
+    private static final String[] GROUPS = { "org.foo", "org.foo.bar", "com.example", "org.apache.commons" };
+
+    private static final String[] ARTIFACTS = { "core", "api", "commons-lang3", "core-impl" };
+
+    private static final String[] VERSIONS = { "1.0", "1.0.0", "1.2-SNAPSHOT", "2.0-rc1", "10.1", "[1.0,2.0)" };
+
+    private static final String[] CLASSIFIERS = { null, "sources", "javadoc", "tests" };
+
+    private static final String[] TYPES = { "jar", "pom", "war", "test-jar" };
+
+    @Test
+    public void sortLikeArtifactRefComparator()
+    {
+        for ( final int size : new int[] { 0, 1, 2, 50, 2000, RefSorter.PARALLEL_THRESHOLD + 100 } )
+        {
+            final List<ArtifactRef> refs = randomRefs( size, new Random( size ) );
+
+            final List<ArtifactRef> expected = new ArrayList<>( refs );
+            Collections.sort( expected, new ArtifactRefComparator() );
+
+            RefSorter.sortArtifactRefs( refs );
+            assertSameElements( refs, expected );
+        }
+    }
+
+    @Test
+    public void sortLikeProjectVersionRefComparator()
+    {
+        final List<ProjectVersionRef> refs = new LinkedList<ProjectVersionRef>( randomRefs( 500, new Random( 3 ) ) );
+
+        final List<ProjectVersionRef> expected = new ArrayList<>( refs );
+        Collections.sort( expected, new ProjectVersionRefComparator() );
+
+        RefSorter.sortProjectVersionRefs( refs );
+        assertSameElements( refs, expected );
+    }
+
+    private static List<ArtifactRef> randomRefs( final int size, final Random random )
+    {
+        final List<ArtifactRef> refs = new ArrayList<>( size );
+        for ( int i = 0; i < size; i++ )
+        {
+            // new instances each time, so that the stability of the sort shows
+            refs.add( new SimpleArtifactRef( pick( GROUPS, random ), pick( ARTIFACTS, random ), pick( VERSIONS, random ),
+                                             pick( TYPES, random ), pick( CLASSIFIERS, random ) ) );
+        }
+
+        return refs;
+    }
+
+    private static String pick( final String[] values, final Random random )
+    {
+        return values[random.nextInt( values.length )];
+    }
+
+    private static void assertSameElements( final List<? extends ProjectVersionRef> actual,
+                                            final List<? extends ProjectVersionRef> expected )
+    {
+        for ( int i = 0; i < expected.size(); i++ )
+        {
+            assertThat( "Element " + i, actual.get( i ), sameInstance( (Object) expected.get( i ) ) );
+        }
+    }
+}
@@ -19,9 +19,11 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
 
 import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.Date;
 
 import org.commonjava.atlas.maven.ident.util.SnapshotUtils;
+import org.commonjava.atlas.maven.ident.version.part.SnapshotPart;
 import org.junit.Test;
 
 public class SnapshotUtilsTest
@@ -75,4 +77,67 @@ public class SnapshotUtilsTest
         assertThat( result, equalTo( d ) );
     }
 
+    @Test
+    public void matchSimpleDateFormat()
+        throws ParseException
+    {
+        final SimpleDateFormat fmt = new SimpleDateFormat( SnapshotUtils.SNAPSHOT_TSTAMP_FORMAT );
+        for ( final String tstamp : new String[] { "20160229.212037", "20241103.013000", "20240310.023000",
+            "19991231.235959", "20140229.120000", "20141332.250000", "18000101.000000", "20140828.2258311" } )
+        {
+            assertThat( tstamp, SnapshotUtils.parseSnapshotTimestamp( tstamp ), equalTo( fmt.parse( tstamp ) ) );
+        }
+
+        final Date d = new Date( 1456780837000L );
+        assertThat( SnapshotUtils.generateSnapshotTimestamp( d ), equalTo( fmt.format( d ) ) );
+        assertThat( SnapshotUtils.generateUpdateTimestamp( d ),
+                    equalTo( new SimpleDateFormat( "yyyyMMddHHmmss" ).format( d ) ) );
+    }
+
+    @Test( expected = ParseException.class )
+    public void rejectMalformedTimestamp()
+        throws ParseException
+    {
+        SnapshotUtils.parseSnapshotTimestamp( "20140828-225831" );
+    }
+
+    @Test
+    public void detectRemoteSnapshotVersions()
+    {
+        assertThat( SnapshotUtils.isRemoteSnapshotVersion( "1.0-20160229.212037-2" ), equalTo( true ) );
+        assertThat( SnapshotUtils.isRemoteSnapshotVersion( "20160229.212037-2" ), equalTo( true ) );
+        assertThat( SnapshotUtils.isRemoteSnapshotVersion( "1.0-rc-1-20160229.212037-123" ), equalTo( true ) );
+        assertThat( SnapshotUtils.isRemoteSnapshotVersion( "1.0-SNAPSHOT" ), equalTo( false ) );
+        assertThat( SnapshotUtils.isRemoteSnapshotVersion( "-20160229.212037-2" ), equalTo( false ) );
+        assertThat( SnapshotUtils.isRemoteSnapshotVersion( "1.0-20160229.212037-" ), equalTo( false ) );
+        assertThat( SnapshotUtils.isRemoteSnapshotVersion( "1.0.20160229.212037-2" ), equalTo( false ) );
+        assertThat( SnapshotUtils.isRemoteSnapshotVersion( "1.0-2016022.212037-2" ), equalTo( false ) );
+        assertThat( SnapshotUtils.isSnapshotVersion( "1.0-SNAPSHOT" ), equalTo( true ) );
+        assertThat( SnapshotUtils.isSnapshotVersion( "1.0" ), equalTo( false ) );
+    }
+
+    @Test
+    public void parseRemoteSnapshotPart()
+        throws ParseException
+    {
+        final SnapshotPart part = SnapshotUtils.parseRemoteSnapshotVersionPart( "1.0-20160229.212037-12" );
+        final Date expected = SnapshotUtils.parseSnapshotTimestamp( "20160229.212037" );
+
+        assertThat( part.getTimestamp(), equalTo( expected ) );
+        assertThat( part.getTimestampSeconds(), equalTo( expected.getTime() / 1000 ) );
+        assertThat( part.getBuildNumber(), equalTo( 12 ) );
+        assertThat( part.getLiteral(), equalTo( "1.0-20160229.212037-12" ) );
+
+        final SnapshotPart earlier = new SnapshotPart( part.getTimestampSeconds(), 11, "20160229.212037-11" );
+        assertThat( earlier.compareTo( part ) < 0, equalTo( true ) );
+        assertThat( part.compareTo( earlier ) > 0, equalTo( true ) );
+        assertThat( new SnapshotPart( "1.0-SNAPSHOT" ).getTimestampSeconds(), equalTo( Long.MIN_VALUE ) );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void rejectInvalidRemoteSnapshotPart()
+    {
+        SnapshotUtils.parseRemoteSnapshotVersionPart( "1.0-20160229x212037-12" );
+    }
+
 }
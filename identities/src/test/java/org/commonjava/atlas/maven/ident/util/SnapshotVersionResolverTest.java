@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.commonjava.atlas.maven.ident.version.SingleVersion;
+import org.commonjava.atlas.maven.ident.version.VersionSpecComparisons;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class SnapshotVersionResolverTest
+{
+    private static final List<String> VERSIONS = Arrays.asList( "1.2-20240101.120000-37", "1.2-20240102.090000-38",
+                                                                "1.2-20240102.090000-39", "1.2-20231231.235959-40",
+                                                                "1.2-SNAPSHOT", "1.2", "1.2.1-20250101.000000-1",
+                                                                "11.2-20250101.000000-1", "1.2-20240102.090000-x" );
+
+    @Test
+    public void findLatest()
+    {
+        assertThat( SnapshotVersionResolver.findLatest( "1.2-SNAPSHOT", VERSIONS ),
+                    equalTo( "1.2-20240102.090000-39" ) );
+        assertThat( SnapshotVersionResolver.findLatest( "1.2", VERSIONS ), equalTo( "1.2-20240102.090000-39" ) );
+        assertThat( SnapshotVersionResolver.findLatest( "1.2.1-SNAPSHOT", VERSIONS ),
+                    equalTo( "1.2.1-20250101.000000-1" ) );
+        assertThat( SnapshotVersionResolver.findLatest( "1.3-SNAPSHOT", VERSIONS ), nullValue() );
+    }
+
+    @Test
+    public void findByTimestampAndBuildNumber()
+    {
+        assertThat( SnapshotVersionResolver.findByTimestamp( "1.2-SNAPSHOT", "20240102.090000", VERSIONS ),
+                    equalTo( "1.2-20240102.090000-39" ) );
+        assertThat( SnapshotVersionResolver.findByTimestamp( "1.2-SNAPSHOT", "20240103.090000", VERSIONS ),
+                    nullValue() );
+        assertThat( SnapshotVersionResolver.findByBuildNumber( "1.2-SNAPSHOT", 40, VERSIONS ),
+                    equalTo( "1.2-20231231.235959-40" ) );
+        assertThat( SnapshotVersionResolver.findByBuildNumber( "1.2-SNAPSHOT", 41, VERSIONS ), nullValue() );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void rejectInvalidTimestamp()
+    {
+        SnapshotVersionResolver.findByTimestamp( "1.2-SNAPSHOT", "2024-01-02", VERSIONS );
+    }
+
+    @Test
+    public void updateIncrementally()
+    {
+        final SnapshotVersionResolver resolver = new SnapshotVersionResolver();
+        assertThat( resolver.add( "1.2-20240101.120000-37" ), equalTo( true ) );
+        assertThat( resolver.add( "1.2-20231231.235959-40" ), equalTo( false ) );
+        assertThat( resolver.add( "1.2-SNAPSHOT" ), equalTo( false ) );
+        assertThat( resolver.getLatest( "1.2-SNAPSHOT" ), equalTo( "1.2-20240101.120000-37" ) );
+
+        assertThat( resolver.add( "1.2-20240101.120000-38" ), equalTo( true ) );
+        assertThat( resolver.getLatest( "1.2" ), equalTo( "1.2-20240101.120000-38" ) );
+
+        resolver.addAll( VERSIONS );
+        final Map<String, String> latest = resolver.getLatestVersions();
+        assertThat( latest.size(), equalTo( 3 ) );
+        assertThat( latest.get( "1.2-SNAPSHOT" ), equalTo( "1.2-20240102.090000-39" ) );
+        assertThat( latest.get( "11.2-SNAPSHOT" ), equalTo( "11.2-20250101.000000-1" ) );
+
+        resolver.clear();
+        assertThat( resolver.getLatest( "1.2-SNAPSHOT" ), nullValue() );
+    }
+
+    @Test
+    public void matchVersionOrdering()
+    {
+        final Random random = new Random( 42 );
+        final List<String> versions = new ArrayList<>();
+        for ( int i = 0; i < 500; i++ )
+        {
+            versions.add( String.format( "2.0-2024%02d%02d.%02d%02d%02d-%d", 1 + random.nextInt( 12 ),
+                                         1 + random.nextInt( 28 ), random.nextInt( 24 ), random.nextInt( 60 ),
+                                         random.nextInt( 60 ), 1 + random.nextInt( 300 ) ) );
+        }
+
+        final List<SingleVersion> parsed = new ArrayList<>();
+        for ( final String version : versions )
+        {
+            parsed.add( VersionUtils.createSingleVersion( version ) );
+        }
+        final SingleVersion max = Collections.max( parsed, VersionSpecComparisons::compareTo );
+
+        assertThat( SnapshotVersionResolver.findLatest( "2.0-SNAPSHOT", versions ), equalTo( max.renderStandard() ) );
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.commonjava.atlas.maven.ident.version.RangeVersionSpec;
+import org.commonjava.atlas.maven.ident.version.SingleVersion;
+import org.commonjava.atlas.maven.ident.version.VersionSpec;
+import org.junit.After;
+import org.junit.Test;
+
+public class VersionSpecCacheTest
+{
+
+    @After
+    public void disableCache()
+    {
+        VersionUtils.disableVersionCache();
+    }
+
+    @Test
+    public void disabledByDefault()
+    {
+        assertThat( VersionUtils.getVersionCache(), nullValue() );
+        assertThat( VersionUtils.createFromSpec( "1.0" ), not( sameInstance( VersionUtils.createFromSpec( "1.0" ) ) ) );
+    }
+
+    @Test
+    public void repeatedSpecsShareInstance()
+    {
+        final VersionSpecCache cache = VersionUtils.enableVersionCache( 100 );
+
+        final VersionSpec first = VersionUtils.createFromSpec( "1.0-SNAPSHOT" );
+        final VersionSpec second = VersionUtils.createFromSpec( "1.0-SNAPSHOT" );
+
+        assertThat( second, sameInstance( first ) );
+        assertThat( cache.getMissCount(), equalTo( 1L ) );
+        assertThat( cache.getHitCount(), equalTo( 1L ) );
+        assertThat( cache.size(), equalTo( 1 ) );
+    }
+
+    @Test
+    public void singleAndRangeFactoriesReuseCachedSpec()
+    {
+        VersionUtils.enableVersionCache( 100 );
+
+        final VersionSpec single = VersionUtils.createFromSpec( "2.1.0" );
+        assertThat( VersionUtils.createSingleVersion( "2.1.0" ), sameInstance( (SingleVersion) single ) );
+
+        final RangeVersionSpec range = VersionUtils.createRange( "[1.0,2.0)" );
+        assertThat( VersionUtils.createFromSpec( "[1.0,2.0)" ), sameInstance( (VersionSpec) range ) );
+        assertThat( VersionUtils.createRange( "[1.0,2.0)" ), sameInstance( range ) );
+    }
+
+    @Test
+    public void compoundSpecIsNotReturnedAsRange()
+    {
+        VersionUtils.enableVersionCache( 100 );
+
+        final VersionSpec compound = VersionUtils.createFromSpec( "[1.0,2.0)[3.0,4.0)" );
+        assertThat( compound, not( instanceOf( RangeVersionSpec.class ) ) );
+
+        final RangeVersionSpec range = VersionUtils.createRange( "[1.0,2.0)[3.0,4.0)" );
+        assertThat( range.getUpperBound(), equalTo( VersionUtils.createSingleVersion( "2.0" ) ) );
+    }
+
+    @Test
+    public void evictsBeyondMaxSize()
+    {
+        final VersionSpecCache cache = new VersionSpecCache( 32 );
+        for ( int i = 0; i < 1000; i++ )
+        {
+            final String v = "1." + i;
+            cache.put( v, VersionUtils.createSingleVersion( v ) );
+        }
+
+        assertThat( cache.size() <= 32, equalTo( true ) );
+        assertThat( cache.getEvictionCount(), equalTo( 1000L - cache.size() ) );
+    }
+
+    @Test
+    public void fillsUpToMaxSizeNotDivisibleBySegments()
+    {
+        final VersionSpecCache cache = new VersionSpecCache( 17 );
+        for ( int i = 0; i < 1000; i++ )
+        {
+            final String v = "1." + i;
+            cache.put( v, VersionUtils.createSingleVersion( v ) );
+        }
+
+        assertThat( cache.size(), equalTo( 17 ) );
+    }
+
+    @Test
+    public void firstPutWins()
+    {
+        final VersionSpecCache cache = new VersionSpecCache( 10 );
+        final SingleVersion first = VersionUtils.createSingleVersion( "3.0" );
+        final SingleVersion second = VersionUtils.createSingleVersion( "3.0" );
+
+        assertThat( cache.put( "3.0", first ), sameInstance( (VersionSpec) first ) );
+        assertThat( cache.put( "3.0", second ), sameInstance( (VersionSpec) first ) );
+        assertThat( cache.get( "3.0" ), sameInstance( (VersionSpec) first ) );
+    }
+
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.version;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.commonjava.atlas.maven.ident.util.VersionUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CompoundVersionSpecTest
+{
+    private static final String[] VERSIONS = { "0.9", "1.0-alpha-1", "1.0-SNAPSHOT", "1.0", "1.0.0", "1.0.1", "1.1",
+            "1.1-SNAPSHOT", "1.1-20240101.120000-3", "1.5.0.Final", "2.0-rc1", "2.0-SNAPSHOT", "2.0", "2.0.1-SNAPSHOT",
+            "2.1", "2.5", "2.5.3", "3.0", "3.0-SNAPSHOT", "3.1", "3.1.1", "4.0-SNAPSHOT", "10.0" };
+
+    private static final String[] SPECS = { "[1.0,2.0),[2.5,3.0),(3.1,)", "(,1.0),[3.0,3.1]", "[1.0,2.0),[1.5,2.5)",
+            "[1.0,2.0),[2.0,3.0)", "(1.0,2.0),(2.0,3.0)", "[1.0,2.0),(2.0,3.0)", "[1.0],[2.0],(2.5,3.0]",
+            "[2.0,1.0],[3.0,)", "(,1.0],[1.0,)", "[1.1-SNAPSHOT,2.0),[3.0,3.1)", "[1.0,2.0-SNAPSHOT],[3.0,)",
+            "(1.1-SNAPSHOT,2.0),(,0.9]", "(,2.0-SNAPSHOT],[3.0,3.1]", "[1.0,1.0),(2.0,2.0]" };
+
+    @Test
+    public void matchComponentContains()
+    {
+        for ( final String s : SPECS )
+        {
+            final CompoundVersionSpec spec = (CompoundVersionSpec) VersionUtils.createFromSpec( s );
+            for ( final String v : VERSIONS )
+            {
+                final SingleVersion version = VersionUtils.createSingleVersion( v );
+                boolean expected = false;
+                for ( final VersionSpec component : spec )
+                {
+                    expected = expected || component.contains( version );
+                }
+
+                assertThat( s + " contains " + v, spec.contains( version ), equalTo( expected ) );
+            }
+        }
+    }
+
+    @Test
+    public void parseCommasOnlyBetweenRanges()
+    {
+        final VersionSpec ranges = VersionUtils.createFromSpec( "[1.0,2.0),[2.5,3.0)" );
+        assertThat( ranges, instanceOf( CompoundVersionSpec.class ) );
+        assertThat( ( (CompoundVersionSpec) ranges ).getComponentCount(), equalTo( 2 ) );
+
+        final VersionSpec single = VersionUtils.createFromSpec( "1.0,2.0" );
+        assertThat( single, instanceOf( SingleVersion.class ) );
+        assertThat( single.isSingle(), equalTo( true ) );
+        assertThat( single.renderStandard(), equalTo( "1.0,2.0" ) );
+    }
+
+    @Test
+    public void combineSpecs()
+    {
+        final VersionSpec first = VersionUtils.createFromSpec( "[1.0,2.0),[2.5,3.0)" );
+        final VersionSpec second = VersionUtils.createFromSpec( "[1.5,2.6]" );
+
+        assertThat( CompoundVersionSpec.union( first, second ).renderStandard(), equalTo( "[1.0,3.0)" ) );
+        assertThat( CompoundVersionSpec.intersection( first, second ).renderStandard(),
+                    equalTo( "[1.5,2.0),[2.5,2.6]" ) );
+        assertThat( CompoundVersionSpec.complement( first ).renderStandard(), equalTo( "(,1.0),[2.0,2.5),[3.0,)" ) );
+        assertThat( CompoundVersionSpec.intersection( second, VersionUtils.createSingleVersion( "2.0" ) )
+                                       .renderStandard(), equalTo( "[2.0]" ) );
+
+        assertThat( CompoundVersionSpec.intersection( first, VersionUtils.createFromSpec( "[3.0,)" ) )
+                                       .getComponentCount(), equalTo( 0 ) );
+        assertThat( CompoundVersionSpec.union( first, CompoundVersionSpec.complement( first ) ), nullValue() );
+        assertThat( CompoundVersionSpec.intersection(), nullValue() );
+    }
+
+    @Test
+    public void combineLikeContains()
+    {
+        final List<SingleVersion> releases = new ArrayList<>();
+        for ( final String v : VERSIONS )
+        {
+            final SingleVersion version = VersionUtils.createSingleVersion( v );
+            if ( version.isRelease() )
+            {
+                releases.add( version );
+            }
+        }
+
+        final String[] specs = { "[1.0,2.0),[2.5,3.0),(3.1,)", "(,1.0),[3.0,3.1]", "[1.0,2.0),(2.0,3.0)", "[1.0]",
+                "(2.0,)", "(,2.5]" };
+        for ( final String f : specs )
+        {
+            final VersionSpec first = VersionUtils.createFromSpec( f );
+            final CompoundVersionSpec complement = CompoundVersionSpec.complement( first );
+            for ( final String s : specs )
+            {
+                final VersionSpec second = VersionUtils.createFromSpec( s );
+                final CompoundVersionSpec union = CompoundVersionSpec.union( first, second );
+                final CompoundVersionSpec intersection = CompoundVersionSpec.intersection( first, second );
+                for ( final SingleVersion version : releases )
+                {
+                    final String label = f + " / " + s + " / " + version;
+                    final boolean inFirst = first.contains( version );
+                    final boolean inSecond = second.contains( version );
+                    assertThat( label, union == null || union.contains( version ), equalTo( inFirst || inSecond ) );
+                    assertThat( label, intersection.contains( version ), equalTo( inFirst && inSecond ) );
+                    assertThat( label, complement.contains( version ), equalTo( !inFirst ) );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void containsAfterDeserializing()
+        throws Exception
+    {
+        final CompoundVersionSpec spec = (CompoundVersionSpec) VersionUtils.createFromSpec( "[1.0,2.0),[2.5,3.0)" );
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream( bytes ))
+        {
+            out.writeObject( spec );
+        }
+
+        final CompoundVersionSpec read;
+        try (ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ))
+        {
+            read = (CompoundVersionSpec) in.readObject();
+        }
+
+        assertThat( read.contains( VersionUtils.createSingleVersion( "2.6" ) ), equalTo( true ) );
+        assertThat( read.contains( VersionUtils.createSingleVersion( "2.2" ) ), equalTo( false ) );
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.version;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.commonjava.atlas.maven.ident.version.parse.SingleVersionScanner;
+import org.commonjava.atlas.maven.ident.version.parse.VersionParser;
+import org.commonjava.atlas.maven.ident.version.part.VersionPart;
+import org.commonjava.atlas.maven.ident.version.part.VersionPhrase;
+import org.junit.Test;
+
+/**
+ * Differential test: the hand-written scanner must produce exactly what the JavaCC grammar produces, or decline.
+ */
+public class SingleVersionScannerTest
+{
+
+    private static final String[] VERSIONS =
+        { "1-m2", "1-m11", "1-alpha2snapshot", "1-alpha2", "1-alpha-123", "1-beta-2", "1-beta123", "1-rc", "1-cr2",
+            "1-rc123", "1-SNAPSHOT", "1", "1-sp", "1-sp2", "1-sp123", "1-abc", "1-def", "1-pom-1", "1-1-snapshot",
+            "1-1", "1-2", "1-123", "2.0.0.a", "2.0", "2-1", "2.0.2", "2.0.123", "2.1-a", "2.1b", "2.1.0", "2.1-c",
+            "2.1-1", "2.1.0.1", "2.2", "2.123", "11m", "11.m2", "11.m11", "11.a", "11.a2", "11.a11", "11b", "11.b2",
+            "11.b11", "11", "11c", "1.0-SNAPSHOT", "1.0-20240101.120000-37", "1.0.20240101.120000-1",
+            "20031129.200437", "20031129.200437j", "20031129.200437-600", "9+181-r4173-1", "2.1.1.rebuild-SNAPSHOT",
+            "1.0.0.Final", "1.0.0.GA-redhat-00001", "3.2.1.Final-redhat-1", "1_2_3", "1.0snapshot", "1.0-snapshots",
+            "1.0SNAPSHOT", "1.0.SNAPSHOT", "120240101.120000", "1.0-20240101.120000-20240101.120000", "0", "00012",
+            "1.0-sp1", "abc123a", "1.0-rebuild-SNAPSHOT", "2.0.0-alpha-1-SNAPSHOT", "1.2.3.4.5.6.7.8.9.10",
+            "999999999999999999", "1-20240101.120000" };
+
+    @Test
+    public void knownVersionsMatchGrammar()
+        throws Exception
+    {
+        for ( final String v : VERSIONS )
+        {
+            assertThat( v, SingleVersionScanner.parse( v ), notNullValue() );
+            assertSameAsGrammar( v );
+        }
+    }
+
+    @Test
+    public void declinesWhatGrammarTruncatesOrRejects()
+    {
+        for ( final String v : new String[] { "abc123a.", "1..0", "1.0 ", "[1.0,2.0)", "1.0,2.0", "abc@1", "-1",
+            "1.0-", "1234567890123456789" } )
+        {
+            assertThat( v, SingleVersionScanner.parse( v ), nullValue() );
+        }
+    }
+
+    @Test
+    public void randomVersionsMatchGrammar()
+        throws Exception
+    {
+        final String alphabet = "0123456789012345678901234567890123456789abcSNAPHOTsnaphot....---_+";
+        final String[] fragments = { "SNAPSHOT", "20240101.120000", "-1", "alpha", "Final", "redhat-" };
+        final Random rand = new Random( 8675309 );
+        for ( int i = 0; i < 20000; i++ )
+        {
+            final StringBuilder sb = new StringBuilder();
+            final int len = 1 + rand.nextInt( 20 );
+            for ( int j = 0; j < len; j++ )
+            {
+                if ( rand.nextInt( 10 ) == 0 )
+                {
+                    sb.append( fragments[rand.nextInt( fragments.length )] );
+                }
+                else
+                {
+                    sb.append( alphabet.charAt( rand.nextInt( alphabet.length() ) ) );
+                }
+            }
+
+            assertSameAsGrammar( sb.toString() );
+        }
+    }
+
+    private void assertSameAsGrammar( final String v )
+        throws Exception
+    {
+        SingleVersion scanned;
+        try
+        {
+            scanned = SingleVersionScanner.parse( v );
+        }
+        catch ( final InvalidVersionSpecificationException e )
+        {
+            try
+            {
+                new VersionParser( v ).single();
+                fail( "Scanner rejected '" + v + "' but grammar accepted it: " + e.getMessage() );
+            }
+            catch ( final InvalidVersionSpecificationException expected )
+            {
+                assertThat( v, e.getMessage(), equalTo( expected.getMessage() ) );
+            }
+            return;
+        }
+
+        if ( scanned == null )
+        {
+            return;
+        }
+
+        final SingleVersion parsed = new VersionParser( v ).single();
+        assertThat( v, describe( scanned ), equalTo( describe( parsed ) ) );
+        assertThat( v, scanned.renderStandard(), equalTo( parsed.renderStandard() ) );
+        assertThat( v, scanned, equalTo( parsed ) );
+        assertThat( v, scanned.compareTo( parsed ), equalTo( 0 ) );
+    }
+
+    private String describe( final SingleVersion version )
+    {
+        final StringBuilder sb = new StringBuilder();
+        for ( final VersionPhrase phrase : version.getVersionPhrases() )
+        {
+            sb.append( phrase.getSeparator() )
+              .append( phrase.isSilent() ? "(silent)" : "" )
+              .append( ':' );
+            for ( final VersionPart part : phrase.getVersionParts() )
+            {
+                sb.append( part )
+                  .append( ' ' );
+            }
+            sb.append( '|' );
+        }
+
+        return sb.toString();
+    }
+
+}
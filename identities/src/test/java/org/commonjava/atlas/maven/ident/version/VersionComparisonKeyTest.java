@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.version;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.commonjava.atlas.maven.ident.util.VersionUtils;
+import org.junit.Test;
+
+/**
+ * The packed comparison key must order versions exactly like the phrase-by-phrase comparison it replaces.
+ */
+public class VersionComparisonKeyTest
+{
+
+    private static final String[] VERSIONS =
+        { "1-m2", "1-m11", "1-alpha2snapshot", "1-alpha2", "1-alpha-123", "1-beta-2", "1-beta123", "1-rc", "1-cr2",
+            "1-rc123", "1-SNAPSHOT", "1", "1-sp", "1-sp2", "1-sp123", "1-abc", "1-def", "1-pom-1", "1-1-snapshot",
+            "1-1", "1-2", "1-123", "2.0.0.a", "2.0", "2-1", "2.0.2", "2.0.123", "2.1-a", "2.1b", "2.1.0", "2.1-c",
+            "2.1-1", "2.1.0.1", "2.2", "2.123", "11m", "11.m2", "11.m11", "11.a", "11.a2", "11.a11", "11b", "11.b2",
+            "11.b11", "11", "11c", "1.0-SNAPSHOT", "1.0-20240101.120000-37", "1.0-20240101.120000-4",
+            "1.0-20231231.235959-99", "20031129.200437", "20031129.200437j", "9+181-r4173-1",
+            "2.1.1.rebuild-SNAPSHOT", "1.0.0.Final", "1.0.0.GA-redhat-00001", "3.2.1.Final-redhat-1", "1_2_3",
+            "1.0SNAPSHOT", "1.0-GA", "1-GA", "1-GA-alpha", "1-GA-1", "1-Final-SNAPSHOT", "1.0.0", "0", "0.0.1",
+            "1.0-redhat", "1.0-REDHAT", "1.0-jboss", "1.0-preview", "1.0-pre", "1.0-milestone-1", "1.0-cp1",
+            "1.0-sp1-redhat-2", "1.0-0", "1.0-0-SNAPSHOT", "1.0.GA-SNAPSHOT" };
+
+    @Test
+    public void knownVersionsAreKeyed()
+    {
+        for ( final String v : VERSIONS )
+        {
+            assertThat( v, VersionUtils.createSingleVersion( v ).getComparisonKey(), notNullValue() );
+        }
+    }
+
+    @Test
+    public void hugeNumbersAndLongQualifiersAreNotKeyed()
+    {
+        assertThat( VersionUtils.createSingleVersion( "1.999999999999999999" ).getComparisonKey(), nullValue() );
+        assertThat( VersionUtils.createSingleVersion( "1.0-abcdefghijklmnop" ).getComparisonKey(), nullValue() );
+    }
+
+    @Test
+    public void keyOrderMatchesPhraseOrder()
+    {
+        final List<SingleVersion> versions = new ArrayList<SingleVersion>();
+        for ( final String v : VERSIONS )
+        {
+            versions.add( VersionUtils.createSingleVersion( v ) );
+        }
+
+        // mix in versions that can't be keyed, to exercise the fallback against keyed ones.
+        versions.add( VersionUtils.createSingleVersion( "1.0-abcdefghijklmnop" ) );
+        versions.add( VersionUtils.createSingleVersion( "1.999999999999999999" ) );
+
+        assertOrderMatches( versions );
+    }
+
+    @Test
+    public void keyOrderMatchesPhraseOrderForRandomVersions()
+    {
+        final String[] fragments =
+            { "0", "1", "2", "10", "00", ".", ".", "-", "-", "_", "alpha", "a", "b", "m", "rc", "cr", "sp", "ga",
+                "final", "redhat", "jboss", "x", "SNAPSHOT", "20240101.120000-3" };
+        final Random rand = new Random( 42 );
+        final List<SingleVersion> versions = new ArrayList<SingleVersion>();
+        while ( versions.size() < 400 )
+        {
+            final StringBuilder sb = new StringBuilder( fragments[rand.nextInt( 4 )] );
+            final int len = rand.nextInt( 8 );
+            for ( int i = 0; i < len; i++ )
+            {
+                sb.append( fragments[rand.nextInt( fragments.length )] );
+            }
+
+            try
+            {
+                versions.add( VersionUtils.createSingleVersion( sb.toString() ) );
+            }
+            catch ( final InvalidVersionSpecificationException e )
+            {
+                // not a usable version; skip it.
+            }
+        }
+
+        assertOrderMatches( versions );
+    }
+
+    private void assertOrderMatches( final List<SingleVersion> versions )
+    {
+        for ( final SingleVersion first : versions )
+        {
+            for ( final SingleVersion second : versions )
+            {
+                final int expected = Integer.signum( VersionSpecComparisons.compareSingleToSinglePhrases( first, second ) );
+                final int actual = Integer.signum( VersionSpecComparisons.compareTo( first, second ) );
+
+                assertThat( first.renderStandard() + " vs " + second.renderStandard(), actual, equalTo( expected ) );
+            }
+        }
+    }
+
+}
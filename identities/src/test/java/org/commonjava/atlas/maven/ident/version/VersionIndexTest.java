@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.ident.version;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.commonjava.atlas.maven.ident.util.VersionUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class VersionIndexTest
+{
+    private static final String[] VERSIONS = { "1.0-alpha-1", "1.0-beta-2", "1.0-SNAPSHOT", "1.0", "1.0.1", "1.1",
+            "1.1-SNAPSHOT", "1.1-20240101.120000-3", "1.5.0.Final", "1.5.0.Final-redhat-00001", "2.0-rc1", "2.0",
+            "2.0-SNAPSHOT", "2.0.1-SNAPSHOT", "2.1", "2.5", "2.5.3", "3.0", "3.1", "3.1.1", "4.0-SNAPSHOT", "10.0" };
+
+    private static final String[] SPECS = { "[1.0,2.0)", "[1.0,2.0]", "(1.0,2.0)", "(1.0,2.0]", "[1.0,)", "(,2.0]",
+            "(,2.0)", "[2.0]", "[1.0,2.0),[2.5,3.0),(3.1,)", "(,1.0),[3.0,3.1]", "[1.1-SNAPSHOT,2.0)",
+            "[1.0,2.0-SNAPSHOT]", "(1.1-SNAPSHOT,2.0)", "[5.0,6.0]", "1.1", "2.0-SNAPSHOT" };
+
+    @Test
+    public void matchContains()
+    {
+        final List<SingleVersion> versions = new ArrayList<>();
+        for ( final String version : VERSIONS )
+        {
+            versions.add( VersionUtils.createSingleVersion( version ) );
+        }
+
+        // insert in shuffled order to exercise incremental insertion
+        final List<SingleVersion> shuffled = new ArrayList<>( versions );
+        Collections.shuffle( shuffled, new java.util.Random( 7 ) );
+        final VersionIndex index = new VersionIndex();
+        for ( final SingleVersion version : shuffled )
+        {
+            assertThat( index.add( version ), equalTo( true ) );
+        }
+
+        final List<SingleVersion> sorted = new ArrayList<>( versions );
+        Collections.sort( sorted, VersionSpecComparisons.comparator() );
+        assertThat( index.getVersions(), equalTo( sorted ) );
+
+        for ( final String s : SPECS )
+        {
+            final VersionSpec spec = VersionUtils.createFromSpec( s );
+            final List<SingleVersion> expected = new ArrayList<>();
+            for ( final SingleVersion version : sorted )
+            {
+                if ( spec.contains( version ) )
+                {
+                    expected.add( version );
+                }
+            }
+
+            assertThat( s, index.findAll( spec ), equalTo( expected ) );
+            assertThat( s, index.findLowest( spec ), equalTo( expected.isEmpty() ? null : expected.get( 0 ) ) );
+            assertThat( s, index.findHighest( spec ),
+                        equalTo( expected.isEmpty() ? null : expected.get( expected.size() - 1 ) ) );
+        }
+    }
+
+    @Test
+    public void ignoreDuplicates()
+    {
+        final VersionIndex index = new VersionIndex();
+        assertThat( index.add( VersionUtils.createSingleVersion( "1.0" ) ), equalTo( true ) );
+        assertThat( index.add( VersionUtils.createSingleVersion( "1.0" ) ), equalTo( false ) );
+
+        final List<SingleVersion> more = new ArrayList<>();
+        more.add( VersionUtils.createSingleVersion( "1.0" ) );
+        more.add( VersionUtils.createSingleVersion( "2.0" ) );
+        more.add( VersionUtils.createSingleVersion( "0.9" ) );
+        assertThat( index.addAll( more ), equalTo( 2 ) );
+        assertThat( index.size(), equalTo( 3 ) );
+        assertThat( index.getVersions().get( 0 ).renderStandard(), equalTo( "0.9" ) );
+    }
+
+    @Test
+    public void findNothingInEmptyIndex()
+    {
+        final VersionIndex index = new VersionIndex();
+        final VersionSpec spec = VersionUtils.createFromSpec( "[1.0,2.0)" );
+        assertThat( index.findHighest( spec ), nullValue() );
+        assertThat( index.findLowest( spec ), nullValue() );
+        assertThat( index.findAll( spec ).isEmpty(), equalTo( true ) );
+    }
+}
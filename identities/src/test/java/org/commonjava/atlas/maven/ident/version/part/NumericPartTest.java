@@ -16,9 +16,15 @@
 package org.commonjava.atlas.maven.ident.version.part;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
+import java.math.BigInteger;
+
+import org.commonjava.atlas.maven.ident.util.VersionUtils;
 import org.commonjava.atlas.maven.ident.version.InvalidVersionSpecificationException;
+import org.commonjava.atlas.maven.ident.version.SingleVersion;
 import org.commonjava.atlas.maven.ident.version.part.NumericPart;
 import org.junit.Test;
 
@@ -32,4 +38,34 @@ public class NumericPartTest
         assertThat( new NumericPart( "20050331" ), equalTo( new NumericPart( "20050331" ) ) );
     }
 
+    @Test
+    public void smallValuesAreShared()
+    {
+        assertThat( NumericPart.valueOf( "0" ), sameInstance( NumericPart.ZERO ) );
+        assertThat( NumericPart.valueOf( 255 ), sameInstance( NumericPart.valueOf( "255" ) ) );
+        assertThat( NumericPart.valueOf( 256 ), not( sameInstance( NumericPart.valueOf( 256 ) ) ) );
+        assertThat( NumericPart.valueOf( 256 ), equalTo( new NumericPart( 256 ) ) );
+    }
+
+    @Test
+    public void valueIsStillAvailableAsBigInteger()
+    {
+        assertThat( new NumericPart( "20050331" ).getValue(), equalTo( BigInteger.valueOf( 20050331 ) ) );
+        assertThat( new NumericPart( Long.MAX_VALUE ).getValue(), equalTo( BigInteger.valueOf( Long.MAX_VALUE ) ) );
+        assertThat( new NumericPart( 12 ).compareTo( new NumericPart( 3 ) ) > 0, equalTo( true ) );
+    }
+
+    @Test
+    public void sharedZeroIsOnlySilentWhereItTrails()
+        throws InvalidVersionSpecificationException
+    {
+        final SingleVersion trailing = VersionUtils.createSingleVersion( "1.0" );
+        final SingleVersion leading = VersionUtils.createSingleVersion( "0.1" );
+
+        assertThat( trailing, equalTo( VersionUtils.createSingleVersion( "1" ) ) );
+        assertThat( leading, not( equalTo( VersionUtils.createSingleVersion( "1" ) ) ) );
+        assertThat( leading, not( equalTo( VersionUtils.createSingleVersion( "0.1.1" ) ) ) );
+        assertThat( leading, equalTo( VersionUtils.createSingleVersion( "0.1.0" ) ) );
+    }
+
 }
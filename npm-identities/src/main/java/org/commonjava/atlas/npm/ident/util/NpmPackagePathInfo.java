@@ -32,6 +32,8 @@ public class NpmPackagePathInfo implements PathInfo
 
     private static final String PACKAGE_PATH_REGEX = "/((?:(.+)/)?(.+))/-/(.+)\\" + EXT_TGZ;
 
+    private static final Pattern PACKAGE_PATH_PATTERN = Pattern.compile( PACKAGE_PATH_REGEX );
+
     private static final int SCOPED_PACKAGE_NAME_GROUP = 1;
 
     private static final int PACKAGE_SCOPE_GROUP = 2;
@@ -52,7 +54,7 @@ public class NpmPackagePathInfo implements PathInfo
      */
     public static NpmPackagePathInfo parse( final String path )
     {
-        final Matcher matcher = Pattern.compile( PACKAGE_PATH_REGEX ).matcher( path.replace( '\\', '/' ) );
+        final Matcher matcher = PACKAGE_PATH_PATTERN.matcher( path.replace( '\\', '/' ) );
         if ( !matcher.matches() )
         {
             return null;
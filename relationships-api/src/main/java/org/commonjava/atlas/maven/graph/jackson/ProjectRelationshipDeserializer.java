@@ -27,6 +27,7 @@ import org.commonjava.atlas.maven.graph.rel.SimpleExtensionRelationship;
 import org.commonjava.atlas.maven.graph.rel.SimpleParentRelationship;
 import org.commonjava.atlas.maven.graph.rel.SimplePluginDependencyRelationship;
 import org.commonjava.atlas.maven.graph.rel.SimplePluginRelationship;
+import org.commonjava.atlas.maven.graph.rel.SourceSet;
 import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
 import org.commonjava.atlas.maven.ident.ref.ProjectRef;
 import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
@@ -34,13 +35,10 @@ import org.commonjava.atlas.maven.ident.ref.SimpleArtifactRef;
 import org.commonjava.atlas.maven.ident.ref.SimpleProjectRef;
 import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
 import org.commonjava.atlas.maven.ident.DependencyScope;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.*;
 
 /**
  * Created by jdcasey on 8/26/15.
@@ -60,139 +58,114 @@ public final class ProjectRelationshipDeserializer<T extends ProjectRelationship
     public T deserialize( final JsonParser jp, final DeserializationContext ctx )
             throws JsonProcessingException, IOException
     {
-        Map<String, Object> ast = new HashMap<String, Object>();
-        Map<String, JsonLocation> locations = new HashMap<String, JsonLocation>();
-
+        String typeName = null;
+        URI pomLocation = RelationshipConstants.POM_ROOT_URI;
+        final SourceSet.Builder sourceBuilder = new SourceSet.Builder();
+        String decl = null;
+        String tgt = null;
+        String scp = null;
+        String plug = null;
+        int index = 0;
+        boolean managed = false;
+        boolean inherited = false;
+        boolean mixin = false;
+        boolean optional = false;
+        boolean report = false;
+
+        // dispatch on each field as it streams by, rather than collecting the object into a map first
         JsonToken token = jp.getCurrentToken();
-        String currentField = null;
-        List<String> currentArry = null;
+        if ( token == JsonToken.START_OBJECT )
+        {
+            token = jp.nextToken();
+        }
 
-        Logger logger = LoggerFactory.getLogger( getClass() );
-        do
+        for ( ; token == JsonToken.FIELD_NAME; token = jp.nextToken() )
         {
-            //                logger.info( "Token: {}", token );
-            switch ( token )
+            final String field = jp.getCurrentName();
+            token = jp.nextToken();
+
+            if ( SerializationConstants.RELATIONSHIP_TYPE.equals( field ) )
+            {
+                typeName = jp.getValueAsString();
+            }
+            else if ( SerializationConstants.POM_LOCATION_URI.equals( field ) )
             {
-                case START_ARRAY:
+                final String uri = jp.getValueAsString();
+                if ( uri != null )
                 {
-                    //                        logger.info( "Starting array for field: {}", currentField );
-                    currentArry = new ArrayList<String>();
-                    break;
+                    pomLocation = toURI( jp, uri, "Invalid " + SerializationConstants.POM_LOCATION_URI );
                 }
-                case END_ARRAY:
-                    //                        logger.info( "Ending array for field: {}", currentField );
-                    locations.put( currentField, jp.getCurrentLocation() );
-                    ast.put( currentField, currentArry );
-                    currentArry = null;
-                    break;
-                case FIELD_NAME:
-                    currentField = jp.getCurrentName();
-                    break;
-                case VALUE_STRING:
-                    if ( currentArry != null )
+            }
+            else if ( SerializationConstants.SOURCE_URIS.equals( field ) && token == JsonToken.START_ARRAY )
+            {
+                while ( ( token = jp.nextToken() ) != JsonToken.END_ARRAY )
+                {
+                    if ( token == JsonToken.VALUE_STRING )
                     {
-                        currentArry.add( jp.getText() );
+                        sourceBuilder.add( toURI( jp, jp.getText(), "Failed to parse source URI" ) );
                     }
                     else
                     {
-                        locations.put( currentField, jp.getCurrentLocation() );
-                        ast.put( currentField, jp.getText() );
+                        jp.skipChildren();
                     }
-                    break;
-                case VALUE_NUMBER_INT:
-                    locations.put( currentField, jp.getCurrentLocation() );
-                    ast.put( currentField, jp.getIntValue() );
-                    break;
-                case VALUE_NUMBER_FLOAT:
-                    locations.put( currentField, jp.getCurrentLocation() );
-                    ast.put( currentField, jp.getFloatValue() );
-                    break;
-                case VALUE_TRUE:
-                    locations.put( currentField, jp.getCurrentLocation() );
-                    ast.put( currentField, Boolean.TRUE );
-                    break;
-                case VALUE_FALSE:
-                    locations.put( currentField, jp.getCurrentLocation() );
-                    ast.put( currentField, Boolean.FALSE );
-                    break;
+                }
             }
-
-            token = jp.nextToken();
-        }
-        while ( token != JsonToken.END_OBJECT );
-
-        StringBuilder sb = new StringBuilder();
-        sb.append( "AST is:" );
-        for ( String field : ast.keySet() )
-        {
-            Object value = ast.get( field );
-            sb.append( "\n  " ).append( field ).append( " = " );
-            if ( value == null )
+            else if ( SerializationConstants.DECLARING_REF.equals( field ) )
             {
-                sb.append( "null" );
+                decl = jp.getValueAsString();
             }
-            else
+            else if ( SerializationConstants.TARGET_REF.equals( field ) )
             {
-                sb.append( value ).append( "  (type: " ).append( value.getClass().getSimpleName() ).append( ")" );
+                tgt = jp.getValueAsString();
             }
-        }
-
-        logger.debug( sb.toString() );
-
-        final RelationshipType type = RelationshipType.getType( (String) ast.get( SerializationConstants.RELATIONSHIP_TYPE ) );
-
-        final String uri = (String) ast.get( SerializationConstants.POM_LOCATION_URI );
-        URI pomLocation;
-        if ( uri == null )
-        {
-            pomLocation = RelationshipConstants.POM_ROOT_URI;
-        }
-        else
-        {
-            try
+            else if ( SerializationConstants.INDEX.equals( field ) )
             {
-                pomLocation = new URI( uri );
+                index = jp.getValueAsInt();
             }
-            catch ( final URISyntaxException e )
+            else if ( SerializationConstants.SCOPE.equals( field ) )
             {
-                throw new JsonParseException( "Invalid " + SerializationConstants.POM_LOCATION_URI + ": '" + uri + "': " + e.getMessage(),
-                                              locations.get( SerializationConstants.POM_LOCATION_URI ), e );
+                scp = jp.getValueAsString();
             }
-        }
-
-        Collection<URI> sources = new HashSet<URI>();
-        List<String> srcs = (List<String>) ast.get( SerializationConstants.SOURCE_URIS );
-        if ( srcs != null )
-        {
-            for ( String u : srcs )
+            else if ( SerializationConstants.PLUGIN_REF.equals( field ) )
             {
-                try
-                {
-                    sources.add( new URI( u ) );
-                }
-                catch ( URISyntaxException e )
-                {
-                    throw new JsonParseException( "Failed to parse source URI: " + u,
-                                                  locations.get( SerializationConstants.SOURCE_URIS ) );
-                }
+                plug = jp.getValueAsString();
+            }
+            // handle null implicitly by comparing to true.
+            else if ( SerializationConstants.MANAGED.equals( field ) )
+            {
+                managed = token == JsonToken.VALUE_TRUE;
+            }
+            else if ( SerializationConstants.INHERITED.equals( field ) )
+            {
+                inherited = token == JsonToken.VALUE_TRUE;
+            }
+            else if ( SerializationConstants.MIXIN.equals( field ) )
+            {
+                mixin = token == JsonToken.VALUE_TRUE;
+            }
+            else if ( SerializationConstants.OPTIONAL.equals( field ) )
+            {
+                optional = token == JsonToken.VALUE_TRUE;
+            }
+            else if ( SerializationConstants.REPORTING.equals( field ) )
+            {
+                report = token == JsonToken.VALUE_TRUE;
+            }
+            else
+            {
+                jp.skipChildren();
             }
         }
 
-        String decl = (String) ast.get( SerializationConstants.DECLARING_REF );
-        final ProjectVersionRef declaring = SimpleProjectVersionRef.parse( decl );
-
-        String tgt = (String) ast.get( SerializationConstants.TARGET_REF );
-        Integer index = (Integer) ast.get( SerializationConstants.INDEX );
-        if ( index == null )
+        final RelationshipType type = RelationshipType.getType( typeName );
+        if ( type == null )
         {
-            index = 0;
+            throw new JsonParseException( "Invalid or missing relationship " + SerializationConstants.RELATIONSHIP_TYPE
+                                                  + ": " + typeName, jp.getCurrentLocation() );
         }
 
-        // handle null implicitly by comparing to true.
-        boolean managed = Boolean.TRUE.equals( ast.get( SerializationConstants.MANAGED ) );
-        boolean inherited = Boolean.TRUE.equals( ast.get( SerializationConstants.INHERITED ) );
-        boolean mixin = Boolean.TRUE.equals( ast.get( SerializationConstants.MIXIN ) );
-        boolean optional = Boolean.TRUE.equals( ast.get( SerializationConstants.OPTIONAL ) );
+        final ProjectVersionRef declaring = SimpleProjectVersionRef.parse( decl );
+        final SourceSet sources = sourceBuilder.build();
 
         ProjectRelationship<?, ?> rel = null;
         switch ( type )
@@ -201,7 +174,6 @@ public final class ProjectRelationshipDeserializer<T extends ProjectRelationship
             {
                 final ArtifactRef target = SimpleArtifactRef.parse( tgt );
 
-                String scp = (String) ast.get( SerializationConstants.SCOPE );
                 final DependencyScope scope;
                 if ( scp == null )
                 {
@@ -234,14 +206,12 @@ public final class ProjectRelationshipDeserializer<T extends ProjectRelationship
             {
                 final ProjectVersionRef target = SimpleProjectVersionRef.parse( tgt );
 
-                Boolean report = (Boolean) ast.get( SerializationConstants.REPORTING );
-                rel = new SimplePluginRelationship( sources, pomLocation, declaring, target, index, managed,
-                                                    Boolean.TRUE.equals( report ), inherited );
+                rel = new SimplePluginRelationship( sources, pomLocation, declaring, target, index, managed, report,
+                                                    inherited );
                 break;
             }
             case PLUGIN_DEP:
             {
-                String plug = (String) ast.get( SerializationConstants.PLUGIN_REF );
                 if ( plug == null )
                 {
                     throw new JsonParseException( "No plugin reference (field: " + SerializationConstants.PLUGIN_REF
@@ -267,4 +237,18 @@ public final class ProjectRelationshipDeserializer<T extends ProjectRelationship
 
         return (T) rel;
     }
+
+    private static URI toURI( final JsonParser jp, final String value, final String message )
+            throws JsonParseException
+    {
+        try
+        {
+            return new URI( value );
+        }
+        catch ( final URISyntaxException e )
+        {
+            throw new JsonParseException( message + ": '" + value + "': " + e.getMessage(), jp.getCurrentLocation(),
+                                          e );
+        }
+    }
 }
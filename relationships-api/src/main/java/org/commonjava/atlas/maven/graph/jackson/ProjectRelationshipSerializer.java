@@ -26,7 +26,6 @@ import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.Iterator;
 import java.util.Set;
 
 /**
@@ -54,14 +53,8 @@ public final class ProjectRelationshipSerializer<T extends ProjectRelationship>
         Set<URI> sources = value.getSources();
         if ( sources != null )
         {
-            for ( Iterator<URI> iter = sources.iterator(); iter.hasNext(); )
-            {
-                if ( iter.next() == null )
-                {
-                    iter.remove();
-                }
-            }
-            if ( !sources.isEmpty() )
+            // sources may be shared and read-only, so skip nulls rather than removing them
+            if ( !sources.isEmpty() && !( sources.size() == 1 && sources.contains( null ) ) )
             {
                 gen.writeArrayFieldStart( SerializationConstants.SOURCE_URIS );
                 for ( URI uri : sources )
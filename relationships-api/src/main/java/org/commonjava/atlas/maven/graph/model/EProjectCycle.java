@@ -86,22 +86,22 @@ public class EProjectCycle
 
         public int indexOf( final ProjectVersionRef ref )
         {
-            return build().indexOf( ref );
+            return EProjectCycle.indexOf( participants, ref );
         }
 
         public int indexOf( final ProjectRelationship<?, ?> rel )
         {
-            return build().indexOf( rel );
+            return participants.indexOf( rel );
         }
 
         public boolean contains( final ProjectVersionRef ref )
         {
-            return build().contains( ref );
+            return EProjectCycle.contains( participants, ref );
         }
 
         public boolean contains( final ProjectRelationship<?, ?> rel )
         {
-            return build().contains( rel );
+            return participants.contains( rel );
         }
     }
 
@@ -118,6 +118,21 @@ public class EProjectCycle
     }
 
     public boolean contains( final ProjectVersionRef ref )
+    {
+        return contains( relationships, ref );
+    }
+
+    public int indexOf( final ProjectRelationship<?, ?> rel )
+    {
+        return relationships.indexOf( rel );
+    }
+
+    public int indexOf( final ProjectVersionRef ref )
+    {
+        return indexOf( relationships, ref );
+    }
+
+    private static boolean contains( final List<ProjectRelationship<?, ?>> relationships, final ProjectVersionRef ref )
     {
         for ( final ProjectRelationship<?, ?> rel : relationships )
         {
@@ -131,12 +146,7 @@ public class EProjectCycle
         return false;
     }
 
-    public int indexOf( final ProjectRelationship<?, ?> rel )
-    {
-        return relationships.indexOf( rel );
-    }
-
-    public int indexOf( final ProjectVersionRef ref )
+    private static int indexOf( final List<ProjectRelationship<?, ?>> relationships, final ProjectVersionRef ref )
     {
         int targetIdx = -1;
         for ( int i = 0; i < relationships.size(); i++ )
@@ -38,6 +38,7 @@ import org.commonjava.atlas.maven.graph.rel.ParentRelationship;
 import org.commonjava.atlas.maven.graph.rel.PluginDependencyRelationship;
 import org.commonjava.atlas.maven.graph.rel.PluginRelationship;
 import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.RelationshipType;
 import org.commonjava.atlas.maven.graph.rel.SimpleDependencyRelationship;
 import org.commonjava.atlas.maven.graph.rel.SimpleExtensionRelationship;
 import org.commonjava.atlas.maven.graph.rel.SimpleParentRelationship;
@@ -73,6 +74,10 @@ public class EProjectDirectRelationships
 
     private Map<PluginKey, List<PluginDependencyRelationship>> pluginDependencies;
 
+    private transient volatile Set<ProjectRelationship<?, ?>> exactAllRelationships;
+
+    private transient volatile Set<ProjectRelationship<?, ?>> allRelationships;
+
     public EProjectDirectRelationships() {}
 
     public EProjectDirectRelationships( final URI source,
@@ -162,39 +167,119 @@ public class EProjectDirectRelationships
         return boms;
     }
 
+    /**
+     * @return every relationship except a terminal parent, computed on first use. The set is shared and read-only.
+     */
     @JsonIgnore
     @Override
     public Set<ProjectRelationship<?, ?>> getAllRelationships()
     {
-        final Set<ProjectRelationship<?, ?>> rels = getExactAllRelationships();
-        filterTerminalParents( rels );
+        Set<ProjectRelationship<?, ?>> rels = allRelationships;
+        if ( rels == null )
+        {
+            final Set<ProjectRelationship<?, ?>> exact = getExactAllRelationships();
+            if ( parent instanceof SimpleParentRelationship && parent.isTerminus() )
+            {
+                final Set<ProjectRelationship<?, ?>> result = new HashSet<ProjectRelationship<?, ?>>( exact );
+                filterTerminalParents( result );
+                rels = Collections.unmodifiableSet( result );
+            }
+            else
+            {
+                rels = exact;
+            }
+
+            allRelationships = rels;
+        }
 
         return rels;
     }
 
+    /**
+     * @return every relationship, computed on first use. The set is shared and read-only.
+     */
     @JsonIgnore
     @Override
     public Set<ProjectRelationship<?, ?>> getExactAllRelationships()
     {
-        final Set<ProjectRelationship<?, ?>> result = new HashSet<ProjectRelationship<?, ?>>();
-        if ( parent != null )
+        Set<ProjectRelationship<?, ?>> rels = exactAllRelationships;
+        if ( rels == null )
         {
-            result.add( parent );
+            final Set<ProjectRelationship<?, ?>> result = new HashSet<ProjectRelationship<?, ?>>();
+            if ( parent != null )
+            {
+                result.add( parent );
+            }
+
+            result.addAll( boms );
+            result.addAll( dependencies );
+            result.addAll( managedDependencies );
+            result.addAll( plugins );
+            result.addAll( managedPlugins );
+            result.addAll( extensions );
+
+            for ( final List<PluginDependencyRelationship> pluginRels : pluginDependencies.values() )
+            {
+                result.addAll( pluginRels );
+            }
+
+            rels = Collections.unmodifiableSet( result );
+            exactAllRelationships = rels;
         }
 
-        result.addAll( boms );
-        result.addAll( dependencies );
-        result.addAll( managedDependencies );
-        result.addAll( plugins );
-        result.addAll( managedPlugins );
-        result.addAll( extensions );
+        return rels;
+    }
+
+    /**
+     * @return the relationships of one type, managed ones included, straight from the lists that hold them and without
+     *         building the full relationship set. The list is read-only.
+     */
+    public List<? extends ProjectRelationship<?, ?>> getRelationships( final RelationshipType type )
+    {
+        switch ( type )
+        {
+            case PARENT:
+                return parent == null ? Collections.<ParentRelationship>emptyList()
+                                : Collections.singletonList( parent );
+            case BOM:
+                return boms;
+            case DEPENDENCY:
+                return concat( dependencies, managedDependencies );
+            case PLUGIN:
+                return concat( plugins, managedPlugins );
+            case EXTENSION:
+                return extensions;
+            case PLUGIN_DEP:
+            {
+                final List<PluginDependencyRelationship> result = new ArrayList<PluginDependencyRelationship>();
+                for ( final List<PluginDependencyRelationship> pluginRels : pluginDependencies.values() )
+                {
+                    result.addAll( pluginRels );
+                }
 
-        for ( final List<PluginDependencyRelationship> pluginRels : pluginDependencies.values() )
+                return Collections.unmodifiableList( result );
+            }
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    private static <T> List<T> concat( final List<T> first, final List<T> second )
+    {
+        if ( second.isEmpty() )
+        {
+            return first;
+        }
+        else if ( first.isEmpty() )
         {
-            result.addAll( pluginRels );
+            return second;
         }
 
-        return result;
+        final List<T> result = new ArrayList<T>( first.size() + second.size() );
+        result.addAll( first );
+        result.addAll( second );
+
+        return Collections.unmodifiableList( result );
     }
 
     public static final class Builder
@@ -0,0 +1,405 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.model;
+
+import static org.commonjava.atlas.maven.graph.util.RelationshipUtils.filterTerminalParents;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.commonjava.atlas.maven.graph.rel.BomRelationship;
+import org.commonjava.atlas.maven.graph.rel.DependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.ExtensionRelationship;
+import org.commonjava.atlas.maven.graph.rel.ParentRelationship;
+import org.commonjava.atlas.maven.graph.rel.PluginDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.PluginRelationship;
+import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleParentRelationship;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+
+/**
+ * Read-only view of {@link EProjectDirectRelationships} stored as JSON, which only decodes each section of the record
+ * the first time it is used. Building the view scans the JSON once to find where the sections are, without creating
+ * any relationships; after that, reading only the parent or only the dependencies costs about as much as decoding
+ * those alone.
+ * <p>
+ * The mapper must have the ref and relationship serializer modules registered, as for reading
+ * {@link EProjectDirectRelationships} itself. A section that is missing or null in the JSON reads as an empty list or
+ * map (or a null parent). A section that fails to decode throws an {@link UncheckedIOException} when it is used.
+ */
+public class LazyEProjectDirectRelationships
+    implements EProjectRelationshipCollection
+{
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Section
+    {
+        PARENT( "parent", new TypeReference<ParentRelationship>()
+        {
+        } ),
+        BOMS( "boms", new TypeReference<List<BomRelationship>>()
+        {
+        } ),
+        DEPENDENCIES( "dependencies", new TypeReference<List<DependencyRelationship>>()
+        {
+        } ),
+        MANAGED_DEPENDENCIES( "managedDependencies", new TypeReference<List<DependencyRelationship>>()
+        {
+        } ),
+        PLUGINS( "plugins", new TypeReference<List<PluginRelationship>>()
+        {
+        } ),
+        MANAGED_PLUGINS( "managedPlugins", new TypeReference<List<PluginRelationship>>()
+        {
+        } ),
+        EXTENSIONS( "extensions", new TypeReference<List<ExtensionRelationship>>()
+        {
+        } ),
+        PLUGIN_DEPENDENCIES( "pluginDependencies",
+                             new TypeReference<Map<PluginKey, List<PluginDependencyRelationship>>>()
+                             {
+                             } );
+
+        private final String field;
+
+        private final TypeReference<?> type;
+
+        Section( final String field, final TypeReference<?> type )
+        {
+            this.field = field;
+            this.type = type;
+        }
+
+        public String getField()
+        {
+            return field;
+        }
+
+        static Section forField( final String field )
+        {
+            for ( final Section section : values() )
+            {
+                if ( section.field.equals( field ) )
+                {
+                    return section;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    private static final String SOURCE = "source";
+
+    private static final String PROJECT_REF = "projectRef";
+
+    private final ObjectMapper mapper;
+
+    private final byte[] json;
+
+    private final URI source;
+
+    private final ProjectVersionRef projectRef;
+
+    // start and length in the JSON of each section, by ordinal; length 0 if the section is missing
+    private final int[] offsets = new int[Section.values().length * 2];
+
+    private transient Object[] decoded;
+
+    private transient volatile Set<ProjectRelationship<?, ?>> exactAllRelationships;
+
+    private transient volatile Set<ProjectRelationship<?, ?>> allRelationships;
+
+    /**
+     * @param json UTF-8 JSON of one {@link EProjectDirectRelationships}. It is kept by the view, not copied.
+     * @throws IOException if the JSON isn't an object, or its source or project ref can't be read
+     */
+    public LazyEProjectDirectRelationships( final ObjectMapper mapper, final byte[] json )
+        throws IOException
+    {
+        this.mapper = mapper;
+        this.json = json;
+
+        URI source = null;
+        ProjectVersionRef projectRef = null;
+        try (JsonParser jp = mapper.getFactory().createParser( json ))
+        {
+            if ( jp.nextToken() != JsonToken.START_OBJECT )
+            {
+                throw new JsonParseException( jp, "Expected an EProjectDirectRelationships object" );
+            }
+
+            while ( jp.nextToken() == JsonToken.FIELD_NAME )
+            {
+                final String field = jp.getCurrentName();
+                jp.nextToken();
+
+                if ( SOURCE.equals( field ) )
+                {
+                    source = mapper.readValue( jp, URI.class );
+                    continue;
+                }
+                else if ( PROJECT_REF.equals( field ) )
+                {
+                    projectRef = mapper.readValue( jp, ProjectVersionRef.class );
+                    continue;
+                }
+
+                final Section section = Section.forField( field );
+                final long start = jp.getTokenLocation().getByteOffset();
+                jp.skipChildren();
+                if ( section != null && jp.currentToken() != JsonToken.VALUE_NULL )
+                {
+                    offsets[section.ordinal() * 2] = (int) start;
+                    offsets[section.ordinal() * 2 + 1] = (int) ( jp.getCurrentLocation().getByteOffset() - start );
+                }
+            }
+        }
+
+        this.source = source;
+        this.projectRef = projectRef;
+    }
+
+    public final URI getSource()
+    {
+        return source;
+    }
+
+    public final ProjectVersionRef getProjectRef()
+    {
+        return projectRef;
+    }
+
+    public final ParentRelationship getParent()
+    {
+        return (ParentRelationship) section( Section.PARENT );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public final List<BomRelationship> getBoms()
+    {
+        return (List<BomRelationship>) section( Section.BOMS );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public final List<DependencyRelationship> getDependencies()
+    {
+        return (List<DependencyRelationship>) section( Section.DEPENDENCIES );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public final List<DependencyRelationship> getManagedDependencies()
+    {
+        return (List<DependencyRelationship>) section( Section.MANAGED_DEPENDENCIES );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public final List<PluginRelationship> getPlugins()
+    {
+        return (List<PluginRelationship>) section( Section.PLUGINS );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public final List<PluginRelationship> getManagedPlugins()
+    {
+        return (List<PluginRelationship>) section( Section.MANAGED_PLUGINS );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public final List<ExtensionRelationship> getExtensions()
+    {
+        return (List<ExtensionRelationship>) section( Section.EXTENSIONS );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public final Map<PluginKey, List<PluginDependencyRelationship>> getPluginDependencies()
+    {
+        return (Map<PluginKey, List<PluginDependencyRelationship>>) section( Section.PLUGIN_DEPENDENCIES );
+    }
+
+    public final List<PluginDependencyRelationship> getPluginDependencies( final ProjectVersionRef plugin,
+                                                                           final boolean managed,
+                                                                           final boolean inherited )
+    {
+        return getPluginDependencies().get( new PluginKey( plugin, managed ) );
+    }
+
+    /**
+     * @return whether the section has been decoded yet.
+     */
+    public final synchronized boolean isDecoded( final Section section )
+    {
+        return decoded != null && decoded[section.ordinal()] != null;
+    }
+
+    /**
+     * Decode every section into a regular {@link EProjectDirectRelationships}.
+     */
+    public EProjectDirectRelationships toDirectRelationships()
+    {
+        return new EProjectDirectRelationships( source, projectRef, getParent(), getBoms(), getDependencies(),
+                                                getPlugins(), getManagedDependencies(), getManagedPlugins(),
+                                                getExtensions(), getPluginDependencies() );
+    }
+
+    /**
+     * @return every relationship except a terminal parent, decoding every section on first use. The set is shared and
+     *         read-only.
+     */
+    @Override
+    public Set<ProjectRelationship<?, ?>> getAllRelationships()
+    {
+        Set<ProjectRelationship<?, ?>> rels = allRelationships;
+        if ( rels == null )
+        {
+            final Set<ProjectRelationship<?, ?>> exact = getExactAllRelationships();
+            final ParentRelationship parent = getParent();
+            if ( parent instanceof SimpleParentRelationship && parent.isTerminus() )
+            {
+                final Set<ProjectRelationship<?, ?>> result = new HashSet<ProjectRelationship<?, ?>>( exact );
+                filterTerminalParents( result );
+                rels = Collections.unmodifiableSet( result );
+            }
+            else
+            {
+                rels = exact;
+            }
+
+            allRelationships = rels;
+        }
+
+        return rels;
+    }
+
+    /**
+     * @return every relationship, decoding every section on first use. The set is shared and read-only.
+     */
+    @Override
+    public Set<ProjectRelationship<?, ?>> getExactAllRelationships()
+    {
+        Set<ProjectRelationship<?, ?>> rels = exactAllRelationships;
+        if ( rels == null )
+        {
+            final Set<ProjectRelationship<?, ?>> result = new HashSet<ProjectRelationship<?, ?>>();
+            final ParentRelationship parent = getParent();
+            if ( parent != null )
+            {
+                result.add( parent );
+            }
+
+            result.addAll( getBoms() );
+            result.addAll( getDependencies() );
+            result.addAll( getManagedDependencies() );
+            result.addAll( getPlugins() );
+            result.addAll( getManagedPlugins() );
+            result.addAll( getExtensions() );
+
+            for ( final List<PluginDependencyRelationship> pluginRels : getPluginDependencies().values() )
+            {
+                result.addAll( pluginRels );
+            }
+
+            rels = Collections.unmodifiableSet( result );
+            exactAllRelationships = rels;
+        }
+
+        return rels;
+    }
+
+    private synchronized Object section( final Section section )
+    {
+        if ( decoded == null )
+        {
+            decoded = new Object[Section.values().length];
+        }
+
+        Object value = decoded[section.ordinal()];
+        if ( value == null )
+        {
+            value = decode( section );
+            if ( value == null )
+            {
+                // only a missing parent decodes to null; leave it to be looked up again
+                return null;
+            }
+
+            decoded[section.ordinal()] = value;
+        }
+
+        return value;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private Object decode( final Section section )
+    {
+        final int start = offsets[section.ordinal() * 2];
+        final int length = offsets[section.ordinal() * 2 + 1];
+
+        Object value = null;
+        if ( length > 0 )
+        {
+            try
+            {
+                value = mapper.readerFor( section.type ).readValue( json, start, length );
+            }
+            catch ( final IOException e )
+            {
+                throw new UncheckedIOException( "Failed to decode " + section.field + " of " + projectRef, e );
+            }
+        }
+
+        switch ( section )
+        {
+            case PARENT:
+                return value;
+            case PLUGIN_DEPENDENCIES:
+            {
+                if ( value == null )
+                {
+                    return Collections.emptyMap();
+                }
+
+                final Map<PluginKey, List<PluginDependencyRelationship>> pdrels =
+                    new HashMap<PluginKey, List<PluginDependencyRelationship>>();
+
+                final Map<PluginKey, List<PluginDependencyRelationship>> map =
+                    (Map<PluginKey, List<PluginDependencyRelationship>>) value;
+
+                for ( final Map.Entry<PluginKey, List<PluginDependencyRelationship>> entry : map.entrySet() )
+                {
+                    pdrels.put( entry.getKey(), Collections.unmodifiableList( entry.getValue() ) );
+                }
+
+                return Collections.unmodifiableMap( pdrels );
+            }
+            default:
+                return value == null ? Collections.emptyList() : Collections.unmodifiableList( (List<?>) value );
+        }
+    }
+}
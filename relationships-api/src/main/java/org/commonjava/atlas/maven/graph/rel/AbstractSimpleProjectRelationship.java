@@ -30,7 +30,7 @@ public abstract class AbstractSimpleProjectRelationship<R extends ProjectRelatio
 
     private static final long serialVersionUID = 1L;
 
-    private final List<URI> sources = new ArrayList<URI>();
+    private final SourceSet sources;
 
     private final RelationshipType type;
 
@@ -57,7 +57,7 @@ public abstract class AbstractSimpleProjectRelationship<R extends ProjectRelatio
                                                  final ProjectVersionRef declaring, final T target, final int index,
                                                  final boolean inherited, final boolean mixin )
     {
-        this( Collections.singleton( source ), RelationshipConstants.POM_ROOT_URI, type, declaring, target, index, false, inherited, mixin );
+        this( SourceSet.of( source ), RelationshipConstants.POM_ROOT_URI, type, declaring, target, index, false, inherited, mixin );
     }
 
     protected AbstractSimpleProjectRelationship( final Collection<URI> sources, final RelationshipType type,
@@ -71,7 +71,7 @@ public abstract class AbstractSimpleProjectRelationship<R extends ProjectRelatio
                                                  final ProjectVersionRef declaring, final T target, final int index,
                                                  final boolean managed, final boolean inherited, final boolean mixin )
     {
-        this( Collections.singleton( source ), RelationshipConstants.POM_ROOT_URI, type, declaring, target, index, managed, inherited, mixin );
+        this( SourceSet.of( source ), RelationshipConstants.POM_ROOT_URI, type, declaring, target, index, managed, inherited, mixin );
     }
 
     protected AbstractSimpleProjectRelationship( final Collection<URI> sources, final RelationshipType type,
@@ -85,7 +85,7 @@ public abstract class AbstractSimpleProjectRelationship<R extends ProjectRelatio
                                                  final ProjectVersionRef declaring, final T target, final int index,
                                                  final boolean inherited, final boolean mixin )
     {
-        this( Collections.singleton( source ), pomLocation, type, declaring, target, index, false, inherited, mixin );
+        this( SourceSet.of( source ), pomLocation, type, declaring, target, index, false, inherited, mixin );
     }
 
     protected AbstractSimpleProjectRelationship( final Collection<URI> sources, final URI pomLocation,
@@ -99,7 +99,7 @@ public abstract class AbstractSimpleProjectRelationship<R extends ProjectRelatio
                                                  final ProjectVersionRef declaring, final T target, final int index,
                                                  final boolean managed, final boolean inherited, final boolean mixin )
     {
-        this( Collections.singleton( source ), pomLocation, type, declaring, target, index, managed, inherited, mixin );
+        this( SourceSet.of( source ), pomLocation, type, declaring, target, index, managed, inherited, mixin );
     }
 
     protected AbstractSimpleProjectRelationship( final Collection<URI> sources, final URI pomLocation,
@@ -112,13 +112,7 @@ public abstract class AbstractSimpleProjectRelationship<R extends ProjectRelatio
             throw new NullPointerException( "Source URIs cannot be null" );
         }
 
-        for ( URI u : sources )
-        {
-            if ( !this.sources.contains( u ) )
-            {
-                this.sources.add( u );
-            }
-        }
+        this.sources = SourceSet.of( sources );
 
         this.pomLocation = pomLocation;
         if ( declaring == null || target == null )
@@ -138,7 +132,7 @@ public abstract class AbstractSimpleProjectRelationship<R extends ProjectRelatio
 
     public AbstractSimpleProjectRelationship( final ProjectRelationship<R, T> relationship )
     {
-        this.sources.addAll( relationship.getSources() );
+        this.sources = SourceSet.of( relationship.getSources() );
         this.declaring = new SimpleProjectVersionRef( relationship.getDeclaring() );
         this.pomLocation = relationship.getPomLocation();
         this.index = relationship.getIndex();
@@ -248,10 +242,13 @@ public abstract class AbstractSimpleProjectRelationship<R extends ProjectRelatio
         return type == other.getType();
     }
 
+    /**
+     * @return the sources, shared with any relationship derived from this one. The set is read-only.
+     */
     @Override
-    public final Set<URI> getSources()
+    public final SourceSet getSources()
     {
-        return new HashSet<URI>( sources );
+        return sources;
     }
 
     @Override
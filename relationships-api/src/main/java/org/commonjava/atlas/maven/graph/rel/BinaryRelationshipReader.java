@@ -0,0 +1,155 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.rel;
+
+import static org.commonjava.atlas.maven.graph.rel.BinaryRelationshipWriter.INHERITED;
+import static org.commonjava.atlas.maven.graph.rel.BinaryRelationshipWriter.MANAGED;
+import static org.commonjava.atlas.maven.graph.rel.BinaryRelationshipWriter.MIXIN;
+import static org.commonjava.atlas.maven.graph.rel.BinaryRelationshipWriter.OPTIONAL;
+import static org.commonjava.atlas.maven.graph.rel.BinaryRelationshipWriter.REPORTING;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.BinaryRefReader;
+import org.commonjava.atlas.maven.ident.ref.ProjectRef;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+
+/**
+ * Reads relationships written by {@link BinaryRelationshipWriter}, as the Simple*Relationship classes. URIs are parsed
+ * once per distinct string and shared between the relationships that use them.
+ */
+public class BinaryRelationshipReader
+    extends BinaryRefReader
+{
+    private final Map<String, URI> uris = new HashMap<String, URI>();
+
+    public BinaryRelationshipReader( final DataInput in )
+    {
+        super( in );
+    }
+
+    public BinaryRelationshipReader( final ByteBuffer buffer )
+    {
+        super( buffer );
+    }
+
+    public ProjectRelationship<?, ?> readRelationship()
+        throws IOException
+    {
+        final String typeName = readString();
+        final RelationshipType type = RelationshipType.getType( typeName );
+        if ( type == null )
+        {
+            throw new IOException( "Invalid relationship type: " + typeName );
+        }
+
+        final int flags = readVarInt();
+        final boolean managed = ( flags & MANAGED ) != 0;
+        final boolean inherited = ( flags & INHERITED ) != 0;
+
+        final int index = readVarInt();
+        final ProjectVersionRef declaring = readProjectVersionRef();
+        final ProjectVersionRef target;
+        if ( type == RelationshipType.DEPENDENCY || type == RelationshipType.PLUGIN_DEP )
+        {
+            target = readArtifactRef();
+        }
+        else
+        {
+            target = readProjectVersionRef();
+        }
+
+        final URI pomLocation = readUri();
+
+        final int sourceCount = readVarInt();
+        final SourceSet.Builder sourceBuilder = new SourceSet.Builder();
+        for ( int i = 0; i < sourceCount; i++ )
+        {
+            sourceBuilder.add( readUri() );
+        }
+        final SourceSet sources = sourceBuilder.build();
+
+        switch ( type )
+        {
+            case DEPENDENCY:
+            {
+                final DependencyScope scope = DependencyScope.getScope( readString() );
+
+                final int excludeCount = readVarInt();
+                final ProjectRef[] excludes = new ProjectRef[excludeCount];
+                for ( int i = 0; i < excludeCount; i++ )
+                {
+                    excludes[i] = readProjectRef();
+                }
+
+                return new SimpleDependencyRelationship( sources, pomLocation, declaring, (ArtifactRef) target, scope,
+                                                         index, managed, inherited, ( flags & OPTIONAL ) != 0,
+                                                         excludes );
+            }
+            case PLUGIN_DEP:
+            {
+                final ProjectRef plugin = readProjectRef();
+                return new SimplePluginDependencyRelationship( sources, pomLocation, declaring, plugin,
+                                                               (ArtifactRef) target, index, managed, inherited );
+            }
+            case PLUGIN:
+                return new SimplePluginRelationship( sources, pomLocation, declaring, target, index, managed,
+                                                     ( flags & REPORTING ) != 0, inherited );
+            case EXTENSION:
+                return new SimpleExtensionRelationship( sources, pomLocation, declaring, target, index, inherited );
+            case BOM:
+                return new SimpleBomRelationship( sources, pomLocation, declaring, target, index, inherited,
+                                                  ( flags & MIXIN ) != 0 );
+            case PARENT:
+            default:
+                return new SimpleParentRelationship( sources, declaring, target );
+        }
+    }
+
+    private URI readUri()
+        throws IOException
+    {
+        final String value = readString();
+        if ( value == null )
+        {
+            return null;
+        }
+
+        URI uri = uris.get( value );
+        if ( uri == null )
+        {
+            try
+            {
+                uri = new URI( value );
+            }
+            catch ( final URISyntaxException e )
+            {
+                throw new IOException( "Invalid URI: '" + value + "': " + e.getMessage(), e );
+            }
+            uris.put( value, uri );
+        }
+
+        return uri;
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.rel;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Set;
+
+import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.BinaryRefWriter;
+import org.commonjava.atlas.maven.ident.ref.ProjectRef;
+
+/**
+ * Writes relationships in the compact binary form of {@link BinaryRefWriter}, to be read back by
+ * {@link BinaryRelationshipReader}. Relationship types, scopes, POM locations and source URIs go through the string
+ * dictionary along with the refs, so each costs a byte or two after its first use. Refs can be written to the same
+ * stream in between.
+ */
+public class BinaryRelationshipWriter
+    extends BinaryRefWriter
+{
+    static final int MANAGED = 1;
+
+    static final int INHERITED = 1 << 1;
+
+    static final int MIXIN = 1 << 2;
+
+    static final int OPTIONAL = 1 << 3;
+
+    static final int REPORTING = 1 << 4;
+
+    public BinaryRelationshipWriter( final DataOutput out )
+    {
+        super( out );
+    }
+
+    public BinaryRelationshipWriter( final ByteBuffer buffer )
+    {
+        super( buffer );
+    }
+
+    public void writeRelationship( final ProjectRelationship<?, ?> rel )
+        throws IOException
+    {
+        final RelationshipType type = rel.getType();
+
+        int flags = 0;
+        flags |= rel.isManaged() ? MANAGED : 0;
+        flags |= rel.isInherited() ? INHERITED : 0;
+        flags |= rel.isMixin() ? MIXIN : 0;
+        if ( type == RelationshipType.DEPENDENCY && ( (DependencyRelationship) rel ).isOptional() )
+        {
+            flags |= OPTIONAL;
+        }
+        else if ( type == RelationshipType.PLUGIN && ( (PluginRelationship) rel ).isReporting() )
+        {
+            flags |= REPORTING;
+        }
+
+        writeString( type.name() );
+        writeVarInt( flags );
+        writeVarInt( rel.getIndex() );
+        writeProjectVersionRef( rel.getDeclaring() );
+        if ( type == RelationshipType.DEPENDENCY || type == RelationshipType.PLUGIN_DEP )
+        {
+            writeArtifactRef( (ArtifactRef) rel.getTarget() );
+        }
+        else
+        {
+            writeProjectVersionRef( rel.getTarget() );
+        }
+
+        writeString( rel.getPomLocation() == null ? null : rel.getPomLocation().toString() );
+
+        final Set<URI> sources = rel.getSources();
+        writeVarInt( sources.contains( null ) ? sources.size() - 1 : sources.size() );
+        for ( final URI source : sources )
+        {
+            if ( source != null )
+            {
+                writeString( source.toString() );
+            }
+        }
+
+        switch ( type )
+        {
+            case DEPENDENCY:
+            {
+                final DependencyRelationship dep = (DependencyRelationship) rel;
+                writeString( dep.getScope().realName() );
+
+                final Set<ProjectRef> excludes = dep.getExcludes();
+                writeVarInt( excludes == null ? 0 : excludes.size() );
+                if ( excludes != null )
+                {
+                    for ( final ProjectRef exclude : excludes )
+                    {
+                        writeProjectRef( exclude );
+                    }
+                }
+                break;
+            }
+            case PLUGIN_DEP:
+            {
+                writeProjectRef( ( (PluginDependencyRelationship) rel ).getPlugin() );
+                break;
+            }
+            default:
+        }
+    }
+}
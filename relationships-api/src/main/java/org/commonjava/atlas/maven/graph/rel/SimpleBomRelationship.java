@@ -17,7 +17,6 @@ package org.commonjava.atlas.maven.graph.rel;
 
 import java.net.URI;
 import java.util.Collection;
-import java.util.Set;
 
 import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
 import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
@@ -112,8 +111,12 @@ public class SimpleBomRelationship
     @Override
     public BomRelationship addSource( final URI source )
     {
-        Set<URI> srcs = getSources();
-        srcs.add( source );
+        final SourceSet srcs = getSources().with( source );
+        if ( srcs == getSources() )
+        {
+            return this;
+        }
+
         return new SimpleBomRelationship( srcs, getPomLocation(), getDeclaring(), getTarget(),
                                           getIndex(), isInherited(), isMixin() );
     }
@@ -121,8 +124,12 @@ public class SimpleBomRelationship
     @Override
     public BomRelationship addSources( final Collection<URI> sources )
     {
-        Set<URI> srcs = getSources();
-        srcs.addAll( sources );
+        final SourceSet srcs = getSources().withAll( sources );
+        if ( srcs == getSources() )
+        {
+            return this;
+        }
+
         return new SimpleBomRelationship( srcs, getPomLocation(), getDeclaring(), getTarget(),
                                           getIndex(), isInherited(), isMixin() );
     }
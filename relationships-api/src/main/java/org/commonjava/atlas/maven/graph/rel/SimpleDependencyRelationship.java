@@ -114,19 +114,29 @@ public final class SimpleDependencyRelationship
     @Override
     public DependencyRelationship addSource( final URI source )
     {
-        Set<URI> srcs = getSources();
-        srcs.add( source );
+        final SourceSet srcs = getSources().with( source );
+        if ( srcs == getSources() )
+        {
+            return this;
+        }
+
         return new SimpleDependencyRelationship( srcs, getPomLocation(), getDeclaring(), getTarget(), scope, getIndex(),
-                                                 isManaged(), isInherited(), optional );
+                                                 isManaged(), isInherited(), optional,
+                                                 excludes.toArray( new ProjectRef[excludes.size()] ) );
     }
 
     @Override
     public DependencyRelationship addSources( final Collection<URI> sources )
     {
-        Set<URI> srcs = getSources();
-        srcs.addAll( sources );
+        final SourceSet srcs = getSources().withAll( sources );
+        if ( srcs == getSources() )
+        {
+            return this;
+        }
+
         return new SimpleDependencyRelationship( srcs, getPomLocation(), getDeclaring(), getTarget(), scope, getIndex(),
-                                                 isManaged(), isInherited(), optional );
+                                                 isManaged(), isInherited(), optional,
+                                                 excludes.toArray( new ProjectRef[excludes.size()] ) );
     }
 
     @Override
@@ -23,7 +23,6 @@ import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
 import java.io.Serializable;
 import java.net.URI;
 import java.util.Collection;
-import java.util.Set;
 
 public final class SimpleExtensionRelationship
     extends AbstractSimpleProjectRelationship<ExtensionRelationship, ProjectVersionRef>
@@ -108,16 +107,24 @@ public final class SimpleExtensionRelationship
     @Override
     public ExtensionRelationship addSource( final URI source )
     {
-        Set<URI> srcs = getSources();
-        srcs.add( source );
+        final SourceSet srcs = getSources().with( source );
+        if ( srcs == getSources() )
+        {
+            return this;
+        }
+
         return new SimpleExtensionRelationship( srcs, getPomLocation(), getDeclaring(), getTarget(), getIndex(), isInherited() );
     }
 
     @Override
     public ExtensionRelationship addSources( final Collection<URI> sources )
     {
-        Set<URI> srcs = getSources();
-        srcs.addAll( sources );
+        final SourceSet srcs = getSources().withAll( sources );
+        if ( srcs == getSources() )
+        {
+            return this;
+        }
+
         return new SimpleExtensionRelationship( srcs, getPomLocation(), getDeclaring(), getTarget(), getIndex(), isInherited() );
     }
 }
@@ -23,7 +23,6 @@ import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
 import java.io.Serializable;
 import java.net.URI;
 import java.util.Collection;
-import java.util.Set;
 
 public final class SimpleParentRelationship
     extends AbstractSimpleProjectRelationship<ParentRelationship, ProjectVersionRef>
@@ -116,16 +115,24 @@ public final class SimpleParentRelationship
     @Override
     public ParentRelationship addSource( final URI source )
     {
-        Set<URI> srcs = getSources();
-        srcs.add( source );
+        final SourceSet srcs = getSources().with( source );
+        if ( srcs == getSources() )
+        {
+            return this;
+        }
+
         return new SimpleParentRelationship( srcs, getDeclaring(), getTarget() );
     }
 
     @Override
     public ParentRelationship addSources( final Collection<URI> sources )
     {
-        Set<URI> srcs = getSources();
-        srcs.addAll( sources );
+        final SourceSet srcs = getSources().withAll( sources );
+        if ( srcs == getSources() )
+        {
+            return this;
+        }
+
         return new SimpleParentRelationship( srcs, getDeclaring(), getTarget() );
     }
 }
@@ -24,7 +24,6 @@ import org.commonjava.atlas.maven.ident.ref.SimpleProjectRef;
 import java.io.Serializable;
 import java.net.URI;
 import java.util.Collection;
-import java.util.Set;
 
 public final class SimplePluginDependencyRelationship
     extends AbstractSimpleProjectRelationship<PluginDependencyRelationship, ArtifactRef>
@@ -180,8 +179,12 @@ public final class SimplePluginDependencyRelationship
     @Override
     public PluginDependencyRelationship addSource( final URI source )
     {
-        Set<URI> srcs = getSources();
-        srcs.add( source );
+        final SourceSet srcs = getSources().with( source );
+        if ( srcs == getSources() )
+        {
+            return this;
+        }
+
         return new SimplePluginDependencyRelationship( srcs, getPomLocation(), getDeclaring(), plugin, getTarget(),
                                                        getIndex(), isManaged(), isInherited() );
     }
@@ -189,8 +192,12 @@ public final class SimplePluginDependencyRelationship
     @Override
     public PluginDependencyRelationship addSources( final Collection<URI> sources )
     {
-        Set<URI> srcs = getSources();
-        srcs.addAll( sources );
+        final SourceSet srcs = getSources().withAll( sources );
+        if ( srcs == getSources() )
+        {
+            return this;
+        }
+
         return new SimplePluginDependencyRelationship( srcs, getPomLocation(), getDeclaring(), plugin, getTarget(),
                                                        getIndex(), isManaged(), isInherited() );
     }
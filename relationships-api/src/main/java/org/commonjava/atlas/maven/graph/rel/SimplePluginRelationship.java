@@ -18,7 +18,6 @@ package org.commonjava.atlas.maven.graph.rel;
 import java.io.Serializable;
 import java.net.URI;
 import java.util.Collection;
-import java.util.Set;
 
 import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
 import org.commonjava.atlas.maven.ident.ref.SimpleArtifactRef;
@@ -157,8 +156,12 @@ public final class SimplePluginRelationship
     @Override
     public PluginRelationship addSource( final URI source )
     {
-        Set<URI> srcs = getSources();
-        srcs.add( source );
+        final SourceSet srcs = getSources().with( source );
+        if ( srcs == getSources() )
+        {
+            return this;
+        }
+
         return new SimplePluginRelationship( srcs, getPomLocation(), getDeclaring(), getTarget(), getIndex(),
                                              isManaged(), reporting, isInherited() );
     }
@@ -166,8 +169,12 @@ public final class SimplePluginRelationship
     @Override
     public PluginRelationship addSources( final Collection<URI> sources )
     {
-        Set<URI> srcs = getSources();
-        srcs.addAll( sources );
+        final SourceSet srcs = getSources().withAll( sources );
+        if ( srcs == getSources() )
+        {
+            return this;
+        }
+
         return new SimplePluginRelationship( srcs, getPomLocation(), getDeclaring(), getTarget(), getIndex(),
                                              isManaged(), reporting, isInherited() );
     }
@@ -0,0 +1,325 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.rel;
+
+import java.io.Serializable;
+import java.net.URI;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable set of relationship source URIs. Relationships share these rather than copying them: a relationship made
+ * from another one (cloned, retargeted, or given sources it already has) keeps the same set. Up to
+ * {@link #INLINE_SIZE} sources are held in a small array, which is all most relationships need; larger sets are hashed.
+ * <p>
+ * Single-source sets are pooled, so every relationship discovered from one repository shares both the set and the
+ * {@link URI} instance. The pool stops growing at {@link #POOL_SIZE} distinct sources. Sets may contain null, for
+ * relationships read without a source.
+ * <p>
+ * Use {@link #with(URI)}, {@link #withAll(Collection)} or a {@link Builder} to add sources; the mutators inherited from
+ * {@link Set} throw {@link UnsupportedOperationException}.
+ */
+public final class SourceSet
+    extends AbstractSet<URI>
+    implements Serializable
+{
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int INLINE_SIZE = 4;
+
+    public static final int POOL_SIZE = 4096;
+
+    public static final SourceSet EMPTY = new SourceSet( new URI[0], null );
+
+    private static final SourceSet NULL_SOURCE = new SourceSet( new URI[] { null }, null );
+
+    private static final ConcurrentMap<URI, SourceSet> SINGLES = new ConcurrentHashMap<URI, SourceSet>();
+
+    // exactly one of these is set
+    private final URI[] inline;
+
+    private final Set<URI> hashed;
+
+    private SourceSet( final URI[] inline, final Set<URI> hashed )
+    {
+        this.inline = inline;
+        this.hashed = hashed;
+    }
+
+    public static SourceSet of( final URI source )
+    {
+        if ( source == null )
+        {
+            return NULL_SOURCE;
+        }
+
+        SourceSet set = SINGLES.get( source );
+        if ( set == null )
+        {
+            set = new SourceSet( new URI[] { source }, null );
+            if ( SINGLES.size() < POOL_SIZE )
+            {
+                final SourceSet existing = SINGLES.putIfAbsent( source, set );
+                if ( existing != null )
+                {
+                    set = existing;
+                }
+            }
+        }
+
+        return set;
+    }
+
+    /**
+     * @return the sources as a source set; the collection itself if it already is one.
+     */
+    public static SourceSet of( final Collection<URI> sources )
+    {
+        if ( sources instanceof SourceSet )
+        {
+            return (SourceSet) sources;
+        }
+
+        return new Builder().addAll( sources ).build();
+    }
+
+    /**
+     * @return a set with the source added, or this set if it already contains the source.
+     */
+    public SourceSet with( final URI source )
+    {
+        if ( contains( source ) )
+        {
+            return this;
+        }
+
+        return new Builder( this ).add( source ).build();
+    }
+
+    /**
+     * @return a set with the sources added, or this set if it already contains all of them.
+     */
+    public SourceSet withAll( final Collection<URI> sources )
+    {
+        if ( sources == this || sources.isEmpty() )
+        {
+            return this;
+        }
+        else if ( isEmpty() )
+        {
+            return of( sources );
+        }
+
+        return new Builder( this ).addAll( sources ).build();
+    }
+
+    @Override
+    public int size()
+    {
+        return inline != null ? inline.length : hashed.size();
+    }
+
+    @Override
+    public boolean contains( final Object o )
+    {
+        if ( inline == null )
+        {
+            return hashed.contains( o );
+        }
+
+        for ( final URI uri : inline )
+        {
+            if ( o == null ? uri == null : o.equals( uri ) )
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Iterator<URI> iterator()
+    {
+        if ( inline == null )
+        {
+            return Collections.unmodifiableSet( hashed ).iterator();
+        }
+
+        return new Iterator<URI>()
+        {
+            private int next;
+
+            @Override
+            public boolean hasNext()
+            {
+                return next < inline.length;
+            }
+
+            @Override
+            public URI next()
+            {
+                if ( next >= inline.length )
+                {
+                    throw new NoSuchElementException();
+                }
+
+                return inline[next++];
+            }
+
+            @Override
+            public void remove()
+            {
+                throw new UnsupportedOperationException( "Source sets are immutable" );
+            }
+        };
+    }
+
+    private Object readResolve()
+    {
+        return size() == 1 ? of( iterator().next() ) : this;
+    }
+
+    private static URI canonical( final URI source )
+    {
+        if ( source == null )
+        {
+            return null;
+        }
+
+        final SourceSet single = SINGLES.get( source );
+        return single == null ? source : single.inline[0];
+    }
+
+    /**
+     * Accumulates the sources of many discoveries of a relationship, so they can be merged into one set at the end
+     * rather than one copy per discovery.
+     */
+    public static final class Builder
+    {
+        private SourceSet base;
+
+        private URI[] inline;
+
+        private int size;
+
+        private Set<URI> hashed;
+
+        public Builder()
+        {
+            this( EMPTY );
+        }
+
+        /**
+         * Start from an existing set, which is returned by {@link #build()} as is if nothing new is added.
+         */
+        public Builder( final SourceSet base )
+        {
+            this.base = base;
+            this.size = base.size();
+        }
+
+        public Builder add( final URI source )
+        {
+            if ( hashed != null )
+            {
+                hashed.add( canonical( source ) );
+                return this;
+            }
+            else if ( inline == null )
+            {
+                if ( base.contains( source ) )
+                {
+                    return this;
+                }
+            }
+            else
+            {
+                for ( int i = 0; i < size; i++ )
+                {
+                    if ( source == null ? inline[i] == null : source.equals( inline[i] ) )
+                    {
+                        return this;
+                    }
+                }
+            }
+
+            if ( size < INLINE_SIZE )
+            {
+                if ( inline == null )
+                {
+                    inline = Arrays.copyOf( base.inline, INLINE_SIZE );
+                }
+                inline[size++] = canonical( source );
+            }
+            else
+            {
+                hashed = new LinkedHashSet<URI>();
+                if ( inline == null )
+                {
+                    hashed.addAll( base );
+                }
+                else
+                {
+                    hashed.addAll( Arrays.asList( inline ).subList( 0, size ) );
+                }
+                hashed.add( canonical( source ) );
+                inline = null;
+            }
+
+            return this;
+        }
+
+        public Builder addAll( final Collection<URI> sources )
+        {
+            for ( final URI source : sources )
+            {
+                add( source );
+            }
+
+            return this;
+        }
+
+        /**
+         * Build the set. The builder can go on adding to it afterwards, without changing the set built.
+         */
+        public SourceSet build()
+        {
+            if ( hashed != null )
+            {
+                base = new SourceSet( null, hashed );
+            }
+            else if ( inline != null )
+            {
+                base = size == 1 ? of( inline[0] ) : new SourceSet( Arrays.copyOf( inline, size ), null );
+            }
+
+            inline = null;
+            hashed = null;
+            size = base.size();
+            return base;
+        }
+    }
+}
@@ -0,0 +1,392 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.store;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+
+import org.commonjava.atlas.maven.graph.model.EProjectDirectRelationships;
+import org.commonjava.atlas.maven.graph.rel.DependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.RelationshipType;
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+
+/**
+ * In-memory graph of project relationships. Each project gets an integer node id the first time it is seen, as the
+ * declaring project or the target of a relationship (artifact targets are reduced to their project version). For each
+ * node and {@link RelationshipType} the graph keeps the outgoing and incoming edges as {@link Edges}: arrays of node
+ * ids, with the flags and scope of each edge packed in an int alongside, so successors and predecessors can be walked
+ * without touching relationship objects.
+ * <p>
+ * Adding is thread-safe and can go on while the graph is read. Reads take no locks: they see an immutable snapshot of
+ * the edges of one node, which may be missing edges added concurrently, and an edge added concurrently may show up as
+ * a successor of its declaring project before it shows up as a predecessor of its target. Equal relationships are
+ * added once; adding one again, from another repository say, leaves the first in place.
+ */
+public final class RelationshipGraph
+{
+
+    public static final int NO_NODE = -1;
+
+    private static final int TYPES = RelationshipType.values().length;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ConcurrentMap<ProjectVersionRef, Node> index = new ConcurrentHashMap<ProjectVersionRef, Node>();
+
+    private volatile Node[] nodes = new Node[INITIAL_CAPACITY];
+
+    private volatile int nodeCount;
+
+    private final AtomicInteger edgeCount = new AtomicInteger();
+
+    /**
+     * Add the relationships of a project, except a terminal parent.
+     *
+     * @return the number of relationships that were not already in the graph
+     */
+    public int add( final EProjectDirectRelationships rels )
+    {
+        node( rels.getProjectRef() );
+
+        int added = 0;
+        for ( final ProjectRelationship<?, ?> rel : rels.getAllRelationships() )
+        {
+            if ( add( rel ) )
+            {
+                added++;
+            }
+        }
+
+        return added;
+    }
+
+    /**
+     * @return false if an equal relationship was already in the graph
+     */
+    public boolean add( final ProjectRelationship<?, ?> rel )
+    {
+        final Node declaring = node( rel.getDeclaring() );
+        final Node target = node( rel.getTarget() );
+        final int type = rel.getType().ordinal();
+        final int attributes = Edges.attributes( rel );
+
+        synchronized ( declaring )
+        {
+            if ( !declaring.declared.add( rel ) )
+            {
+                return false;
+            }
+            declaring.out.set( type, declaring.out.get( type ).with( target.id, attributes, rel ) );
+        }
+
+        synchronized ( target )
+        {
+            target.in.set( type, target.in.get( type ).with( declaring.id, attributes, rel ) );
+        }
+
+        edgeCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * @return the node id of the project, or {@link #NO_NODE} if it is not in the graph
+     */
+    public int getNodeId( final ProjectVersionRef ref )
+    {
+        final Node node = index.get( ref.asProjectVersionRef() );
+        return node == null ? NO_NODE : node.id;
+    }
+
+    public ProjectVersionRef getProject( final int node )
+    {
+        return node( node ).ref;
+    }
+
+    public int getNodeCount()
+    {
+        return nodeCount;
+    }
+
+    public int getEdgeCount()
+    {
+        return edgeCount.get();
+    }
+
+    public Edges getOutgoing( final int node, final RelationshipType type )
+    {
+        return node( node ).out.get( type.ordinal() );
+    }
+
+    public Edges getIncoming( final int node, final RelationshipType type )
+    {
+        return node( node ).in.get( type.ordinal() );
+    }
+
+    /**
+     * @return the targets of the node's relationships of the given type, one per relationship
+     */
+    public int[] successors( final int node, final RelationshipType type )
+    {
+        return getOutgoing( node, type ).toNodeArray();
+    }
+
+    /**
+     * @return the projects declaring relationships of the given type on the node, one per relationship
+     */
+    public int[] predecessors( final int node, final RelationshipType type )
+    {
+        return getIncoming( node, type ).toNodeArray();
+    }
+
+    public void forEachSuccessor( final int node, final RelationshipType type, final IntConsumer action )
+    {
+        getOutgoing( node, type ).forEachNode( action );
+    }
+
+    public void forEachPredecessor( final int node, final RelationshipType type, final IntConsumer action )
+    {
+        getIncoming( node, type ).forEachNode( action );
+    }
+
+    private Node node( final int id )
+    {
+        final Node[] nodes = this.nodes;
+        if ( id < 0 || id >= nodes.length || nodes[id] == null )
+        {
+            throw new IndexOutOfBoundsException( "No such node: " + id );
+        }
+
+        return nodes[id];
+    }
+
+    private Node node( final ProjectVersionRef ref )
+    {
+        final ProjectVersionRef key = ref.asProjectVersionRef();
+        Node node = index.get( key );
+        if ( node == null )
+        {
+            synchronized ( index )
+            {
+                node = index.get( key );
+                if ( node == null )
+                {
+                    final int id = nodeCount;
+                    node = new Node( id, key );
+
+                    Node[] nodes = this.nodes;
+                    if ( id == nodes.length )
+                    {
+                        nodes = Arrays.copyOf( nodes, id * 2 );
+                    }
+                    nodes[id] = node;
+
+                    // publish the node before its id can be found through the index or the edges
+                    this.nodes = nodes;
+                    nodeCount = id + 1;
+                    index.put( key, node );
+                }
+            }
+        }
+
+        return node;
+    }
+
+    private static final class Node
+    {
+        private final int id;
+
+        private final ProjectVersionRef ref;
+
+        private final AtomicReferenceArray<Edges> out = new AtomicReferenceArray<Edges>( TYPES );
+
+        private final AtomicReferenceArray<Edges> in = new AtomicReferenceArray<Edges>( TYPES );
+
+        /**
+         * The relationships declared by this project, of all types, to keep out duplicates without scanning the edges.
+         * Guarded by the node.
+         */
+        private final Set<ProjectRelationship<?, ?>> declared = new HashSet<ProjectRelationship<?, ?>>();
+
+        Node( final int id, final ProjectVersionRef ref )
+        {
+            this.id = id;
+            this.ref = ref;
+            for ( int i = 0; i < TYPES; i++ )
+            {
+                out.set( i, Edges.NONE );
+                in.set( i, Edges.NONE );
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of the edges of one type going out of or into a node. Edge {@code i} connects to node
+     * {@link #getNode(int)}; the rest of its accessors describe the relationship behind it, which
+     * {@link #getRelationship(int)} returns as added.
+     */
+    public static final class Edges
+    {
+        static final Edges NONE = new Edges( new int[0], new int[0], new ProjectRelationship<?, ?>[0], 0 );
+
+        private static final int SCOPE_MASK = 0xff;
+
+        private static final int MANAGED = 1 << 8;
+
+        private static final int INHERITED = 1 << 9;
+
+        private static final int OPTIONAL = 1 << 10;
+
+        private static final int MIXIN = 1 << 11;
+
+        private static final DependencyScope[] SCOPES = DependencyScope.values();
+
+        private final int[] nodes;
+
+        private final int[] attributes;
+
+        private final ProjectRelationship<?, ?>[] rels;
+
+        private final int size;
+
+        private Edges( final int[] nodes, final int[] attributes, final ProjectRelationship<?, ?>[] rels,
+                       final int size )
+        {
+            this.nodes = nodes;
+            this.attributes = attributes;
+            this.rels = rels;
+            this.size = size;
+        }
+
+        public int size()
+        {
+            return size;
+        }
+
+        public int getNode( final int i )
+        {
+            checkIndex( i );
+            return nodes[i];
+        }
+
+        public ProjectRelationship<?, ?> getRelationship( final int i )
+        {
+            checkIndex( i );
+            return rels[i];
+        }
+
+        /**
+         * @return the scope of a dependency edge, or null for other types
+         */
+        public DependencyScope getScope( final int i )
+        {
+            checkIndex( i );
+            final int scope = attributes[i] & SCOPE_MASK;
+            return scope == 0 ? null : SCOPES[scope - 1];
+        }
+
+        public boolean isManaged( final int i )
+        {
+            checkIndex( i );
+            return ( attributes[i] & MANAGED ) != 0;
+        }
+
+        public boolean isInherited( final int i )
+        {
+            checkIndex( i );
+            return ( attributes[i] & INHERITED ) != 0;
+        }
+
+        public boolean isOptional( final int i )
+        {
+            checkIndex( i );
+            return ( attributes[i] & OPTIONAL ) != 0;
+        }
+
+        public boolean isMixin( final int i )
+        {
+            checkIndex( i );
+            return ( attributes[i] & MIXIN ) != 0;
+        }
+
+        public int[] toNodeArray()
+        {
+            return Arrays.copyOf( nodes, size );
+        }
+
+        public void forEachNode( final IntConsumer action )
+        {
+            for ( int i = 0; i < size; i++ )
+            {
+                action.accept( nodes[i] );
+            }
+        }
+
+        /**
+         * Append an edge. The arrays grow by doubling and are shared with the new snapshot, which only writes past
+         * the end of this one, so only the writer appending to a node may call this.
+         */
+        Edges with( final int node, final int attrs, final ProjectRelationship<?, ?> rel )
+        {
+            int[] nodes = this.nodes;
+            int[] attributes = this.attributes;
+            ProjectRelationship<?, ?>[] rels = this.rels;
+            if ( size == nodes.length )
+            {
+                final int capacity = Math.max( 4, size * 2 );
+                nodes = Arrays.copyOf( nodes, capacity );
+                attributes = Arrays.copyOf( attributes, capacity );
+                rels = Arrays.copyOf( rels, capacity );
+            }
+
+            nodes[size] = node;
+            attributes[size] = attrs;
+            rels[size] = rel;
+            return new Edges( nodes, attributes, rels, size + 1 );
+        }
+
+        static int attributes( final ProjectRelationship<?, ?> rel )
+        {
+            int attrs = 0;
+            attrs |= rel.isManaged() ? MANAGED : 0;
+            attrs |= rel.isInherited() ? INHERITED : 0;
+            attrs |= rel.isMixin() ? MIXIN : 0;
+            if ( rel instanceof DependencyRelationship )
+            {
+                final DependencyRelationship dep = (DependencyRelationship) rel;
+                attrs |= dep.isOptional() ? OPTIONAL : 0;
+                attrs |= dep.getScope() == null ? 0 : dep.getScope().ordinal() + 1;
+            }
+
+            return attrs;
+        }
+
+        private void checkIndex( final int i )
+        {
+            if ( i < 0 || i >= size )
+            {
+                throw new IndexOutOfBoundsException( "Edge: " + i + ", size: " + size );
+            }
+        }
+    }
+}
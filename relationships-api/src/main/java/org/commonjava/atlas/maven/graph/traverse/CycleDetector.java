@@ -0,0 +1,799 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.traverse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.commonjava.atlas.maven.graph.model.EProjectCycle;
+import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.RelationshipType;
+import org.commonjava.atlas.maven.graph.store.RelationshipGraph;
+
+/**
+ * Finds cycles among the relationships of a {@link RelationshipGraph}, considering only relationships of the given
+ * types.
+ * <p>
+ * {@link #detect()} finds the strongly connected components of the whole graph with an iterative Tarjan's algorithm,
+ * and returns one cycle through each component that has any. A component can hold many cycles; listing them all can
+ * take exponential time, so each component yields one: a relationship between two of its projects, then the shortest
+ * path back.
+ * <p>
+ * Relationships added through {@link #add(ProjectRelationship)} are checked as they come, with Pearce and Kelly's
+ * dynamic topological ordering: the detector keeps the components in topological order and only searches the part of
+ * the graph between the two ends of a relationship that goes against that order. A relationship that closes a cycle
+ * merges the components along it. Relationships added to the graph in any other way are seen by the next
+ * {@link #detect()}, which resets the incremental state.
+ * <p>
+ * Projects are tracked by node id in int arrays, components as union-find sets over them. Each component keeps the
+ * node ids at the other end of its relationships, so the searches cross a large component in one step; the links
+ * that have come to point inside the component are dropped as the searches find them. The cycles are the only
+ * objects allocated per result, and are built from the relationships stored in the graph.
+ */
+public final class CycleDetector
+{
+
+    private static final int[] NO_LINKS = new int[0];
+
+    private final RelationshipGraph graph;
+
+    private final RelationshipType[] types;
+
+    private final boolean[] tracked = new boolean[RelationshipType.values().length];
+
+    private int size;
+
+    /** Union-find parent of each node; the representative names the component. */
+    private int[] component = new int[0];
+
+    /** Number of members of each component, by representative. */
+    private int[] componentSize = new int[0];
+
+    /** Targets of the relationships going out of each component, by representative. */
+    private final Links outLinks = new Links();
+
+    /** Declaring ends of the relationships coming into each component, by representative. */
+    private final Links inLinks = new Links();
+
+    /** Topological position of each component, by representative. */
+    private int[] order = new int[0];
+
+    private int nextOrder;
+
+    private int[] forwardMarks = new int[0];
+
+    private int[] backwardMarks = new int[0];
+
+    private int stamp;
+
+    private final PathSearch forwardPath = new PathSearch();
+
+    private final PathSearch backwardPath = new PathSearch();
+
+    private final IntList forward = new IntList();
+
+    private final IntList backward = new IntList();
+
+    private final IntList stack = new IntList();
+
+    private long[] sorted = new long[0];
+
+    private int[] slots = new int[0];
+
+    /**
+     * @param types the relationship types to consider, or none for all of them
+     */
+    public CycleDetector( final RelationshipGraph graph, final RelationshipType... types )
+    {
+        this.graph = graph;
+        this.types = types.length == 0 ? RelationshipType.values() : types.clone();
+        for ( final RelationshipType type : this.types )
+        {
+            tracked[type.ordinal()] = true;
+        }
+    }
+
+    /**
+     * Find the cycles in the whole graph, and start tracking the relationships added from here on.
+     *
+     * @return a cycle through each strongly connected component that has any
+     */
+    public synchronized List<EProjectCycle> detect()
+    {
+        size = 0;
+        nextOrder = 0;
+        ensureNodes();
+
+        final int n = size;
+        final int[] index = new int[n];
+        final int[] low = new int[n];
+        final boolean[] onStack = new boolean[n];
+        final int[] members = new int[n];
+        final int[] callNode = new int[n];
+        final int[] callType = new int[n];
+        final int[] callEdge = new int[n];
+        final IntList cyclic = new IntList();
+
+        int counter = 0;
+        int sp = 0;
+        int emitted = 0;
+        for ( int root = 0; root < n; root++ )
+        {
+            if ( index[root] != 0 )
+            {
+                continue;
+            }
+
+            int cp = 0;
+            index[root] = low[root] = ++counter;
+            members[sp++] = root;
+            onStack[root] = true;
+            callNode[cp] = root;
+            callType[cp] = 0;
+            callEdge[cp++] = 0;
+
+            while ( cp > 0 )
+            {
+                final int f = cp - 1;
+                final int node = callNode[f];
+
+                boolean descended = false;
+                while ( !descended && callType[f] < types.length )
+                {
+                    final RelationshipGraph.Edges edges = graph.getOutgoing( node, types[callType[f]] );
+                    if ( callEdge[f] == edges.size() )
+                    {
+                        callType[f]++;
+                        callEdge[f] = 0;
+                        continue;
+                    }
+
+                    final int w = edges.getNode( callEdge[f]++ );
+                    if ( w >= n )
+                    {
+                        // added during detection
+                        continue;
+                    }
+
+                    if ( index[w] == 0 )
+                    {
+                        index[w] = low[w] = ++counter;
+                        members[sp++] = w;
+                        onStack[w] = true;
+                        callNode[cp] = w;
+                        callType[cp] = 0;
+                        callEdge[cp++] = 0;
+                        descended = true;
+                    }
+                    else if ( onStack[w] )
+                    {
+                        low[node] = Math.min( low[node], index[w] );
+                    }
+                }
+
+                if ( descended )
+                {
+                    continue;
+                }
+
+                cp--;
+                if ( cp > 0 )
+                {
+                    final int caller = callNode[cp - 1];
+                    low[caller] = Math.min( low[caller], low[node] );
+                }
+
+                if ( low[node] == index[node] )
+                {
+                    // Tarjan's algorithm finds sinks first, so components are numbered down from the end
+                    order[node] = n - 1 - emitted++;
+
+                    int m;
+                    int count = 0;
+                    do
+                    {
+                        m = members[--sp];
+                        onStack[m] = false;
+                        component[m] = node;
+                        count++;
+                    }
+                    while ( m != node );
+                    componentSize[node] = count;
+
+                    if ( componentSize[node] > 1 || hasSelfLoop( node ) )
+                    {
+                        cyclic.add( node );
+                    }
+                }
+            }
+        }
+        nextOrder = n;
+
+        outLinks.clear();
+        inLinks.clear();
+        for ( int node = 0; node < n; node++ )
+        {
+            final int c = component[node];
+            for ( final RelationshipType type : types )
+            {
+                final RelationshipGraph.Edges edges = graph.getOutgoing( node, type );
+                for ( int i = 0; i < edges.size(); i++ )
+                {
+                    final int w = edges.getNode( i );
+                    if ( w < n && component[w] != c )
+                    {
+                        outLinks.add( c, w );
+                        inLinks.add( component[w], node );
+                    }
+                }
+            }
+        }
+
+        final List<EProjectCycle> cycles = new ArrayList<EProjectCycle>( cyclic.size );
+        for ( int i = 0; i < cyclic.size; i++ )
+        {
+            final int node = cyclic.values[i];
+            cycles.add( cycle( cycleThrough( node ) ) );
+        }
+
+        return cycles;
+    }
+
+    /**
+     * Add a relationship to the graph.
+     *
+     * @return the shortest cycle the relationship closes, starting with it, or null if it closes none or was already in
+     * the graph
+     */
+    public synchronized EProjectCycle add( final ProjectRelationship<?, ?> rel )
+    {
+        if ( !graph.add( rel ) || !tracked[rel.getType().ordinal()] )
+        {
+            return null;
+        }
+
+        ensureNodes();
+        final int u = graph.getNodeId( rel.getDeclaring() );
+        final int v = graph.getNodeId( rel.getTarget() );
+        if ( u == v )
+        {
+            final List<ProjectRelationship<?, ?>> rels = new ArrayList<ProjectRelationship<?, ?>>( 1 );
+            rels.add( rel );
+            return cycle( rels );
+        }
+
+        final int cu = find( u );
+        final int cv = find( v );
+        outLinks.add( cu, v );
+        inLinks.add( cv, u );
+        if ( cu == cv )
+        {
+            return cycle( path( v, u, rel ) );
+        }
+        else if ( order[cu] < order[cv] )
+        {
+            return null;
+        }
+
+        final boolean closed = searchForward( cv, cu, order[cu] );
+        searchBackward( cu, cv, order[cv] );
+        if ( !closed )
+        {
+            reorder( -1 );
+            return null;
+        }
+
+        int merged = cu;
+        for ( int i = 0; i < backward.size; i++ )
+        {
+            final int c = backward.values[i];
+            if ( c != cu && forwardMarks[c] == stamp )
+            {
+                merged = union( merged, c );
+            }
+        }
+        reorder( merged );
+
+        return cycle( path( v, u, rel ) );
+    }
+
+    private boolean searchForward( final int from, final int to, final int bound )
+    {
+        stamp++;
+        forward.size = 0;
+        stack.size = 0;
+        forwardMarks[from] = stamp;
+        forward.add( from );
+        stack.add( from );
+
+        boolean found = false;
+        while ( stack.size > 0 )
+        {
+            final int c = stack.values[--stack.size];
+            final int[] links = outLinks.links[c];
+            int count = outLinks.counts[c];
+            for ( int i = 0; i < count; )
+            {
+                final int w = find( links[i] );
+                if ( w == c )
+                {
+                    links[i] = links[--count];
+                    continue;
+                }
+                i++;
+
+                if ( forwardMarks[w] == stamp )
+                {
+                    continue;
+                }
+
+                if ( w == to )
+                {
+                    forwardMarks[w] = stamp;
+                    forward.add( w );
+                    found = true;
+                }
+                else if ( order[w] < bound )
+                {
+                    forwardMarks[w] = stamp;
+                    forward.add( w );
+                    stack.add( w );
+                }
+            }
+            outLinks.counts[c] = count;
+        }
+
+        return found;
+    }
+
+    private void searchBackward( final int from, final int to, final int bound )
+    {
+        backward.size = 0;
+        stack.size = 0;
+        backwardMarks[from] = stamp;
+        backward.add( from );
+        stack.add( from );
+
+        while ( stack.size > 0 )
+        {
+            final int c = stack.values[--stack.size];
+            final int[] links = inLinks.links[c];
+            int count = inLinks.counts[c];
+            for ( int i = 0; i < count; )
+            {
+                final int w = find( links[i] );
+                if ( w == c )
+                {
+                    links[i] = links[--count];
+                    continue;
+                }
+                i++;
+
+                if ( backwardMarks[w] == stamp )
+                {
+                    continue;
+                }
+
+                if ( w == to )
+                {
+                    backwardMarks[w] = stamp;
+                    backward.add( w );
+                }
+                else if ( order[w] > bound )
+                {
+                    backwardMarks[w] = stamp;
+                    backward.add( w );
+                    stack.add( w );
+                }
+            }
+            inLinks.counts[c] = count;
+        }
+    }
+
+    /**
+     * Give the components found by the last searches new positions, taken from the ones they had: first those reaching
+     * the declaring end of the relationship, then those reached from its target. If the relationship closed a cycle,
+     * the merged component goes in between. The components reached from the target take the highest positions, so
+     * none of them moves below a component that leads to it.
+     */
+    private void reorder( final int merged )
+    {
+        final int total = backward.size + forward.size;
+        if ( sorted.length < total )
+        {
+            sorted = new long[total];
+            slots = new int[total];
+        }
+
+        int positions = 0;
+        int count = 0;
+        for ( int i = 0; i < backward.size; i++ )
+        {
+            final int c = backward.values[i];
+            slots[positions++] = order[c];
+            if ( merged < 0 || forwardMarks[c] != stamp )
+            {
+                sorted[count++] = (long) order[c] << 32 | c;
+            }
+        }
+        final int backwardCount = count;
+        for ( int i = 0; i < forward.size; i++ )
+        {
+            final int c = forward.values[i];
+            if ( merged < 0 || backwardMarks[c] != stamp )
+            {
+                slots[positions++] = order[c];
+                sorted[count++] = (long) order[c] << 32 | c;
+            }
+        }
+
+        Arrays.sort( sorted, 0, backwardCount );
+        Arrays.sort( sorted, backwardCount, count );
+        Arrays.sort( slots, 0, positions );
+
+        int slot = 0;
+        for ( int i = 0; i < backwardCount; i++ )
+        {
+            order[(int) sorted[i]] = slots[slot++];
+        }
+        if ( merged >= 0 )
+        {
+            order[merged] = slots[slot];
+        }
+        slot = positions - ( count - backwardCount );
+        for ( int i = backwardCount; i < count; i++ )
+        {
+            order[(int) sorted[i]] = slots[slot++];
+        }
+    }
+
+    /**
+     * Find a cycle through a project: a relationship to another member of its component, then the shortest path back.
+     */
+    private List<ProjectRelationship<?, ?>> cycleThrough( final int node )
+    {
+        final int c = find( node );
+        for ( final RelationshipType type : types )
+        {
+            final RelationshipGraph.Edges edges = graph.getOutgoing( node, type );
+            for ( int i = 0; i < edges.size(); i++ )
+            {
+                final int w = edges.getNode( i );
+                if ( w == node && componentSize[c] == 1 )
+                {
+                    final List<ProjectRelationship<?, ?>> rels = new ArrayList<ProjectRelationship<?, ?>>( 1 );
+                    rels.add( edges.getRelationship( i ) );
+                    return rels;
+                }
+                else if ( w != node && w < size && find( w ) == c )
+                {
+                    return path( w, node, edges.getRelationship( i ) );
+                }
+            }
+        }
+
+        throw new IllegalStateException( "No cycle through node " + node );
+    }
+
+    /**
+     * Find a shortest path between two projects in the same component, searching forward from one and backward from
+     * the other a level at a time, on whichever side has fewer projects to expand.
+     *
+     * @return the relationships along it, after the closing relationship if there is one
+     */
+    private List<ProjectRelationship<?, ?>> path( final int from, final int to,
+                                                  final ProjectRelationship<?, ?> closing )
+    {
+        final int c = find( to );
+        stamp++;
+        forwardPath.start( from, stamp );
+        backwardPath.start( to, stamp );
+
+        int best = Integer.MAX_VALUE;
+        int meetFrom = -1;
+        int meetTo = -1;
+        ProjectRelationship<?, ?> meeting = null;
+        while ( meeting == null && !forwardPath.isExhausted() && !backwardPath.isExhausted() )
+        {
+            final boolean ahead = forwardPath.levelSize() <= backwardPath.levelSize();
+            final PathSearch search = ahead ? forwardPath : backwardPath;
+            final PathSearch other = ahead ? backwardPath : forwardPath;
+            for ( int level = search.tail; search.head < level; )
+            {
+                final int node = search.queue[search.head++];
+                for ( int t = 0; t < types.length; t++ )
+                {
+                    final RelationshipGraph.Edges edges =
+                            ahead ? graph.getOutgoing( node, types[t] ) : graph.getIncoming( node, types[t] );
+                    for ( int i = 0; i < edges.size(); i++ )
+                    {
+                        final int w = edges.getNode( i );
+                        if ( w >= size || find( w ) != c )
+                        {
+                            continue;
+                        }
+
+                        if ( other.marks[w] == stamp )
+                        {
+                            final int length = search.distance[node] + 1 + other.distance[w];
+                            if ( length < best )
+                            {
+                                best = length;
+                                meetFrom = ahead ? node : w;
+                                meetTo = ahead ? w : node;
+                                meeting = edges.getRelationship( i );
+                            }
+                        }
+                        else if ( search.marks[w] != stamp )
+                        {
+                            search.add( w, node, t, i, stamp );
+                        }
+                    }
+                }
+            }
+        }
+
+        if ( meeting == null )
+        {
+            throw new IllegalStateException( "No path from node " + from + " to node " + to + " in their component" );
+        }
+
+        final List<ProjectRelationship<?, ?>> rels = new ArrayList<ProjectRelationship<?, ?>>( best + 1 );
+        if ( closing != null )
+        {
+            rels.add( closing );
+        }
+
+        final int start = rels.size();
+        for ( int p = meetFrom; p != from; p = forwardPath.via[p] )
+        {
+            rels.add( graph.getOutgoing( forwardPath.via[p], types[forwardPath.viaType[p]] )
+                           .getRelationship( forwardPath.viaEdge[p] ) );
+        }
+        Collections.reverse( rels.subList( start, rels.size() ) );
+
+        rels.add( meeting );
+        for ( int p = meetTo; p != to; p = backwardPath.via[p] )
+        {
+            rels.add( graph.getIncoming( backwardPath.via[p], types[backwardPath.viaType[p]] )
+                           .getRelationship( backwardPath.viaEdge[p] ) );
+        }
+
+        return rels;
+    }
+
+    private static EProjectCycle cycle( final List<ProjectRelationship<?, ?>> rels )
+    {
+        final EProjectCycle cycle = new EProjectCycle();
+        cycle.setRelationships( rels );
+        return cycle;
+    }
+
+    private boolean hasSelfLoop( final int node )
+    {
+        for ( final RelationshipType type : types )
+        {
+            final RelationshipGraph.Edges edges = graph.getOutgoing( node, type );
+            for ( int i = 0; i < edges.size(); i++ )
+            {
+                if ( edges.getNode( i ) == node )
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private int find( int node )
+    {
+        while ( component[node] != node )
+        {
+            component[node] = component[component[node]];
+            node = component[node];
+        }
+
+        return node;
+    }
+
+    /**
+     * Fold the smaller of two components into the larger, with its links.
+     *
+     * @return the representative of the merged component
+     */
+    private int union( final int a, final int b )
+    {
+        final int into = componentSize[a] >= componentSize[b] ? a : b;
+        final int from = into == a ? b : a;
+
+        component[from] = into;
+        componentSize[into] += componentSize[from];
+        outLinks.moveAll( from, into );
+        inLinks.moveAll( from, into );
+        return into;
+    }
+
+    /**
+     * Track the nodes added to the graph since the last call, each as a component of its own, last in the order.
+     */
+    private void ensureNodes()
+    {
+        final int count = graph.getNodeCount();
+        if ( count <= size )
+        {
+            return;
+        }
+
+        if ( count > component.length )
+        {
+            final int capacity = Math.max( count, component.length * 2 );
+            component = Arrays.copyOf( component, capacity );
+            componentSize = Arrays.copyOf( componentSize, capacity );
+            order = Arrays.copyOf( order, capacity );
+            forwardMarks = Arrays.copyOf( forwardMarks, capacity );
+            backwardMarks = Arrays.copyOf( backwardMarks, capacity );
+            forwardPath.ensureCapacity( capacity );
+            backwardPath.ensureCapacity( capacity );
+        }
+
+        for ( int node = size; node < count; node++ )
+        {
+            component[node] = node;
+            componentSize[node] = 1;
+            order[node] = nextOrder++;
+        }
+        outLinks.ensureCapacity( count );
+        inLinks.ensureCapacity( count );
+        size = count;
+    }
+
+    /**
+     * Node ids linked to each component, in one growable array per representative.
+     */
+    private static final class Links
+    {
+        private int[][] links = new int[0][];
+
+        private int[] counts = new int[0];
+
+        void ensureCapacity( final int nodes )
+        {
+            if ( nodes > links.length )
+            {
+                final int capacity = Math.max( nodes, links.length * 2 );
+                final int old = links.length;
+                links = Arrays.copyOf( links, capacity );
+                counts = Arrays.copyOf( counts, capacity );
+                for ( int i = old; i < capacity; i++ )
+                {
+                    links[i] = NO_LINKS;
+                }
+            }
+        }
+
+        void clear()
+        {
+            Arrays.fill( links, NO_LINKS );
+            Arrays.fill( counts, 0 );
+        }
+
+        void add( final int component, final int node )
+        {
+            final int count = counts[component];
+            if ( count == links[component].length )
+            {
+                links[component] = Arrays.copyOf( links[component], Math.max( 4, count * 2 ) );
+            }
+            links[component][count] = node;
+            counts[component] = count + 1;
+        }
+
+        void moveAll( final int from, final int into )
+        {
+            final int count = counts[from];
+            final int total = counts[into] + count;
+            if ( total > links[into].length )
+            {
+                links[into] = Arrays.copyOf( links[into], Math.max( total, links[into].length * 2 ) );
+            }
+            System.arraycopy( links[from], 0, links[into], counts[into], count );
+            counts[into] = total;
+            links[from] = NO_LINKS;
+            counts[from] = 0;
+        }
+    }
+
+    /**
+     * One side of a path search: a breadth-first queue and, for each project reached, its distance and the
+     * relationship it was reached through, as the node at its other end and its place in that node's edges.
+     */
+    private static final class PathSearch
+    {
+        private int[] queue = new int[0];
+
+        private int[] marks = new int[0];
+
+        private int[] distance = new int[0];
+
+        private int[] via = new int[0];
+
+        private int[] viaType = new int[0];
+
+        private int[] viaEdge = new int[0];
+
+        private int head;
+
+        private int tail;
+
+        void ensureCapacity( final int capacity )
+        {
+            queue = Arrays.copyOf( queue, capacity );
+            marks = Arrays.copyOf( marks, capacity );
+            distance = Arrays.copyOf( distance, capacity );
+            via = Arrays.copyOf( via, capacity );
+            viaType = Arrays.copyOf( viaType, capacity );
+            viaEdge = Arrays.copyOf( viaEdge, capacity );
+        }
+
+        void start( final int node, final int stamp )
+        {
+            head = 0;
+            tail = 0;
+            marks[node] = stamp;
+            distance[node] = 0;
+            queue[tail++] = node;
+        }
+
+        void add( final int node, final int from, final int type, final int edge, final int stamp )
+        {
+            marks[node] = stamp;
+            distance[node] = distance[from] + 1;
+            via[node] = from;
+            viaType[node] = type;
+            viaEdge[node] = edge;
+            queue[tail++] = node;
+        }
+
+        int levelSize()
+        {
+            return tail - head;
+        }
+
+        boolean isExhausted()
+        {
+            return head == tail;
+        }
+    }
+
+    private static final class IntList
+    {
+        private int[] values = new int[16];
+
+        private int size;
+
+        void add( final int value )
+        {
+            if ( size == values.length )
+            {
+                values = Arrays.copyOf( values, size * 2 );
+            }
+            values[size++] = value;
+        }
+    }
+}
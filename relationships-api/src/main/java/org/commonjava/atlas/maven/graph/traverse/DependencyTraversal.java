@@ -0,0 +1,380 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.traverse;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.commonjava.atlas.maven.graph.rel.DependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.RelationshipType;
+import org.commonjava.atlas.maven.graph.store.RelationshipGraph;
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.ScopeTransitivity;
+import org.commonjava.atlas.maven.ident.ref.ProjectRef;
+
+/**
+ * Breadth-first walk of the transitive dependencies of a project in a {@link RelationshipGraph}, one level at a time.
+ * Each project is visited once, through the first path that reaches it: the shortest, and among those the one through
+ * the earliest declared dependencies.
+ * <p>
+ * The dependencies of the root are followed if the requested scope implies theirs. Below that, a dependency is followed
+ * if the {@link ScopeTransitivity} child scope of the path so far implies its scope, and it is neither managed nor
+ * optional. The scope of the path is that of the dependency, unless the path's scope is narrower: a compile dependency
+ * of a test dependency is in test scope. Exclusions declared on a dependency apply to everything below it on that
+ * path.
+ * <p>
+ * Each path is carried as a node id, a scope and its exclusions, which are shared by all the paths below the dependency
+ * that declared them. Expanding a level into the candidates for the next is the expensive part; with a
+ * {@link ForkJoinPool}, large levels are split into chunks expanded in parallel. The candidates are then visited on the
+ * calling thread in order, so the visitor needs no synchronization and the result does not depend on the pool.
+ * <p>
+ * The graph may be added to during a traversal, which then sees some or all of the new relationships.
+ */
+public final class DependencyTraversal
+{
+
+    public enum Action
+    {
+        /** Go on, and traverse the dependencies of the visited project. */
+        CONTINUE,
+        /** Go on, but skip the dependencies of the visited project. */
+        PRUNE,
+        /** End the traversal. */
+        STOP
+    }
+
+    public interface Visitor
+    {
+        /**
+         * @param node the visited project
+         * @param scope the scope it is reached in
+         * @param depth the number of dependencies from the root, which is visited at 0
+         * @param via the dependency through which it is reached, or null for the root
+         */
+        Action visit( int node, DependencyScope scope, int depth, DependencyRelationship via );
+    }
+
+    /** Frontier entries per fork-join task; smaller levels are expanded on the calling thread. */
+    static final int CHUNK_SIZE = 256;
+
+    private static final DependencyScope[] SCOPES = DependencyScope.values();
+
+    private final RelationshipGraph graph;
+
+    private final ScopeTransitivity transitivity;
+
+    private final DependencyScope scope;
+
+    private final ForkJoinPool pool;
+
+    public DependencyTraversal( final RelationshipGraph graph, final ScopeTransitivity transitivity,
+                                final DependencyScope scope )
+    {
+        this( graph, transitivity, scope, null );
+    }
+
+    /**
+     * @param pool where to expand large levels, or null to expand every level on the calling thread
+     */
+    public DependencyTraversal( final RelationshipGraph graph, final ScopeTransitivity transitivity,
+                                final DependencyScope scope, final ForkJoinPool pool )
+    {
+        if ( graph == null || transitivity == null || scope == null )
+        {
+            throw new NullPointerException( "Graph, scope transitivity and scope cannot be null" );
+        }
+
+        this.graph = graph;
+        this.transitivity = transitivity;
+        this.scope = scope;
+        this.pool = pool;
+    }
+
+    /**
+     * @return the number of projects visited, including the root
+     */
+    public int traverse( final int root, final Visitor visitor )
+    {
+        graph.getProject( root );
+
+        long[] visited = new long[( graph.getNodeCount() + 63 ) >>> 6];
+        visited = mark( visited, root );
+
+        int count = 1;
+        final Action rootAction = visitor.visit( root, scope, 0, null );
+        if ( rootAction != Action.CONTINUE )
+        {
+            return count;
+        }
+
+        Paths frontier = new Paths( 1 );
+        frontier.add( root, scope, null, null );
+
+        for ( int depth = 1; frontier.size > 0; depth++ )
+        {
+            final Paths[] expanded = expand( frontier, depth, visited );
+
+            final Paths next = new Paths( frontier.size );
+            for ( final Paths candidates : expanded )
+            {
+                for ( int i = 0; i < candidates.size; i++ )
+                {
+                    final int node = candidates.nodes[i];
+                    if ( isMarked( visited, node ) )
+                    {
+                        continue;
+                    }
+                    visited = mark( visited, node );
+                    count++;
+
+                    final DependencyScope scope = SCOPES[candidates.scopes[i]];
+                    final Action action = visitor.visit( node, scope, depth, candidates.via[i] );
+                    if ( action == Action.STOP )
+                    {
+                        return count;
+                    }
+                    else if ( action == Action.CONTINUE )
+                    {
+                        next.add( node, scope, candidates.exclusions[i], null );
+                    }
+                }
+            }
+
+            frontier = next;
+        }
+
+        return count;
+    }
+
+    /**
+     * @return the projects reachable from the root, including the root, in the order they are visited
+     */
+    public int[] closure( final int root )
+    {
+        final Paths result = new Paths( 16 );
+        traverse( root, ( node, scope, depth, via ) -> {
+            result.add( node, scope, null, null );
+            return Action.CONTINUE;
+        } );
+
+        return Arrays.copyOf( result.nodes, result.size );
+    }
+
+    private Paths[] expand( final Paths frontier, final int depth, final long[] visited )
+    {
+        final int chunks = ( frontier.size + CHUNK_SIZE - 1 ) / CHUNK_SIZE;
+        final Paths[] expanded = new Paths[chunks];
+        if ( pool == null || chunks == 1 )
+        {
+            for ( int c = 0; c < chunks; c++ )
+            {
+                expanded[c] = expand( frontier, c, depth, visited );
+            }
+        }
+        else
+        {
+            pool.invoke( new Expansion( frontier, depth, visited, expanded, 0, chunks ) );
+        }
+
+        return expanded;
+    }
+
+    private Paths expand( final Paths frontier, final int chunk, final int depth, final long[] visited )
+    {
+        final int end = Math.min( frontier.size, ( chunk + 1 ) * CHUNK_SIZE );
+        final Paths candidates = new Paths( ( end - chunk * CHUNK_SIZE ) * 4 );
+        for ( int p = chunk * CHUNK_SIZE; p < end; p++ )
+        {
+            final DependencyScope pathScope = SCOPES[frontier.scopes[p]];
+            final DependencyScope limit = depth == 1 ? pathScope : transitivity.getChildFor( pathScope );
+            if ( limit == null )
+            {
+                continue;
+            }
+
+            final Exclusions exclusions = frontier.exclusions[p];
+            final RelationshipGraph.Edges deps = graph.getOutgoing( frontier.nodes[p], RelationshipType.DEPENDENCY );
+            for ( int i = 0; i < deps.size(); i++ )
+            {
+                if ( deps.isManaged( i ) || ( depth > 1 && deps.isOptional( i ) ) )
+                {
+                    continue;
+                }
+
+                final DependencyScope declared = deps.getScope( i );
+                final DependencyScope depScope = declared == null ? DependencyScope.compile : declared;
+                final int node = deps.getNode( i );
+                if ( !limit.implies( depScope ) || isMarked( visited, node ) )
+                {
+                    continue;
+                }
+
+                if ( exclusions != null && exclusions.excludes( graph.getProject( node ) ) )
+                {
+                    continue;
+                }
+
+                final DependencyRelationship dep = (DependencyRelationship) deps.getRelationship( i );
+                final DependencyScope childScope =
+                        depth == 1 || depScope.implies( pathScope ) ? depScope : pathScope;
+                final Set<ProjectRef> excludes = dep.getExcludes();
+                candidates.add( node, childScope,
+                                excludes == null || excludes.isEmpty() ? exclusions
+                                                : new Exclusions( excludes, exclusions ), dep );
+            }
+        }
+
+        return candidates;
+    }
+
+    private static boolean isMarked( final long[] visited, final int node )
+    {
+        final int word = node >>> 6;
+        return word < visited.length && ( visited[word] & ( 1L << node ) ) != 0;
+    }
+
+    private static long[] mark( long[] visited, final int node )
+    {
+        final int word = node >>> 6;
+        if ( word >= visited.length )
+        {
+            visited = Arrays.copyOf( visited, Math.max( word + 1, visited.length * 2 ) );
+        }
+        visited[word] |= 1L << node;
+        return visited;
+    }
+
+    /**
+     * Paths reaching a level, as parallel arrays: project, scope ordinal, exclusions and the dependency followed.
+     */
+    private static final class Paths
+    {
+        private int[] nodes;
+
+        private byte[] scopes;
+
+        private Exclusions[] exclusions;
+
+        private DependencyRelationship[] via;
+
+        private int size;
+
+        Paths( final int capacity )
+        {
+            final int c = Math.max( 4, capacity );
+            nodes = new int[c];
+            scopes = new byte[c];
+            exclusions = new Exclusions[c];
+            via = new DependencyRelationship[c];
+        }
+
+        void add( final int node, final DependencyScope scope, final Exclusions excl, final DependencyRelationship dep )
+        {
+            if ( size == nodes.length )
+            {
+                final int c = size * 2;
+                nodes = Arrays.copyOf( nodes, c );
+                scopes = Arrays.copyOf( scopes, c );
+                exclusions = Arrays.copyOf( exclusions, c );
+                via = Arrays.copyOf( via, c );
+            }
+
+            nodes[size] = node;
+            scopes[size] = (byte) scope.ordinal();
+            exclusions[size] = excl;
+            via[size] = dep;
+            size++;
+        }
+    }
+
+    /**
+     * Exclusions in force on a path: those of the last dependency that declared any, chained to those above it.
+     */
+    private static final class Exclusions
+    {
+        private final ProjectRef[] excludes;
+
+        private final Exclusions parent;
+
+        Exclusions( final Set<ProjectRef> excludes, final Exclusions parent )
+        {
+            this.excludes = excludes.toArray( new ProjectRef[excludes.size()] );
+            this.parent = parent;
+        }
+
+        boolean excludes( final ProjectRef ref )
+        {
+            for ( Exclusions e = this; e != null; e = e.parent )
+            {
+                for ( final ProjectRef exclude : e.excludes )
+                {
+                    if ( exclude.matches( ref ) )
+                    {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+    }
+
+    private final class Expansion
+        extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Paths frontier;
+
+        private final int depth;
+
+        private final long[] visited;
+
+        private final Paths[] expanded;
+
+        private final int from;
+
+        private final int to;
+
+        Expansion( final Paths frontier, final int depth, final long[] visited, final Paths[] expanded,
+                   final int from, final int to )
+        {
+            this.frontier = frontier;
+            this.depth = depth;
+            this.visited = visited;
+            this.expanded = expanded;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if ( to - from == 1 )
+            {
+                expanded[from] = expand( frontier, from, depth, visited );
+                return;
+            }
+
+            final int mid = ( from + to ) >>> 1;
+            invokeAll( new Expansion( frontier, depth, visited, expanded, from, mid ),
+                       new Expansion( frontier, depth, visited, expanded, mid, to ) );
+        }
+    }
+}
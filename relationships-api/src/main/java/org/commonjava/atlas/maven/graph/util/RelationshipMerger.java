@@ -0,0 +1,220 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.util;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.SourceSet;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+
+/**
+ * Merges relationships discovered from many repositories into one deduplicated set per declaring project, in a single
+ * pass over the discoveries.
+ * <p>
+ * Discoveries are the same relationship when they are equal: same declaring project, target and type, and for the
+ * types that tell managed from unmanaged declarations, the same managed flag. The merged relationship has the union of
+ * their sources, and is inherited only if every discovery was; otherwise it is the first direct discovery, keeping that
+ * declaration's index and POM location. Sources are accumulated in a {@link SourceSet.Builder} and each relationship is
+ * rebuilt at most once, and not at all when no discovery added a source.
+ * <p>
+ * A merger is not thread-safe. {@link #merge(Iterable, ExecutorService, int)} partitions the discoveries by declaring
+ * project and merges the partitions concurrently, one merger each.
+ */
+public final class RelationshipMerger
+{
+
+    private final Map<ProjectVersionRef, Map<ProjectRelationship<?, ?>, Merge>> merges =
+            new LinkedHashMap<ProjectVersionRef, Map<ProjectRelationship<?, ?>, Merge>>();
+
+    public RelationshipMerger add( final ProjectRelationship<?, ?> rel )
+    {
+        Map<ProjectRelationship<?, ?>, Merge> declared = merges.get( rel.getDeclaring() );
+        if ( declared == null )
+        {
+            declared = new LinkedHashMap<ProjectRelationship<?, ?>, Merge>();
+            merges.put( rel.getDeclaring(), declared );
+        }
+
+        final Merge merge = declared.get( rel );
+        if ( merge == null )
+        {
+            declared.put( rel, new Merge( rel ) );
+        }
+        else
+        {
+            merge.add( rel );
+        }
+
+        return this;
+    }
+
+    public RelationshipMerger addAll( final Iterable<? extends ProjectRelationship<?, ?>> rels )
+    {
+        for ( final ProjectRelationship<?, ?> rel : rels )
+        {
+            add( rel );
+        }
+
+        return this;
+    }
+
+    /**
+     * @return the merged relationships of each declaring project, in the order they were first discovered. The map and
+     * sets are read-only. The merger can go on adding discoveries afterwards, without changing the result.
+     */
+    public Map<ProjectVersionRef, Set<ProjectRelationship<?, ?>>> build()
+    {
+        final Map<ProjectVersionRef, Set<ProjectRelationship<?, ?>>> result =
+                new LinkedHashMap<ProjectVersionRef, Set<ProjectRelationship<?, ?>>>();
+        build( result );
+        return Collections.unmodifiableMap( result );
+    }
+
+    private void build( final Map<ProjectVersionRef, Set<ProjectRelationship<?, ?>>> result )
+    {
+        for ( final Map.Entry<ProjectVersionRef, Map<ProjectRelationship<?, ?>, Merge>> entry : merges.entrySet() )
+        {
+            final Set<ProjectRelationship<?, ?>> rels = new LinkedHashSet<ProjectRelationship<?, ?>>();
+            for ( final Merge merge : entry.getValue().values() )
+            {
+                rels.add( merge.build() );
+            }
+
+            result.put( entry.getKey(), Collections.unmodifiableSet( rels ) );
+        }
+    }
+
+    public static Map<ProjectVersionRef, Set<ProjectRelationship<?, ?>>> merge(
+            final Iterable<? extends ProjectRelationship<?, ?>> rels )
+    {
+        return new RelationshipMerger().addAll( rels ).build();
+    }
+
+    /**
+     * Merge on the common {@link ForkJoinPool}, with a partition per thread.
+     */
+    public static Map<ProjectVersionRef, Set<ProjectRelationship<?, ?>>> mergeParallel(
+            final Iterable<? extends ProjectRelationship<?, ?>> rels )
+        throws InterruptedException
+    {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        return merge( rels, pool, pool.getParallelism() );
+    }
+
+    /**
+     * Split the discoveries into partitions by declaring project, and merge each partition as a task on the executor.
+     * The result is the same as {@link #merge(Iterable)}, except that the projects are ordered by partition.
+     */
+    public static Map<ProjectVersionRef, Set<ProjectRelationship<?, ?>>> merge(
+            final Iterable<? extends ProjectRelationship<?, ?>> rels, final ExecutorService executor,
+            final int partitions )
+        throws InterruptedException
+    {
+        if ( partitions < 2 )
+        {
+            return merge( rels );
+        }
+
+        final List<List<ProjectRelationship<?, ?>>> partitioned = new ArrayList<List<ProjectRelationship<?, ?>>>();
+        for ( int i = 0; i < partitions; i++ )
+        {
+            partitioned.add( new ArrayList<ProjectRelationship<?, ?>>() );
+        }
+        for ( final ProjectRelationship<?, ?> rel : rels )
+        {
+            partitioned.get( Math.floorMod( rel.getDeclaring().hashCode(), partitions ) ).add( rel );
+        }
+
+        final List<Callable<RelationshipMerger>> tasks = new ArrayList<Callable<RelationshipMerger>>();
+        for ( final List<ProjectRelationship<?, ?>> partition : partitioned )
+        {
+            if ( !partition.isEmpty() )
+            {
+                tasks.add( () -> new RelationshipMerger().addAll( partition ) );
+            }
+        }
+
+        final Map<ProjectVersionRef, Set<ProjectRelationship<?, ?>>> result =
+                new LinkedHashMap<ProjectVersionRef, Set<ProjectRelationship<?, ?>>>();
+        for ( final Future<RelationshipMerger> future : executor.invokeAll( tasks ) )
+        {
+            try
+            {
+                future.get().build( result );
+            }
+            catch ( final ExecutionException e )
+            {
+                final Throwable cause = e.getCause();
+                if ( cause instanceof RuntimeException )
+                {
+                    throw (RuntimeException) cause;
+                }
+                else if ( cause instanceof Error )
+                {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException( "Relationship merge failed: " + cause.getMessage(), cause );
+            }
+        }
+
+        return Collections.unmodifiableMap( result );
+    }
+
+    private static final class Merge
+    {
+        private ProjectRelationship<?, ?> rel;
+
+        private final SourceSet.Builder sources;
+
+        Merge( final ProjectRelationship<?, ?> rel )
+        {
+            this.rel = rel;
+            this.sources = new SourceSet.Builder( SourceSet.of( rel.getSources() ) );
+        }
+
+        void add( final ProjectRelationship<?, ?> discovery )
+        {
+            final Set<URI> found = discovery.getSources();
+            if ( found != rel.getSources() )
+            {
+                sources.addAll( found );
+            }
+
+            if ( rel.isInherited() && !discovery.isInherited() )
+            {
+                rel = discovery;
+            }
+        }
+
+        ProjectRelationship<?, ?> build()
+        {
+            return rel.addSources( sources.build() );
+        }
+    }
+}
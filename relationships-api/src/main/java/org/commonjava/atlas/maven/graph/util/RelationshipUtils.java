@@ -28,6 +28,7 @@ import org.commonjava.atlas.maven.graph.rel.ParentRelationship;
 import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
 import org.commonjava.atlas.maven.graph.rel.SimpleDependencyRelationship;
 import org.commonjava.atlas.maven.graph.rel.SimpleParentRelationship;
+import org.commonjava.atlas.maven.graph.rel.SourceSet;
 import org.commonjava.atlas.maven.ident.DependencyScope;
 import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
 import org.commonjava.atlas.maven.ident.version.InvalidVersionSpecificationException;
@@ -145,6 +146,34 @@ public final class RelationshipUtils
         }
     }
 
+    /**
+     * Fold many discoveries of the same relationship (from different repositories, say) into a single instance with
+     * the union of their sources. Sources are collected into one {@link SourceSet} and the relationship is rebuilt at
+     * most once, instead of once per {@link ProjectRelationship#addSources(Collection)} call. Apart from its sources,
+     * the result is the first discovery.
+     *
+     * @return the merged relationship, or null if there were no discoveries.
+     */
+    public static <R extends ProjectRelationship<R, ?>> R mergeSources( final Iterable<? extends R> discoveries )
+    {
+        R first = null;
+        SourceSet.Builder sources = null;
+        for ( final R rel : discoveries )
+        {
+            if ( first == null )
+            {
+                first = rel;
+                sources = new SourceSet.Builder( SourceSet.of( rel.getSources() ) );
+            }
+            else
+            {
+                sources.addAll( rel.getSources() );
+            }
+        }
+
+        return first == null ? null : first.addSources( sources.build() );
+    }
+
     public static URI profileLocation( final String profile )
     {
         if ( profile == null || profile.trim()
@@ -15,16 +15,22 @@
  */
 package org.commonjava.atlas.maven.graph.jackson;
 
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.commonjava.atlas.maven.graph.jackson.ProjectRelationshipSerializerModule;
 import org.commonjava.atlas.maven.graph.rel.DependencyRelationship;
 import org.commonjava.atlas.maven.graph.rel.ParentRelationship;
+import org.commonjava.atlas.maven.graph.rel.PluginDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.PluginRelationship;
 import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
 import org.commonjava.atlas.maven.graph.rel.RelationshipConstants;
 import org.commonjava.atlas.maven.graph.rel.SimpleDependencyRelationship;
 import org.commonjava.atlas.maven.graph.rel.SimpleParentRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimplePluginDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimplePluginRelationship;
 import org.commonjava.atlas.maven.ident.DependencyScope;
 import org.commonjava.atlas.maven.ident.jackson.ProjectVersionRefSerializerModule;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
 import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
 import org.junit.Before;
 import org.junit.Test;
@@ -96,4 +102,70 @@ public class ProjectRelationshipSerializerModuleTest
 
         assertThat( (DependencyRelationship) result, equalTo( rel ) );
     }
+
+    @Test
+    public void roundTrip_PluginRelationships()
+            throws Exception
+    {
+        ProjectVersionRef declaring = new SimpleProjectVersionRef( "org.foo", "bar", "1" );
+        ProjectVersionRef plugin =
+                new SimpleProjectVersionRef( "org.apache.maven.plugins", "maven-site-plugin", "3.12" );
+
+        PluginRelationship rel =
+                new SimplePluginRelationship( URI.create( "some:test:location" ), URI.create( "pom:profile:site" ),
+                                              declaring, plugin, 2, true, true, false );
+
+        String json = mapper.writeValueAsString( rel );
+        PluginRelationship result = (PluginRelationship) mapper.readValue( json, ProjectRelationship.class );
+
+        assertThat( result, equalTo( rel ) );
+        assertThat( result.getIndex(), equalTo( 2 ) );
+        assertThat( result.isManaged(), equalTo( true ) );
+        assertThat( result.isReporting(), equalTo( true ) );
+        assertThat( result.getPomLocation(), equalTo( rel.getPomLocation() ) );
+
+        PluginDependencyRelationship dep =
+                new SimplePluginDependencyRelationship( URI.create( "some:test:location" ),
+                                                        RelationshipConstants.POM_ROOT_URI, declaring,
+                                                        plugin.asProjectRef(),
+                                                        new SimpleProjectVersionRef( "org.foo", "dep", "1.1" )
+                                                                .asJarArtifact(), 0, false, true );
+
+        json = mapper.writeValueAsString( dep );
+        PluginDependencyRelationship depResult =
+                (PluginDependencyRelationship) mapper.readValue( json, ProjectRelationship.class );
+
+        assertThat( depResult, equalTo( dep ) );
+        assertThat( depResult.getPlugin(), equalTo( dep.getPlugin() ) );
+        assertThat( depResult.isInherited(), equalTo( true ) );
+    }
+
+    @Test
+    public void deserializeIgnoringUnknownFields()
+            throws Exception
+    {
+        String json = "{\"type\":\"DEPENDENCY\",\"extra\":{\"nested\":[1,{\"type\":\"PARENT\"}]},"
+                + "\"source-uris\":[\"some:test:location\"],\"declaring\":\"org.foo:bar:1\","
+                + "\"target\":\"org.foo:dep:1.1\",\"scope\":\"test\",\"optional\":true,\"idx\":3}";
+
+        DependencyRelationship result = (DependencyRelationship) mapper.readValue( json, ProjectRelationship.class );
+
+        ProjectVersionRef declaring = new SimpleProjectVersionRef( "org.foo", "bar", "1" );
+        assertThat( result.getDeclaring(), equalTo( declaring ) );
+        assertThat( result.getScope(), equalTo( DependencyScope.test ) );
+        assertThat( result.isOptional(), equalTo( true ) );
+        assertThat( result.getIndex(), equalTo( 3 ) );
+        assertThat( result.getPomLocation(), equalTo( RelationshipConstants.POM_ROOT_URI ) );
+        assertThat( result.getSources().contains( URI.create( "some:test:location" ) ), equalTo( true ) );
+    }
+
+    @Test( expected = JsonParseException.class )
+    public void failOnInvalidSourceUri()
+            throws Exception
+    {
+        String json = "{\"type\":\"PARENT\",\"source-uris\":[\"not a uri\"],\"declaring\":\"org.foo:bar:1\","
+                + "\"target\":\"org.foo:parent:1\"}";
+
+        mapper.readValue( json, ProjectRelationship.class );
+    }
 }
@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleParentRelationship;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.junit.Test;
+
+import java.net.URI;
+
+public class EProjectCycleTest
+{
+    private static final URI SOURCE = URI.create( "http://repo.example.com/maven2/" );
+
+    private final ProjectVersionRef a = new SimpleProjectVersionRef( "org.foo", "a", "1" );
+
+    private final ProjectVersionRef b = new SimpleProjectVersionRef( "org.foo", "b", "1" );
+
+    private final ProjectVersionRef c = new SimpleProjectVersionRef( "org.foo", "c", "1" );
+
+    private final ProjectRelationship<?, ?> ab = new SimpleParentRelationship( SOURCE, a, b );
+
+    private final ProjectRelationship<?, ?> bc = new SimpleParentRelationship( SOURCE, b, c );
+
+    @Test
+    public void queryBuilderAsBuilt()
+    {
+        final EProjectCycle.Builder builder = new EProjectCycle.Builder( ab ).with( bc );
+        final EProjectCycle cycle = builder.build();
+
+        for ( final ProjectVersionRef ref : new ProjectVersionRef[] { a, b, c } )
+        {
+            assertThat( builder.indexOf( ref ), equalTo( cycle.indexOf( ref ) ) );
+            assertThat( builder.contains( ref ), equalTo( cycle.contains( ref ) ) );
+        }
+        assertThat( builder.indexOf( c ), equalTo( 1 ) );
+        assertThat( builder.contains( c ), equalTo( false ) );
+        assertThat( builder.indexOf( bc ), equalTo( 1 ) );
+        assertThat( builder.contains( ab ), equalTo( true ) );
+
+        builder.withoutLast();
+        assertThat( builder.indexOf( bc ), equalTo( -1 ) );
+        assertThat( builder.contains( b ), equalTo( false ) );
+        assertThat( cycle.contains( b ), equalTo( true ) );
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.commonjava.atlas.maven.graph.rel.DependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.PluginDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.PluginRelationship;
+import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.RelationshipType;
+import org.commonjava.atlas.maven.graph.rel.SimpleDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimplePluginDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimplePluginRelationship;
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.junit.Test;
+
+public class EProjectDirectRelationshipsTest
+{
+
+    private final URI source = URI.create( "test:source" );
+
+    private final ProjectVersionRef project = new SimpleProjectVersionRef( "org.foo", "bar", "1.0" );
+
+    private final ProjectVersionRef plugin = new SimpleProjectVersionRef( "org.foo", "foo-plugin", "1.0" );
+
+    private final DependencyRelationship dep =
+        new SimpleDependencyRelationship( source, project, new SimpleArtifactRef( "org.foo", "dep", "1.0", null, null ),
+                                          DependencyScope.compile, 0, false, false, false );
+
+    private final DependencyRelationship managedDep =
+        new SimpleDependencyRelationship( source, project, new SimpleArtifactRef( "org.foo", "dep", "2.0", null, null ),
+                                          DependencyScope.compile, 0, true, false, false );
+
+    private final PluginRelationship pluginRel =
+        new SimplePluginRelationship( source, project, plugin, 0, false, false );
+
+    private final PluginDependencyRelationship pluginDep =
+        new SimplePluginDependencyRelationship( source, project, plugin.asProjectRef(),
+                                                new SimpleArtifactRef( "org.foo", "plugin-dep", "1.0", null, null ), 0,
+                                                false, false );
+
+    @Test
+    public void computeAggregatesOnce()
+    {
+        final EProjectDirectRelationships rels = new EProjectDirectRelationships.Builder( source, project )
+            .withParent( new SimpleProjectVersionRef( "org.foo", "parent", "1" ) )
+            .withDependencies( dep, managedDep )
+            .build();
+
+        final Set<ProjectRelationship<?, ?>> exact = rels.getExactAllRelationships();
+        assertThat( exact.size(), equalTo( 3 ) );
+        assertThat( rels.getExactAllRelationships(), sameInstance( exact ) );
+
+        // no terminal parent to filter, so both are the same set
+        assertThat( rels.getAllRelationships(), sameInstance( exact ) );
+    }
+
+    @Test
+    public void filterTerminalParentOnce()
+    {
+        final EProjectDirectRelationships rels =
+            new EProjectDirectRelationships.Builder( source, project ).withDependencies( dep ).build();
+
+        assertThat( rels.getExactAllRelationships().contains( rels.getParent() ), equalTo( true ) );
+
+        final Set<ProjectRelationship<?, ?>> all = rels.getAllRelationships();
+        assertThat( all, equalTo( Collections.<ProjectRelationship<?, ?>>singleton( dep ) ) );
+        assertThat( rels.getAllRelationships(), sameInstance( all ) );
+    }
+
+    @Test( expected = UnsupportedOperationException.class )
+    public void aggregatesAreReadOnly()
+    {
+        new EProjectDirectRelationships.Builder( source, project ).build().getExactAllRelationships().clear();
+    }
+
+    @Test
+    public void relationshipsByType()
+    {
+        final EProjectDirectRelationships rels = new EProjectDirectRelationships.Builder( source, project )
+            .withDependencies( dep, managedDep )
+            .withPlugins( pluginRel )
+            .withPluginDependencies( pluginDep )
+            .build();
+
+        assertThat( rels.getRelationships( RelationshipType.PARENT ).size(), equalTo( 1 ) );
+        assertThat( rels.getRelationships( RelationshipType.BOM ).isEmpty(), equalTo( true ) );
+        assertThat( new HashSet<Object>( rels.getRelationships( RelationshipType.DEPENDENCY ) ),
+                    equalTo( new HashSet<Object>( Arrays.asList( dep, managedDep ) ) ) );
+        assertThat( rels.getRelationships( RelationshipType.PLUGIN ).size(), equalTo( 1 ) );
+        assertThat( (Object) rels.getRelationships( RelationshipType.PLUGIN_DEP ).get( 0 ),
+                    equalTo( (Object) pluginDep ) );
+
+        int total = 0;
+        for ( final RelationshipType type : RelationshipType.values() )
+        {
+            total += rels.getRelationships( type ).size();
+        }
+        assertThat( total, equalTo( rels.getExactAllRelationships().size() ) );
+    }
+
+    @Test
+    public void computeAggregatesAfterJavaDeserialization()
+        throws Exception
+    {
+        final EProjectDirectRelationships rels =
+            new EProjectDirectRelationships.Builder( source, project ).withDependencies( dep ).build();
+        final Set<ProjectRelationship<?, ?>> exact = rels.getExactAllRelationships();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream( bytes ))
+        {
+            out.writeObject( rels );
+        }
+
+        final EProjectDirectRelationships copy;
+        try (ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ))
+        {
+            copy = (EProjectDirectRelationships) in.readObject();
+        }
+
+        assertThat( copy.getExactAllRelationships(), equalTo( exact ) );
+    }
+}
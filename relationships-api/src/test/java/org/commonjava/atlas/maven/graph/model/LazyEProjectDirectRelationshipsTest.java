@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.commonjava.atlas.maven.graph.jackson.ProjectRelationshipSerializerModule;
+import org.commonjava.atlas.maven.graph.model.LazyEProjectDirectRelationships.Section;
+import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleBomRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimplePluginDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimplePluginRelationship;
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.jackson.ProjectVersionRefSerializerModule;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyEProjectDirectRelationshipsTest
+{
+
+    private ObjectMapper mapper;
+
+    private EProjectDirectRelationships rels;
+
+    @Before
+    public void before()
+        throws Exception
+    {
+        mapper = new ObjectMapper();
+        mapper.registerModules( new ProjectVersionRefSerializerModule(), new ProjectRelationshipSerializerModule() );
+
+        final URI source = new URI( "test:source" );
+        final ProjectVersionRef p = new SimpleProjectVersionRef( "org.apache.maven", "maven-cöre", "3.0.3" );
+        final ProjectVersionRef jar =
+            new SimpleProjectVersionRef( "org.apache.maven.plugins", "maven-jar-plugin", "2.2" );
+
+        rels = new EProjectDirectRelationships.Builder( source, p )
+            .withParent( new SimpleProjectVersionRef( "org.apache.maven", "mäven", "3.0.3" ) )
+            .withBoms( new SimpleBomRelationship( source, URI.create( "pom:root" ), p,
+                                                  new SimpleProjectVersionRef( "org.foo", "bom", "1" ), 0, false,
+                                                  false ) )
+            .withDependencies( new SimpleDependencyRelationship( source, p,
+                                                                 new SimpleArtifactRef( "org.apache.maven", "maven-api",
+                                                                                        "3.0.3", null, null ),
+                                                                 DependencyScope.compile, 0, false, false, false ),
+                               new SimpleDependencyRelationship( source, p,
+                                                                 new SimpleArtifactRef( "junit", "junit", "4.13.2",
+                                                                                        null, null ),
+                                                                 DependencyScope.test, 0, true, false, false ) )
+            .withPlugins( new SimplePluginRelationship( source, p, jar, 0, false, false ) )
+            .withPluginDependencies( new SimplePluginDependencyRelationship( source, p, jar.asProjectRef(),
+                                                                             new SimpleArtifactRef( "org.foo", "dep",
+                                                                                                    "1", "jar", null ),
+                                                                             0, false, false ) )
+            .withExtension( new SimpleProjectVersionRef( "org.apache.maven.wagon", "wagon-webdav", "1.0" ), false )
+            .build();
+    }
+
+    @Test
+    public void decodeSectionsLikeEagerRead()
+        throws Exception
+    {
+        final byte[] json = mapper.writeValueAsBytes( rels );
+        final EProjectDirectRelationships eager = mapper.readValue( json, EProjectDirectRelationships.class );
+        final LazyEProjectDirectRelationships lazy = new LazyEProjectDirectRelationships( mapper, json );
+
+        assertThat( lazy.getSource(), equalTo( eager.getSource() ) );
+        assertThat( lazy.getProjectRef(), equalTo( eager.getProjectRef() ) );
+        assertThat( lazy.getParent(), equalTo( eager.getParent() ) );
+        assertThat( lazy.getBoms(), equalTo( eager.getBoms() ) );
+        assertThat( lazy.getDependencies(), equalTo( eager.getDependencies() ) );
+        assertThat( lazy.getManagedDependencies(), equalTo( eager.getManagedDependencies() ) );
+        assertThat( lazy.getPlugins(), equalTo( eager.getPlugins() ) );
+        assertThat( lazy.getManagedPlugins(), equalTo( eager.getManagedPlugins() ) );
+        assertThat( lazy.getExtensions(), equalTo( eager.getExtensions() ) );
+        assertThat( lazy.getPluginDependencies(), equalTo( eager.getPluginDependencies() ) );
+        assertThat( lazy.getExactAllRelationships(), equalTo( rels.getExactAllRelationships() ) );
+        assertThat( lazy.getAllRelationships(), equalTo( rels.getAllRelationships() ) );
+        assertThat( lazy.toDirectRelationships().getExactAllRelationships(),
+                    equalTo( rels.getExactAllRelationships() ) );
+    }
+
+    @Test
+    public void shareReadOnlyAggregates()
+        throws Exception
+    {
+        final LazyEProjectDirectRelationships lazy =
+            new LazyEProjectDirectRelationships( mapper, mapper.writeValueAsBytes( rels ) );
+
+        final Set<ProjectRelationship<?, ?>> exact = lazy.getExactAllRelationships();
+        assertThat( lazy.getExactAllRelationships(), sameInstance( exact ) );
+        assertThat( lazy.getAllRelationships(), sameInstance( lazy.getAllRelationships() ) );
+
+        try
+        {
+            exact.clear();
+            throw new AssertionError( "Aggregate relationships should be read-only" );
+        }
+        catch ( final UnsupportedOperationException e )
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void decodeOnlyTheSectionsUsed()
+        throws Exception
+    {
+        final LazyEProjectDirectRelationships lazy =
+            new LazyEProjectDirectRelationships( mapper, mapper.writeValueAsBytes( rels ) );
+
+        for ( final Section section : Section.values() )
+        {
+            assertThat( lazy.isDecoded( section ), equalTo( false ) );
+        }
+
+        assertThat( lazy.getDependencies(), equalTo( rels.getDependencies() ) );
+
+        for ( final Section section : Section.values() )
+        {
+            assertThat( section.name(), lazy.isDecoded( section ), equalTo( section == Section.DEPENDENCIES ) );
+        }
+    }
+
+    @Test
+    public void failOnlyWhenBrokenSectionIsUsed()
+        throws Exception
+    {
+        final String json = new String( mapper.writeValueAsBytes( rels ), StandardCharsets.UTF_8 ).replace(
+            "\"type\":\"PLUGIN\"", "\"type\":\"BROKEN\"" );
+
+        final LazyEProjectDirectRelationships lazy =
+            new LazyEProjectDirectRelationships( mapper, json.getBytes( StandardCharsets.UTF_8 ) );
+
+        assertThat( lazy.getDependencies(), equalTo( rels.getDependencies() ) );
+        assertThat( lazy.getParent(), equalTo( rels.getParent() ) );
+
+        try
+        {
+            lazy.getPlugins();
+            throw new AssertionError( "Broken plugins section should fail to decode" );
+        }
+        catch ( final UncheckedIOException e )
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void readMissingSectionsAsEmpty()
+        throws Exception
+    {
+        final String json = "{\"source\":\"test:source\",\"projectRef\":\"org.foo:bar:1\",\"parent\":null,"
+            + "\"unknown\":{\"boms\":[1,2]},\"dependencies\":[]}";
+
+        final LazyEProjectDirectRelationships lazy =
+            new LazyEProjectDirectRelationships( mapper, json.getBytes( StandardCharsets.UTF_8 ) );
+
+        assertThat( lazy.getSource(), equalTo( URI.create( "test:source" ) ) );
+        assertThat( lazy.getProjectRef(),
+                    equalTo( (ProjectVersionRef) new SimpleProjectVersionRef( "org.foo", "bar", "1" ) ) );
+        assertThat( lazy.getParent(), nullValue() );
+        assertThat( lazy.getBoms().isEmpty(), equalTo( true ) );
+        assertThat( lazy.getDependencies().isEmpty(), equalTo( true ) );
+        assertThat( lazy.getPluginDependencies().isEmpty(), equalTo( true ) );
+        assertThat( lazy.getPluginDependencies( new SimpleProjectVersionRef( "org.foo", "plugin", "1" ), false,
+                                                false ), nullValue() );
+        assertThat( lazy.getExactAllRelationships().isEmpty(), equalTo( true ) );
+    }
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.rel;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.ref.ArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.ProjectRef;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+public class BinaryRelationshipCodecTest
+{
+    private static final URI SOURCE = URI.create( "http://repo.example.com/maven2/" );
+
+    private static final URI OTHER_SOURCE = URI.create( "file:///var/lib/repo" );
+
+    private static final URI POM_LOCATION = URI.create( "pom:profile:java9" );
+
+    private static final ProjectVersionRef DECLARING = new SimpleProjectVersionRef( "org.foo", "bar", "1.0" );
+
+    private static final ProjectVersionRef TARGET = new SimpleProjectVersionRef( "org.foo", "parent", "3" );
+
+    private static final ArtifactRef ARTIFACT = new SimpleArtifactRef( "org.foo", "dep", "[1.0,2.0)", "jar", null );
+
+    private static final ArtifactRef TEST_ARTIFACT =
+            new SimpleArtifactRef( "org.foo", "dep", "1.2", "test-jar", "tests" );
+
+    private static final List<ProjectRelationship<?, ?>> RELATIONSHIPS = Arrays.<ProjectRelationship<?, ?>>asList(
+            new SimpleParentRelationship( DECLARING ),
+            new SimpleParentRelationship( SOURCE, DECLARING, TARGET ),
+            new SimpleBomRelationship( Arrays.asList( SOURCE, OTHER_SOURCE ), POM_LOCATION, DECLARING, TARGET, 0,
+                                       true, true ),
+            new SimpleDependencyRelationship( SOURCE, DECLARING, ARTIFACT, DependencyScope.compile, 0, false, false,
+                                              false ),
+            new SimpleDependencyRelationship( SOURCE, POM_LOCATION, DECLARING, TEST_ARTIFACT, DependencyScope.test, 1,
+                                              true, true, true, new SimpleProjectRef( "org.foo", "excluded" ),
+                                              new SimpleProjectRef( "*", "*" ) ),
+            new SimplePluginRelationship( SOURCE, DECLARING, TARGET, 2, true, true, false ),
+            new SimplePluginRelationship( SOURCE, POM_LOCATION, DECLARING, TARGET, 3, false, false, true ),
+            new SimplePluginDependencyRelationship( SOURCE, POM_LOCATION, DECLARING,
+                                                    new SimpleProjectRef( "org.apache.maven.plugins",
+                                                                          "maven-compiler-plugin" ),
+                                                    TEST_ARTIFACT, 4, true, false ),
+            new SimpleExtensionRelationship( SOURCE, POM_LOCATION, DECLARING, TARGET, 5, true ) );
+
+    @Test
+    public void roundTripThroughDataOutput()
+        throws IOException
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final BinaryRelationshipWriter writer = new BinaryRelationshipWriter( new DataOutputStream( bytes ) );
+        for ( final ProjectRelationship<?, ?> rel : RELATIONSHIPS )
+        {
+            writer.writeRelationship( rel );
+        }
+
+        final BinaryRelationshipReader reader = new BinaryRelationshipReader(
+                new DataInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) );
+        for ( final ProjectRelationship<?, ?> rel : RELATIONSHIPS )
+        {
+            assertRead( reader.readRelationship(), rel );
+        }
+    }
+
+    @Test
+    public void roundTripThroughByteBufferWithRefs()
+        throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.allocate( 8192 );
+        final BinaryRelationshipWriter writer = new BinaryRelationshipWriter( buffer );
+        for ( final ProjectRelationship<?, ?> rel : RELATIONSHIPS )
+        {
+            writer.writeRef( rel.getDeclaring() );
+            writer.writeRelationship( rel );
+        }
+        buffer.flip();
+
+        final BinaryRelationshipReader reader = new BinaryRelationshipReader( buffer );
+        ProjectRelationship<?, ?> last = null;
+        for ( final ProjectRelationship<?, ?> rel : RELATIONSHIPS )
+        {
+            assertThat( reader.readRef(), equalTo( (ProjectRef) rel.getDeclaring() ) );
+
+            final ProjectRelationship<?, ?> read = reader.readRelationship();
+            assertRead( read, rel );
+            if ( last != null )
+            {
+                assertThat( read.getDeclaring().getGroupId(), sameInstance( last.getDeclaring().getGroupId() ) );
+            }
+            last = read;
+        }
+        assertThat( buffer.hasRemaining(), equalTo( false ) );
+    }
+
+    private static void assertRead( final ProjectRelationship<?, ?> read, final ProjectRelationship<?, ?> expected )
+    {
+        assertThat( read, instanceOf( expected.getClass() ) );
+        assertThat( read, equalTo( (Object) expected ) );
+        assertThat( read.getIndex(), equalTo( expected.getIndex() ) );
+        assertThat( read.getSources(), equalTo( expected.getSources() ) );
+        assertThat( read.getPomLocation(), equalTo( expected.getPomLocation() ) );
+        assertThat( read.isManaged(), equalTo( expected.isManaged() ) );
+        assertThat( read.isInherited(), equalTo( expected.isInherited() ) );
+        assertThat( read.isMixin(), equalTo( expected.isMixin() ) );
+        assertThat( read.getTarget().toString(), equalTo( expected.getTarget().toString() ) );
+
+        if ( expected instanceof DependencyRelationship )
+        {
+            final DependencyRelationship dep = (DependencyRelationship) read;
+            assertThat( dep.getScope(), equalTo( ( (DependencyRelationship) expected ).getScope() ) );
+            assertThat( dep.isOptional(), equalTo( ( (DependencyRelationship) expected ).isOptional() ) );
+            assertThat( dep.getExcludes(), equalTo( ( (DependencyRelationship) expected ).getExcludes() ) );
+        }
+        else if ( expected instanceof PluginRelationship )
+        {
+            assertThat( ( (PluginRelationship) read ).isReporting(),
+                        equalTo( ( (PluginRelationship) expected ).isReporting() ) );
+        }
+        else if ( expected instanceof PluginDependencyRelationship )
+        {
+            assertThat( ( (PluginDependencyRelationship) read ).getPlugin(),
+                        equalTo( ( (PluginDependencyRelationship) expected ).getPlugin() ) );
+        }
+    }
+}
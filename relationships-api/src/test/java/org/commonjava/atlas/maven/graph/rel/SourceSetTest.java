@@ -0,0 +1,175 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.rel;
+
+import static org.commonjava.atlas.maven.graph.util.RelationshipUtils.mergeSources;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class SourceSetTest
+{
+
+    private static URI repo( final int i )
+    {
+        return URI.create( "http://repo" + i + ".example.com/maven2/" );
+    }
+
+    @Test
+    public void growFromInlineToHashed()
+    {
+        SourceSet set = SourceSet.EMPTY;
+        final Set<URI> expected = new HashSet<URI>();
+        for ( int i = 0; i < SourceSet.INLINE_SIZE * 3; i++ )
+        {
+            set = set.with( repo( i ) );
+            expected.add( repo( i ) );
+
+            assertThat( set, equalTo( expected ) );
+            assertThat( set.hashCode(), equalTo( expected.hashCode() ) );
+            assertThat( set.with( repo( i ) ), sameInstance( set ) );
+        }
+
+        assertThat( set.withAll( expected ), sameInstance( set ) );
+    }
+
+    @Test
+    public void poolSingleSources()
+    {
+        final SourceSet set = SourceSet.of( repo( 1 ) );
+
+        assertThat( SourceSet.of( repo( 1 ) ), sameInstance( set ) );
+        assertThat( SourceSet.of( Arrays.asList( repo( 1 ), repo( 1 ) ) ), sameInstance( set ) );
+        assertThat( SourceSet.of( (URI) null ).contains( null ), equalTo( true ) );
+
+        // merged sets reuse the pooled URI instance
+        final SourceSet merged = SourceSet.of( Arrays.asList( repo( 2 ), repo( 1 ) ) );
+        final List<URI> uris = new ArrayList<URI>( merged );
+        assertThat( uris.get( 1 ), sameInstance( set.iterator().next() ) );
+    }
+
+    @Test( expected = UnsupportedOperationException.class )
+    public void readOnly()
+    {
+        SourceSet.of( Arrays.asList( repo( 1 ), repo( 2 ) ) ).add( repo( 3 ) );
+    }
+
+    @Test( expected = UnsupportedOperationException.class )
+    public void readOnlyIterator()
+    {
+        SourceSet.of( Arrays.asList( repo( 1 ), repo( 2 ) ) ).iterator().remove();
+    }
+
+    @Test
+    public void keepBuiltSetsUnchanged()
+    {
+        final SourceSet.Builder builder = new SourceSet.Builder();
+        for ( int i = 0; i < SourceSet.INLINE_SIZE + 1; i++ )
+        {
+            builder.add( repo( i ) );
+        }
+
+        final SourceSet first = builder.build();
+        builder.add( repo( 100 ) );
+        final SourceSet second = builder.build();
+
+        assertThat( first.size(), equalTo( SourceSet.INLINE_SIZE + 1 ) );
+        assertThat( second.size(), equalTo( SourceSet.INLINE_SIZE + 2 ) );
+        assertThat( builder.build(), sameInstance( second ) );
+    }
+
+    @Test
+    public void resolvePooledSetsAfterDeserializing()
+        throws Exception
+    {
+        final SourceSet single = SourceSet.of( repo( 1 ) );
+        final SourceSet many = SourceSet.of( Arrays.asList( repo( 1 ), repo( 2 ), repo( 3 ), repo( 4 ), repo( 5 ) ) );
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream( bytes ))
+        {
+            out.writeObject( single );
+            out.writeObject( many );
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ))
+        {
+            assertThat( in.readObject(), sameInstance( (Object) single ) );
+            assertThat( in.readObject(), equalTo( (Object) many ) );
+        }
+    }
+
+    @Test
+    public void shareSourcesBetweenRelationships()
+    {
+        final ProjectVersionRef declaring = new SimpleProjectVersionRef( "org.foo", "bar", "1" );
+        final DependencyRelationship dep =
+            new SimpleDependencyRelationship( Arrays.asList( repo( 1 ), repo( 2 ) ), declaring,
+                                              new SimpleArtifactRef( "org.foo", "dep", "1", null, null ),
+                                              DependencyScope.test, 0, false, false, false,
+                                              new SimpleProjectRef( "org.foo", "excluded" ) );
+
+        assertThat( dep.addSource( repo( 1 ) ), sameInstance( dep ) );
+        assertThat( dep.addSources( Arrays.asList( repo( 2 ), repo( 1 ) ) ), sameInstance( dep ) );
+        assertThat( dep.cloneFor( new SimpleProjectVersionRef( "org.foo", "bar", "2" ) ).getSources(),
+                    sameInstance( dep.getSources() ) );
+
+        final DependencyRelationship added = dep.addSource( repo( 3 ) );
+        assertThat( added.getSources().size(), equalTo( 3 ) );
+        assertThat( added.getExcludes(), equalTo( dep.getExcludes() ) );
+        assertThat( dep.getSources().size(), equalTo( 2 ) );
+    }
+
+    @Test
+    public void mergeDiscoveries()
+    {
+        final ProjectVersionRef declaring = new SimpleProjectVersionRef( "org.foo", "bar", "1" );
+        final ProjectVersionRef parent = new SimpleProjectVersionRef( "org.foo", "parent", "1" );
+
+        final List<ParentRelationship> discoveries = new ArrayList<ParentRelationship>();
+        final Set<URI> expected = new HashSet<URI>();
+        for ( int i = 0; i < 100; i++ )
+        {
+            discoveries.add( new SimpleParentRelationship( repo( i % 20 ), declaring, parent ) );
+            expected.add( repo( i % 20 ) );
+        }
+
+        final ParentRelationship merged = mergeSources( discoveries );
+        assertThat( merged, equalTo( discoveries.get( 0 ) ) );
+        assertThat( merged.getSources(), equalTo( expected ) );
+
+        assertThat( mergeSources( discoveries.subList( 0, 1 ) ), sameInstance( discoveries.get( 0 ) ) );
+        assertThat( mergeSources( new ArrayList<ParentRelationship>() ), equalTo( null ) );
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.store;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.commonjava.atlas.maven.graph.model.EProjectDirectRelationships;
+import org.commonjava.atlas.maven.graph.rel.RelationshipType;
+import org.commonjava.atlas.maven.graph.rel.SimpleDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleParentRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimplePluginRelationship;
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleArtifactRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class RelationshipGraphTest
+{
+    private static final URI SOURCE = URI.create( "http://repo.example.com/maven2/" );
+
+    private static final ProjectVersionRef PROJECT = new SimpleProjectVersionRef( "org.foo", "bar", "1.0" );
+
+    private static final ProjectVersionRef PARENT = new SimpleProjectVersionRef( "org.foo", "parent", "3" );
+
+    private static final ProjectVersionRef DEP = new SimpleProjectVersionRef( "org.foo", "dep", "1.2" );
+
+    private static final ProjectVersionRef PLUGIN = new SimpleProjectVersionRef( "org.foo", "foo-plugin", "2" );
+
+    private static EProjectDirectRelationships project( final ProjectVersionRef ref, final ProjectVersionRef parent,
+                                                        final ProjectVersionRef... deps )
+    {
+        final EProjectDirectRelationships.Builder builder = new EProjectDirectRelationships.Builder( SOURCE, ref );
+        if ( parent != null )
+        {
+            builder.withParent( parent );
+        }
+        for ( int i = 0; i < deps.length; i++ )
+        {
+            builder.withDependencies( new SimpleDependencyRelationship( SOURCE, ref, deps[i].asJarArtifact(),
+                                                                        DependencyScope.compile, i, false, false,
+                                                                        false ) );
+        }
+
+        return builder.build();
+    }
+
+    @Test
+    public void addProjectRelationships()
+    {
+        final RelationshipGraph graph = new RelationshipGraph();
+        final EProjectDirectRelationships.Builder builder =
+                new EProjectDirectRelationships.Builder( SOURCE, PROJECT ).withParent( PARENT );
+        builder.withDependencies(
+                new SimpleDependencyRelationship( SOURCE, PROJECT, DEP.asJarArtifact(), DependencyScope.test, 0,
+                                                  false, false, true ),
+                new SimpleDependencyRelationship( SOURCE, PROJECT, new SimpleArtifactRef( DEP, "test-jar", "tests" ),
+                                                  DependencyScope.runtime, 1, false, true, false ) );
+        builder.withPlugins( new SimplePluginRelationship( SOURCE, PROJECT, PLUGIN, 0, true, false ) );
+
+        assertThat( graph.add( builder.build() ), equalTo( 4 ) );
+        assertThat( graph.getNodeCount(), equalTo( 4 ) );
+        assertThat( graph.getEdgeCount(), equalTo( 4 ) );
+
+        final int project = graph.getNodeId( PROJECT );
+        final int parent = graph.getNodeId( PARENT );
+        final int dep = graph.getNodeId( DEP.asPomArtifact() );
+        final int plugin = graph.getNodeId( PLUGIN );
+        assertThat( graph.getProject( dep ), equalTo( DEP ) );
+
+        assertThat( graph.successors( project, RelationshipType.PARENT ), equalTo( new int[] { parent } ) );
+        assertThat( graph.successors( project, RelationshipType.DEPENDENCY ), equalTo( new int[] { dep, dep } ) );
+        assertThat( graph.successors( project, RelationshipType.PLUGIN ), equalTo( new int[] { plugin } ) );
+        assertThat( graph.successors( project, RelationshipType.EXTENSION ), equalTo( new int[0] ) );
+        assertThat( graph.predecessors( dep, RelationshipType.DEPENDENCY ), equalTo( new int[] { project, project } ) );
+        assertThat( graph.predecessors( project, RelationshipType.DEPENDENCY ), equalTo( new int[0] ) );
+
+        // the project's relationships come in set order
+        final RelationshipGraph.Edges deps = graph.getOutgoing( project, RelationshipType.DEPENDENCY );
+        final int jar = deps.getRelationship( 0 ).getTargetArtifact().getType().equals( "jar" ) ? 0 : 1;
+        assertThat( deps.getScope( jar ), equalTo( DependencyScope.test ) );
+        assertThat( deps.isOptional( jar ), equalTo( true ) );
+        assertThat( deps.isInherited( jar ), equalTo( false ) );
+        assertThat( deps.getScope( 1 - jar ), equalTo( DependencyScope.runtime ) );
+        assertThat( deps.isOptional( 1 - jar ), equalTo( false ) );
+        assertThat( deps.isInherited( 1 - jar ), equalTo( true ) );
+        assertThat( deps.getRelationship( 1 - jar ).getTargetArtifact().getType(), equalTo( "test-jar" ) );
+
+        final RelationshipGraph.Edges plugins = graph.getIncoming( plugin, RelationshipType.PLUGIN );
+        assertThat( plugins.getNode( 0 ), equalTo( project ) );
+        assertThat( plugins.isManaged( 0 ), equalTo( true ) );
+        assertThat( plugins.getScope( 0 ), nullValue() );
+    }
+
+    @Test
+    public void addEqualRelationshipsOnce()
+    {
+        final RelationshipGraph graph = new RelationshipGraph();
+        graph.add( project( PROJECT, PARENT, DEP ) );
+
+        assertThat( graph.add( project( PROJECT, PARENT, DEP ) ), equalTo( 0 ) );
+        assertThat( graph.add( new SimpleParentRelationship( URI.create( "file:///repo" ), PROJECT, PARENT ) ),
+                    equalTo( false ) );
+        assertThat( graph.getEdgeCount(), equalTo( 2 ) );
+        assertThat( graph.getOutgoing( graph.getNodeId( PROJECT ), RelationshipType.PARENT )
+                         .getRelationship( 0 )
+                         .getSources()
+                         .iterator()
+                         .next(), equalTo( SOURCE ) );
+    }
+
+    @Test
+    public void keepSnapshotsWhenAdding()
+    {
+        final RelationshipGraph graph = new RelationshipGraph();
+        graph.add( project( PROJECT, null ) );
+        assertThat( graph.getNodeId( DEP ), equalTo( RelationshipGraph.NO_NODE ) );
+
+        final int project = graph.getNodeId( PROJECT );
+        final RelationshipGraph.Edges before = graph.getOutgoing( project, RelationshipType.DEPENDENCY );
+        graph.add( project( PROJECT, null, DEP, PLUGIN ) );
+
+        assertThat( before.size(), equalTo( 0 ) );
+        assertThat( graph.getOutgoing( project, RelationshipType.DEPENDENCY ).size(), equalTo( 2 ) );
+        assertThat( graph.getOutgoing( graph.getNodeId( DEP ), RelationshipType.DEPENDENCY ),
+                    sameInstance( graph.getOutgoing( graph.getNodeId( PLUGIN ), RelationshipType.DEPENDENCY ) ) );
+    }
+
+    @Test( expected = IndexOutOfBoundsException.class )
+    public void failOnUnknownNode()
+    {
+        new RelationshipGraph().successors( 0, RelationshipType.DEPENDENCY );
+    }
+
+    @Test
+    public void addConcurrently()
+        throws Exception
+    {
+        final int projects = 500;
+        final int deps = 20;
+        final List<ProjectVersionRef> refs = new ArrayList<>();
+        for ( int i = 0; i < projects; i++ )
+        {
+            refs.add( new SimpleProjectVersionRef( "org.foo", "project-" + i, "1" ) );
+        }
+
+        final RelationshipGraph graph = new RelationshipGraph();
+        final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+        try
+        {
+            final List<Future<Integer>> added = new ArrayList<>();
+            for ( int i = 0; i < projects; i++ )
+            {
+                final ProjectVersionRef[] targets = new ProjectVersionRef[deps];
+                for ( int d = 0; d < deps; d++ )
+                {
+                    targets[d] = refs.get( ( i + d + 1 ) % projects );
+                }
+                final EProjectDirectRelationships rels = project( refs.get( i ), PARENT, targets );
+                added.add( executor.submit( () -> graph.add( rels ) ) );
+            }
+
+            for ( final Future<Integer> future : added )
+            {
+                assertThat( future.get(), equalTo( deps + 1 ) );
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+            executor.awaitTermination( 10, TimeUnit.SECONDS );
+        }
+
+        assertThat( graph.getNodeCount(), equalTo( projects + 1 ) );
+        assertThat( graph.getEdgeCount(), equalTo( projects * ( deps + 1 ) ) );
+        assertThat( graph.predecessors( graph.getNodeId( PARENT ), RelationshipType.PARENT ).length,
+                    equalTo( projects ) );
+        for ( int i = 0; i < projects; i++ )
+        {
+            final int node = graph.getNodeId( refs.get( i ) );
+            assertThat( graph.getProject( node ), equalTo( refs.get( i ) ) );
+            assertThat( graph.successors( node, RelationshipType.DEPENDENCY ).length, equalTo( deps ) );
+            assertThat( graph.predecessors( node, RelationshipType.DEPENDENCY ).length, equalTo( deps ) );
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.traverse;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.commonjava.atlas.maven.graph.model.EProjectCycle;
+import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.RelationshipType;
+import org.commonjava.atlas.maven.graph.rel.SimpleDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleParentRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimplePluginRelationship;
+import org.commonjava.atlas.maven.graph.store.RelationshipGraph;
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class CycleDetectorTest
+{
+    private static final URI SOURCE = URI.create( "http://repo.example.com/maven2/" );
+
+    private final RelationshipGraph graph = new RelationshipGraph();
+
+    private static ProjectVersionRef ref( final String name )
+    {
+        return new SimpleProjectVersionRef( "org.foo", name, "1" );
+    }
+
+    private static ProjectRelationship<?, ?> dep( final String from, final String to )
+    {
+        return new SimpleDependencyRelationship( SOURCE, ref( from ), ref( to ).asJarArtifact(),
+                                                 DependencyScope.compile, 0, false, false, false );
+    }
+
+    private static void assertClosed( final EProjectCycle cycle )
+    {
+        final List<ProjectRelationship<?, ?>> rels = cycle.getRelationships();
+        for ( int i = 0; i < rels.size(); i++ )
+        {
+            final ProjectRelationship<?, ?> next = rels.get( ( i + 1 ) % rels.size() );
+            assertThat( rels.get( i ).getTarget().asProjectVersionRef(), equalTo( next.getDeclaring() ) );
+        }
+    }
+
+    @Test
+    public void detectOneCycleForEachComponent()
+    {
+        graph.add( dep( "a", "b" ) );
+        graph.add( dep( "b", "c" ) );
+        graph.add( dep( "c", "a" ) );
+        graph.add( dep( "c", "d" ) );
+        graph.add( dep( "d", "b" ) );
+        graph.add( dep( "d", "e" ) );
+        graph.add( dep( "e", "f" ) );
+        graph.add( new SimplePluginRelationship( SOURCE, ref( "p" ), ref( "p" ), 0, false, false ) );
+        graph.add( new SimpleParentRelationship( SOURCE, ref( "f" ), ref( "e" ) ) );
+
+        final List<EProjectCycle> cycles = new CycleDetector( graph ).detect();
+        assertThat( cycles.size(), equalTo( 3 ) );
+
+        final Set<Set<ProjectVersionRef>> participants = new HashSet<>();
+        for ( final EProjectCycle cycle : cycles )
+        {
+            assertClosed( cycle );
+            participants.add( cycle.getAllParticipatingProjects() );
+        }
+        assertThat( participants.contains( new HashSet<>( Arrays.asList( ref( "p" ) ) ) ), equalTo( true ) );
+        assertThat( participants.contains( new HashSet<>( Arrays.asList( ref( "e" ), ref( "f" ) ) ) ),
+                    equalTo( true ) );
+
+        final List<EProjectCycle> dependencyCycles = new CycleDetector( graph, RelationshipType.DEPENDENCY ).detect();
+        assertThat( dependencyCycles.size(), equalTo( 1 ) );
+        assertThat( dependencyCycles.get( 0 ).contains( ref( "e" ) ), equalTo( false ) );
+    }
+
+    @Test
+    public void detectCyclesAsRelationshipsAreAdded()
+    {
+        final CycleDetector detector = new CycleDetector( graph, RelationshipType.DEPENDENCY );
+        assertThat( detector.detect().isEmpty(), equalTo( true ) );
+
+        assertThat( detector.add( dep( "a", "b" ) ), nullValue() );
+        assertThat( detector.add( dep( "b", "c" ) ), nullValue() );
+        assertThat( detector.add( dep( "c", "d" ) ), nullValue() );
+        assertThat( detector.add( dep( "d", "b" ) ).getRelationships().size(), equalTo( 3 ) );
+        assertThat( detector.add( dep( "d", "b" ) ), nullValue() );
+        assertThat( detector.add( new SimpleParentRelationship( SOURCE, ref( "b" ), ref( "a" ) ) ), nullValue() );
+
+        final ProjectRelationship<?, ?> closing = dep( "c", "a" );
+        final EProjectCycle cycle = detector.add( closing );
+        assertThat( cycle.getRelationships().get( 0 ), sameInstance( (Object) closing ) );
+        assertThat( cycle.getRelationships().size(), equalTo( 3 ) );
+        assertClosed( cycle );
+
+        final ProjectRelationship<?, ?> self = dep( "e", "e" );
+        assertThat( detector.add( self ).getRelationships().get( 0 ), sameInstance( (Object) self ) );
+        assertThat( detector.detect().size(), equalTo( 2 ) );
+    }
+
+    @Test
+    public void keepOrderWhenComponentsAreMovedPastEachOther()
+    {
+        final CycleDetector detector = new CycleDetector( graph, RelationshipType.DEPENDENCY );
+        final int[][] edges = { { 6, 0 }, { 4, 3 }, { 3, 0 }, { 7, 6 }, { 3, 1 }, { 1, 4 }, { 0, 6 } };
+        int closed = 0;
+        for ( final int[] edge : edges )
+        {
+            closed += addAndCheck( graph, detector, edge[0], edge[1] );
+        }
+
+        assertThat( closed, equalTo( 2 ) );
+    }
+
+    @Test
+    public void matchBruteForceOnSmallDenseGraphs()
+    {
+        final Random random = new Random( 11 );
+        for ( int round = 0; round < 300; round++ )
+        {
+            final RelationshipGraph small = new RelationshipGraph();
+            final CycleDetector detector = new CycleDetector( small, RelationshipType.DEPENDENCY );
+            final int projects = 2 + random.nextInt( 30 );
+            for ( int i = 0; i < projects * 3; i++ )
+            {
+                addAndCheck( small, detector, random.nextInt( projects ), random.nextInt( projects ) );
+            }
+
+            for ( final EProjectCycle found : detector.detect() )
+            {
+                assertClosed( found );
+            }
+        }
+    }
+
+    @Test
+    public void matchBruteForceOnRandomGraphs()
+    {
+        final Random random = new Random( 7 );
+        final int projects = 300;
+        final CycleDetector detector = new CycleDetector( graph, RelationshipType.DEPENDENCY );
+        int closed = 0;
+        for ( int i = 0; i < 1500; i++ )
+        {
+            // mostly forward edges, so the graph stays mostly acyclic and reordering is exercised
+            final int from = random.nextInt( projects );
+            final int to = random.nextInt( 8 ) == 0 ? random.nextInt( projects ) : from + 1 + random.nextInt( 20 );
+            closed += addAndCheck( graph, detector, from, to );
+
+            if ( i == 1000 )
+            {
+                for ( final EProjectCycle found : detector.detect() )
+                {
+                    assertClosed( found );
+                }
+            }
+        }
+
+        assertThat( closed > 10, equalTo( true ) );
+    }
+
+    /**
+     * Add a dependency between two numbered projects, checking the result against a search of the graph.
+     *
+     * @return 1 if the dependency closed a cycle, else 0
+     */
+    private static int addAndCheck( final RelationshipGraph graph, final CycleDetector detector, final int from,
+                                    final int to )
+    {
+        final ProjectRelationship<?, ?> rel = dep( "p" + from, "p" + to );
+        final boolean known = graph.getNodeId( rel.getDeclaring() ) >= 0 && graph.getNodeId( rel.getTarget() ) >= 0;
+        final int distance = from == to ? 0 : known ? distance( graph, "p" + to, "p" + from ) : -1;
+        final boolean added = graph.getNodeId( rel.getDeclaring() ) < 0 || !contains( graph, rel );
+
+        final EProjectCycle cycle = detector.add( rel );
+        if ( added && distance >= 0 )
+        {
+            assertThat( "edge " + from + " -> " + to, cycle, notNullValue() );
+            assertThat( cycle.getRelationships().get( 0 ), sameInstance( (Object) rel ) );
+            assertThat( cycle.getRelationships().size(), equalTo( distance + 1 ) );
+            assertClosed( cycle );
+            return 1;
+        }
+
+        assertThat( "edge " + from + " -> " + to, cycle, nullValue() );
+        return 0;
+    }
+
+    private static boolean contains( final RelationshipGraph graph, final ProjectRelationship<?, ?> rel )
+    {
+        final RelationshipGraph.Edges edges =
+                graph.getOutgoing( graph.getNodeId( rel.getDeclaring() ), RelationshipType.DEPENDENCY );
+        for ( int i = 0; i < edges.size(); i++ )
+        {
+            if ( edges.getRelationship( i ).equals( rel ) )
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static int distance( final RelationshipGraph graph, final String from, final String to )
+    {
+        final int target = graph.getNodeId( ref( to ) );
+        final Map<Integer, Integer> distances = new HashMap<>();
+        final Deque<Integer> queue = new ArrayDeque<>();
+        final int start = graph.getNodeId( ref( from ) );
+        distances.put( start, 0 );
+        queue.add( start );
+        while ( !queue.isEmpty() )
+        {
+            final int node = queue.poll();
+            if ( node == target )
+            {
+                return distances.get( node );
+            }
+            for ( final int next : graph.successors( node, RelationshipType.DEPENDENCY ) )
+            {
+                if ( !distances.containsKey( next ) )
+                {
+                    distances.put( next, distances.get( node ) + 1 );
+                    queue.add( next );
+                }
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.traverse;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.commonjava.atlas.maven.graph.rel.SimpleDependencyRelationship;
+import org.commonjava.atlas.maven.graph.store.RelationshipGraph;
+import org.commonjava.atlas.maven.graph.traverse.DependencyTraversal.Action;
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.ScopeTransitivity;
+import org.commonjava.atlas.maven.ident.ref.ProjectRef;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class DependencyTraversalTest
+{
+    private static final URI SOURCE = URI.create( "http://repo.example.com/maven2/" );
+
+    private final RelationshipGraph graph = new RelationshipGraph();
+
+    private static ProjectVersionRef ref( final String name )
+    {
+        return new SimpleProjectVersionRef( "org.foo", name, "1" );
+    }
+
+    private void dep( final String from, final String to, final DependencyScope scope, final boolean managed,
+                      final boolean optional, final ProjectRef... excludes )
+    {
+        graph.add( new SimpleDependencyRelationship( SOURCE, null, ref( from ), ref( to ).asJarArtifact(), scope, 0,
+                                                     managed, false, optional, excludes ) );
+    }
+
+    private void dep( final String from, final String to, final DependencyScope scope )
+    {
+        dep( from, to, scope, false, false );
+    }
+
+    private Map<String, String> visit( final DependencyScope scope, final String root )
+    {
+        final Map<String, String> visited = new LinkedHashMap<>();
+        new DependencyTraversal( graph, ScopeTransitivity.maven, scope ).traverse(
+                graph.getNodeId( ref( root ) ), ( node, s, depth, via ) -> {
+                    visited.put( graph.getProject( node ).getArtifactId(), s.realName() + "@" + depth );
+                    return Action.CONTINUE;
+                } );
+
+        return visited;
+    }
+
+    @Test
+    public void applyScopeTransitivity()
+    {
+        dep( "root", "a", DependencyScope.compile );
+        dep( "root", "t", DependencyScope.test );
+        dep( "a", "b", DependencyScope.runtime );
+        dep( "a", "c", DependencyScope.test );
+        dep( "a", "d", DependencyScope.provided );
+        dep( "t", "u", DependencyScope.compile );
+        dep( "root", "p", DependencyScope.provided );
+        dep( "p", "q", DependencyScope.compile );
+
+        final Map<String, String> expected = new LinkedHashMap<>();
+        expected.put( "root", "test@0" );
+        expected.put( "a", "compile@1" );
+        expected.put( "t", "test@1" );
+        expected.put( "p", "provided@1" );
+        expected.put( "b", "runtime@2" );
+        expected.put( "u", "test@2" );
+        assertThat( visit( DependencyScope.test, "root" ), equalTo( expected ) );
+
+        expected.clear();
+        expected.put( "root", "runtime@0" );
+        expected.put( "a", "compile@1" );
+        expected.put( "b", "runtime@2" );
+        assertThat( visit( DependencyScope.runtime, "root" ), equalTo( expected ) );
+    }
+
+    @Test
+    public void skipManagedAndTransitiveOptionalDependencies()
+    {
+        dep( "root", "a", DependencyScope.compile, false, true );
+        dep( "root", "m", DependencyScope.compile, true, false );
+        dep( "a", "b", DependencyScope.compile, false, true );
+        dep( "a", "c", DependencyScope.compile );
+
+        assertThat( new ArrayList<>( visit( DependencyScope.compile, "root" ).keySet() ),
+                    equalTo( Arrays.asList( "root", "a", "c" ) ) );
+    }
+
+    @Test
+    public void applyExclusionsBelowTheirDependency()
+    {
+        dep( "root", "a", DependencyScope.compile, false, false, new SimpleProjectRef( "org.foo", "x" ) );
+        dep( "root", "w", DependencyScope.compile, false, false, new SimpleProjectRef( "*", "*" ) );
+        dep( "a", "b", DependencyScope.compile );
+        dep( "b", "x", DependencyScope.compile );
+        dep( "w", "y", DependencyScope.compile );
+        dep( "root", "z", DependencyScope.compile );
+        dep( "z", "z1", DependencyScope.compile );
+        dep( "z1", "z2", DependencyScope.compile );
+        dep( "z2", "x", DependencyScope.compile );
+
+        final Map<String, String> visited = visit( DependencyScope.compile, "root" );
+        assertThat( new ArrayList<>( visited.keySet() ),
+                    equalTo( Arrays.asList( "root", "a", "w", "z", "b", "z1", "z2", "x" ) ) );
+        assertThat( visited.get( "x" ), equalTo( "compile@4" ) );
+    }
+
+    @Test
+    public void stopOrPruneFromTheVisitor()
+    {
+        dep( "root", "a", DependencyScope.compile );
+        dep( "root", "b", DependencyScope.compile );
+        dep( "a", "c", DependencyScope.compile );
+        dep( "b", "d", DependencyScope.compile );
+        dep( "d", "e", DependencyScope.compile );
+
+        final DependencyTraversal traversal =
+                new DependencyTraversal( graph, ScopeTransitivity.maven, DependencyScope.compile );
+        final int a = graph.getNodeId( ref( "a" ) );
+        final int d = graph.getNodeId( ref( "d" ) );
+
+        final List<Integer> visited = new ArrayList<>();
+        assertThat( traversal.traverse( graph.getNodeId( ref( "root" ) ), ( node, scope, depth, via ) -> {
+            visited.add( node );
+            return node == a ? Action.PRUNE : Action.CONTINUE;
+        } ), equalTo( 5 ) );
+        assertThat( visited.contains( graph.getNodeId( ref( "c" ) ) ), equalTo( false ) );
+
+        assertThat( traversal.traverse( graph.getNodeId( ref( "root" ) ),
+                                        ( node, scope, depth, via ) -> node == d ? Action.STOP : Action.CONTINUE ),
+                    equalTo( 5 ) );
+    }
+
+    @Test
+    public void visitInTheSameOrderInParallel()
+    {
+        final Random random = new Random( 42 );
+        final DependencyScope[] scopes = { DependencyScope.compile, DependencyScope.runtime, DependencyScope.test,
+                DependencyScope.provided };
+        final int projects = 5000;
+        for ( int i = 0; i < projects; i++ )
+        {
+            for ( int d = 0; d < 6; d++ )
+            {
+                final ProjectRef[] excludes = random.nextInt( 20 ) == 0 ?
+                        new ProjectRef[] { ref( "p" + random.nextInt( projects ) ) } :
+                        new ProjectRef[0];
+                dep( "p" + i, "p" + random.nextInt( projects ), scopes[random.nextInt( scopes.length )], false,
+                     random.nextInt( 10 ) == 0, excludes );
+            }
+        }
+
+        final int root = graph.getNodeId( ref( "p0" ) );
+        final int[] sequential =
+                new DependencyTraversal( graph, ScopeTransitivity.maven, DependencyScope.test ).closure( root );
+
+        final ForkJoinPool pool = new ForkJoinPool( 4 );
+        try
+        {
+            final int[] parallel =
+                    new DependencyTraversal( graph, ScopeTransitivity.maven, DependencyScope.test, pool ).closure(
+                            root );
+            assertThat( parallel, equalTo( sequential ) );
+            assertThat( sequential.length > DependencyTraversal.CHUNK_SIZE * 2, equalTo( true ) );
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2012-2022 Red Hat, Inc. (nos-devel@redhat.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.commonjava.atlas.maven.graph.util;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.commonjava.atlas.maven.graph.rel.DependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.ProjectRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleDependencyRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimpleParentRelationship;
+import org.commonjava.atlas.maven.graph.rel.SimplePluginRelationship;
+import org.commonjava.atlas.maven.ident.DependencyScope;
+import org.commonjava.atlas.maven.ident.ref.ProjectVersionRef;
+import org.commonjava.atlas.maven.ident.ref.SimpleProjectVersionRef;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class RelationshipMergerTest
+{
+    private static final ProjectVersionRef PROJECT = new SimpleProjectVersionRef( "org.foo", "bar", "1.0" );
+
+    private static final ProjectVersionRef PARENT = new SimpleProjectVersionRef( "org.foo", "parent", "3" );
+
+    private static final ProjectVersionRef DEP = new SimpleProjectVersionRef( "org.foo", "dep", "1.2" );
+
+    private static URI repo( final int i )
+    {
+        return URI.create( "http://repo" + i + ".example.com/maven2/" );
+    }
+
+    private static DependencyRelationship dependency( final URI source, final int index, final boolean managed,
+                                                      final boolean inherited )
+    {
+        return new SimpleDependencyRelationship( source, PROJECT, DEP.asJarArtifact(), DependencyScope.compile, index,
+                                                 managed, inherited, false );
+    }
+
+    @Test
+    public void mergeSourcesOfEqualRelationships()
+    {
+        final List<ProjectRelationship<?, ?>> rels = new ArrayList<>();
+        for ( int i = 0; i < 10; i++ )
+        {
+            rels.add( new SimpleParentRelationship( repo( i ), PROJECT, PARENT ) );
+            rels.add( dependency( repo( i ), 0, false, false ) );
+            rels.add( dependency( repo( i ), 0, true, false ) );
+        }
+
+        final Map<ProjectVersionRef, Set<ProjectRelationship<?, ?>>> merged = RelationshipMerger.merge( rels );
+        assertThat( merged.keySet(), equalTo( (Set<ProjectVersionRef>) new HashSet<>( Arrays.asList( PROJECT ) ) ) );
+
+        final Set<ProjectRelationship<?, ?>> project = merged.get( PROJECT );
+        assertThat( project, equalTo( (Set<ProjectRelationship<?, ?>>) new HashSet<>( rels ) ) );
+        assertThat( project.size(), equalTo( 3 ) );
+
+        final Iterator<ProjectRelationship<?, ?>> it = project.iterator();
+        final ProjectRelationship<?, ?> parent = it.next();
+        assertThat( parent, equalTo( (Object) rels.get( 0 ) ) );
+        assertThat( parent.getSources().size(), equalTo( 10 ) );
+        assertThat( it.next().isManaged(), equalTo( false ) );
+        assertThat( it.next().isManaged(), equalTo( true ) );
+    }
+
+    @Test
+    public void keepRelationshipsWithoutNewSources()
+    {
+        final ProjectRelationship<?, ?> rel = dependency( repo( 1 ), 0, false, false );
+
+        final Set<ProjectRelationship<?, ?>> merged =
+                RelationshipMerger.merge( Arrays.asList( rel, dependency( repo( 1 ), 0, false, false ), rel ) )
+                                  .get( PROJECT );
+        assertThat( merged.iterator().next(), sameInstance( (Object) rel ) );
+    }
+
+    @Test
+    public void preferDirectDeclarations()
+    {
+        final RelationshipMerger merger = new RelationshipMerger();
+        merger.add( dependency( repo( 1 ), 5, false, true ) );
+        assertThat( merger.build().get( PROJECT ).iterator().next().isInherited(), equalTo( true ) );
+
+        merger.add( dependency( repo( 2 ), 2, false, false ) );
+        merger.add( dependency( repo( 3 ), 7, false, true ) );
+
+        final ProjectRelationship<?, ?> merged = merger.build().get( PROJECT ).iterator().next();
+        assertThat( merged.isInherited(), equalTo( false ) );
+        assertThat( merged.getIndex(), equalTo( 2 ) );
+        assertThat( merged.getSources(), equalTo( (Set<URI>) new HashSet<>( Arrays.asList( repo( 1 ), repo( 2 ),
+                                                                                            repo( 3 ) ) ) ) );
+    }
+
+    @Test
+    public void mergeInParallel()
+        throws InterruptedException
+    {
+        final List<ProjectRelationship<?, ?>> rels = new ArrayList<>();
+        for ( int i = 0; i < 2000; i++ )
+        {
+            final ProjectVersionRef declaring = new SimpleProjectVersionRef( "org.foo", "bar" + ( i % 100 ), "1" );
+            rels.add( new SimpleParentRelationship( repo( i % 7 ), declaring, PARENT ) );
+            rels.add( new SimplePluginRelationship( repo( i % 3 ), declaring, DEP, 0, i / 100 % 2 == 0, false ) );
+        }
+
+        final Map<ProjectVersionRef, Set<ProjectRelationship<?, ?>>> expected = RelationshipMerger.merge( rels );
+        assertThat( expected.size(), equalTo( 100 ) );
+
+        final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+        try
+        {
+            final Map<ProjectVersionRef, Set<ProjectRelationship<?, ?>>> merged =
+                    RelationshipMerger.merge( rels, executor, 8 );
+            assertThat( merged, equalTo( expected ) );
+            for ( final Map.Entry<ProjectVersionRef, Set<ProjectRelationship<?, ?>>> entry : merged.entrySet() )
+            {
+                assertThat( entry.getValue().size(), equalTo( 3 ) );
+                for ( final ProjectRelationship<?, ?> rel : entry.getValue() )
+                {
+                    assertThat( rel.getSources().size(), equalTo( rel instanceof SimpleParentRelationship ? 7 : 3 ) );
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        assertThat( RelationshipMerger.mergeParallel( rels ), equalTo( expected ) );
+    }
+}